@@ -49,7 +49,7 @@ public class GroupElementConstantExpr extends AbstractGroupElementExpression {
             if (groupSize == null)
                 return new GroupOpExpr(value.pow(exponent.evaluate()).expr(), new GroupEmptyExpr(getGroup()));
             else
-                return new GroupOpExpr(value.pow(exponent.evaluate(new Zn(groupSize))).expr(), new GroupEmptyExpr(getGroup()));
+                return new GroupOpExpr(value.pow(exponent.evaluate(Zn.of(groupSize))).expr(), new GroupEmptyExpr(getGroup()));
         }
     }
 
@@ -0,0 +1,129 @@
+package org.cryptimeleon.math.hash.impl;
+
+import org.cryptimeleon.math.hash.HashFunction;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.StandaloneRepresentable;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The function {@code expand_message_xmd} with SHA-256 from
+ * <a href="https://www.rfc-editor.org/rfc/rfc9380.html#section-5.3.1">RFC 9380, Section 5.3.1</a>.
+ * <p>
+ * It expands a message to a uniformly random byte string of the desired length, separated from other uses of SHA-256
+ * by a domain separation tag (DST). This is the first step of hashing to a field
+ * (see {@link org.cryptimeleon.math.structures.groups.elliptic.HashToCurveTools}).
+ */
+public class ExpandMessageXmd implements HashFunction, StandaloneRepresentable {
+    /**
+     * Output size of SHA-256 in bytes.
+     */
+    private static final int B_IN_BYTES = 32;
+
+    /**
+     * Input block size of SHA-256 in bytes.
+     */
+    private static final int S_IN_BYTES = 64;
+
+    /**
+     * The domain separation tag (ASCII string of at most 255 bytes).
+     */
+    @Represented
+    private String domainSeparationTag;
+
+    /**
+     * The desired output length in bytes.
+     */
+    @Represented
+    private Integer outputLength;
+
+    /**
+     * Initializes the function.
+     *
+     * @param domainSeparationTag the domain separation tag, at most 255 bytes
+     * @param outputLength the desired output length in bytes, at most \(255 \cdot 32\)
+     */
+    public ExpandMessageXmd(String domainSeparationTag, int outputLength) {
+        this.domainSeparationTag = domainSeparationTag;
+        this.outputLength = outputLength;
+        check();
+    }
+
+    /**
+     * Reconstructs the function from its representation.
+     */
+    public ExpandMessageXmd(Representation repr) {
+        new ReprUtil(this).deserialize(repr);
+        check();
+    }
+
+    private void check() {
+        if (outputLength <= 0 || outputLength > 255 * B_IN_BYTES)
+            throw new IllegalArgumentException("Output length must be between 1 and " + 255 * B_IN_BYTES);
+        if (domainSeparationTag.getBytes(StandardCharsets.UTF_8).length > 255)
+            throw new IllegalArgumentException("Domain separation tag must not be longer than 255 bytes");
+    }
+
+    @Override
+    public int getOutputLength() {
+        return outputLength;
+    }
+
+    public String getDomainSeparationTag() {
+        return domainSeparationTag;
+    }
+
+    @Override
+    public byte[] hash(byte[] message) {
+        byte[] dst = domainSeparationTag.getBytes(StandardCharsets.UTF_8);
+        byte[] dstPrime = Arrays.copyOf(dst, dst.length + 1);
+        dstPrime[dst.length] = (byte) dst.length;
+        int ell = (outputLength + B_IN_BYTES - 1) / B_IN_BYTES;
+
+        // b_0 = H(Z_pad || msg || I2OSP(len_in_bytes, 2) || I2OSP(0, 1) || DST_prime)
+        SHAHashAccumulator accumulator = new SHAHashAccumulator("SHA-256");
+        accumulator.append(new byte[S_IN_BYTES]);
+        accumulator.append(message);
+        accumulator.append(new byte[] {(byte) (outputLength >>> 8), (byte) (outputLength & 0xff), 0});
+        accumulator.append(dstPrime);
+        byte[] b0 = accumulator.extractBytes();
+
+        // b_1 = H(b_0 || I2OSP(1, 1) || DST_prime), b_i = H(strxor(b_0, b_(i - 1)) || I2OSP(i, 1) || DST_prime)
+        byte[] result = new byte[ell * B_IN_BYTES];
+        byte[] bi = new byte[B_IN_BYTES];
+        for (int i = 1; i <= ell; i++) {
+            for (int j = 0; j < B_IN_BYTES; j++)
+                bi[j] ^= b0[j];
+            accumulator = new SHAHashAccumulator("SHA-256");
+            accumulator.append(bi);
+            accumulator.append(new byte[] {(byte) i});
+            accumulator.append(dstPrime);
+            bi = accumulator.extractBytes();
+            System.arraycopy(bi, 0, result, (i - 1) * B_IN_BYTES, B_IN_BYTES);
+        }
+
+        return Arrays.copyOf(result, outputLength);
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExpandMessageXmd that = (ExpandMessageXmd) o;
+        return domainSeparationTag.equals(that.domainSeparationTag) && outputLength.equals(that.outputLength);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(domainSeparationTag, outputLength);
+    }
+}
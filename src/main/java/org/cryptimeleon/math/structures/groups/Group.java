@@ -108,7 +108,7 @@ public interface Group extends Structure, RepresentationRestorer {
         if (size == null)
             throw new IllegalArgumentException("Infinitely large group - cannot output corresponding Zn");
 
-        return new Zn(size);
+        return Zn.of(size);
     }
 
     /**
@@ -10,6 +10,7 @@ import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.lang.reflect.Type;
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -116,6 +117,21 @@ public interface GroupImpl extends StandaloneRepresentable, RepresentationRestor
         throw new UnsupportedOperationException("Multi-exponentiation is not implemented for group " + this);
     }
 
+    /**
+     * Replaces the given elements with equal elements that are cheaper to use as the argument of
+     * {@link GroupElementImpl#op(GroupElementImpl)}.
+     * <p>
+     * Used for precomputed tables whose entries are added to an accumulator many times.
+     * For example, elliptic curve points in projective coordinates can be normalized to affine coordinates
+     * with a single shared inversion, which allows the cheaper mixed addition to be used.
+     * The default implementation does nothing.
+     *
+     * @param elements the elements to normalize, replaced in place
+     */
+    default void batchNormalize(List<GroupElementImpl> elements) {
+
+    }
+
     /**
      * Estimates the number of inversions that can be done per group operation for the same cost.
      * For example, {@code 2} would mean that an inversion costs half as much as a group operation, on average.
@@ -2,10 +2,14 @@ package org.cryptimeleon.math.structures.groups.basic;
 
 import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A basic {@link BilinearMapImpl} wrapper where operations are evaluated naively, i.e. operation by operation.
@@ -41,11 +45,37 @@ public class BasicBilinearMap implements BilinearMap {
         return gt.wrap(impl.apply(((BasicGroupElement) g1).impl, ((BasicGroupElement) g2).impl, exponent));
     }
 
+    @Override
+    public GroupElement innerProduct(GroupElementVector lhs, GroupElementVector rhs) {
+        if (lhs.length() != rhs.length())
+            throw new IllegalArgumentException("Can only zip two vectors of the same length");
+        if (lhs.length() == 0)
+            return gt.getNeutralElement();
+
+        List<GroupElementImpl> lhsImpl = new ArrayList<>();
+        List<GroupElementImpl> rhsImpl = new ArrayList<>();
+        for (int i = 0; i < lhs.length(); i++) {
+            lhsImpl.add(((BasicGroupElement) lhs.get(i)).impl);
+            rhsImpl.add(((BasicGroupElement) rhs.get(i)).impl);
+        }
+        return gt.wrap(impl.applyProduct(lhsImpl, rhsImpl));
+    }
+
+    @Override
+    public GroupElement precomputePairing(GroupElement g) {
+        impl.precomputePairing(((BasicGroupElement) g).impl);
+        return g;
+    }
+
     @Override
     public boolean isSymmetric() {
         return impl.isSymmetric();
     }
 
+    public BilinearMapImpl getImpl() {
+        return impl;
+    }
+
     @Override
     public String toString() {
         return "BasicBilinearMap{" +
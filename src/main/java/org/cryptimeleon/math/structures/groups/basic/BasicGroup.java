@@ -6,6 +6,7 @@ import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.GroupImpl;
+import org.cryptimeleon.math.structures.groups.exp.PrecomputationCache;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
@@ -23,13 +24,18 @@ public class BasicGroup implements Group {
     protected BigInteger size;
     protected boolean isPrimeOrder;
     protected Zn zn;
+    /**
+     * Precomputations of elements of this group, reused for equal elements restored via
+     * {@link #restoreElement(Representation)}.
+     */
+    protected final PrecomputationCache precomputationCache = new PrecomputationCache();
 
     public BasicGroup(GroupImpl impl) {
         this.impl = impl;
         try {
             size = impl.size();
-            isPrimeOrder = size.isProbablePrime(100);
-            zn = isPrimeOrder ? new Zp(size) : new Zn(size);
+            isPrimeOrder = Zn.isProbablePrime(size);
+            zn = isPrimeOrder ? Zp.of(size) : Zn.of(size);
         } catch (UnsupportedOperationException e) {
             size = null;
             isPrimeOrder = false;
@@ -70,9 +76,24 @@ public class BasicGroup implements Group {
         return wrap(impl.getUniformlyRandomNonNeutral());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If a precomputation for an equal element has been registered in the {@link PrecomputationCache} of this group
+     * (via {@link GroupElement#precomputePow()}), the restored element uses it.
+     */
     @Override
     public GroupElement restoreElement(Representation repr) {
-        return wrap(impl.restoreElement(repr));
+        BasicGroupElement result = wrap(impl.restoreElement(repr));
+        result.precomputedSmallExponents = precomputationCache.get(result.impl);
+        return result;
+    }
+
+    /**
+     * Returns the cache of precomputations of elements of this group (see {@link GroupElement#precomputePow()}).
+     */
+    public PrecomputationCache getPrecomputationCache() {
+        return precomputationCache;
     }
 
     @Override
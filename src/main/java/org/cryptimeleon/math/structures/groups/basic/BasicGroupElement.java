@@ -7,6 +7,7 @@ import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.PrecomputationCache;
 import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
 
 import java.math.BigInteger;
@@ -47,6 +48,8 @@ public class BasicGroupElement implements GroupElement {
 
     @Override
     public GroupElement pow(BigInteger exponent) {
+        if (impl.getStructure().implementsOwnExp())
+            return new BasicGroupElement(group, impl.getStructure().exp(impl, exponent, getPrecomputedSmallExponents()));
         return new BasicGroupElement(group, ExponentiationAlgorithms.wnafExp(impl, exponent, getPrecomputedSmallExponents(), 4));
     }
 
@@ -60,6 +63,12 @@ public class BasicGroupElement implements GroupElement {
         return precomputePow(8);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The precomputation is registered in the {@link PrecomputationCache} of the group, so that it can be reused
+     * if an equal element is restored via {@link BasicGroup#restoreElement(Representation)}.
+     */
     @Override
     public GroupElement precomputePow(int windowSize) {
         getPrecomputedSmallExponents().compute(
@@ -68,6 +77,7 @@ public class BasicGroupElement implements GroupElement {
         getPrecomputedSmallExponents().computeNegativePowers(
                 windowSize, impl.getStructure().estimateCostInvPerOp() > 1
         );
+        group.precomputationCache.put(getPrecomputedSmallExponents());
         return this;
     }
 
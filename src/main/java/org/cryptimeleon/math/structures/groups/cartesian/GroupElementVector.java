@@ -83,7 +83,7 @@ public class GroupElementVector extends Vector<GroupElement> implements Represen
     }
 
     public GroupElement innerProduct(Vector<? extends GroupElement> rightHandSide, BilinearMap bilinearMap) {
-        return zipReduce(rightHandSide, bilinearMap::apply, GroupElement::op, bilinearMap.getGT().getNeutralElement());
+        return bilinearMap.innerProduct(this, new GroupElementVector(rightHandSide));
     }
 
     static GroupElementVector instantiateWithSafeArray(List<? extends GroupElement> array) {
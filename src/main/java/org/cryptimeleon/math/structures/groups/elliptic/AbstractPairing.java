@@ -9,6 +9,8 @@ import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -19,6 +21,13 @@ public abstract class AbstractPairing implements BilinearMapImpl {
     protected PairingSourceGroupImpl g2;
     protected PairingTargetGroupImpl gT;
 
+    /**
+     * Whether Miller's algorithm keeps the moving point in Jacobian coordinates and computes the lines
+     * without inversion (see {@link ProjectiveEllipticCurvePoint#computeProjectiveLine(EllipticCurvePoint)}),
+     * or normalizes the moving point in each step (affine lines, see {@link EllipticCurvePoint#computeLine(EllipticCurvePoint)}).
+     */
+    private final boolean projectiveMillerLoop;
+
     protected void init(PairingSourceGroupImpl g1, PairingSourceGroupImpl g2, PairingTargetGroupImpl gT) {
         this.g1 = g1;
         this.g2 = g2;
@@ -26,7 +35,19 @@ public abstract class AbstractPairing implements BilinearMapImpl {
     }
 
     public AbstractPairing(PairingSourceGroupImpl g1, PairingSourceGroupImpl g2, PairingTargetGroupImpl gT) {
+        this(g1, g2, gT, true);
+    }
+
+    /**
+     * @param projectiveMillerLoop true for projective (inversion-free) coordinates for the moving point in
+     *                             Miller's algorithm, false for affine coordinates. Both variants yield the same
+     *                             pairing values. The affine variant needs one inversion per step
+     *                             and is mostly useful for cross-checking.
+     */
+    public AbstractPairing(PairingSourceGroupImpl g1, PairingSourceGroupImpl g2, PairingTargetGroupImpl gT,
+                           boolean projectiveMillerLoop) {
         init(g1, g2, gT);
+        this.projectiveMillerLoop = projectiveMillerLoop;
     }
 
     @Override
@@ -34,6 +55,32 @@ public abstract class AbstractPairing implements BilinearMapImpl {
         return exponentiate(pair((PairingSourceGroupElement) g.pow(exponent), (PairingSourceGroupElement) h));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Pairs with a neutral argument are skipped. The remaining pairs are handled by
+     * {@link #pairProduct(List, List)} and the result is exponentiated only once.
+     */
+    @Override
+    public PairingTargetGroupElementImpl applyProduct(List<GroupElementImpl> lhs, List<GroupElementImpl> rhs) {
+        if (lhs.size() != rhs.size())
+            throw new IllegalArgumentException("Number of left hand side and right hand side arguments differ");
+
+        List<PairingSourceGroupElement> P = new ArrayList<>();
+        List<PairingSourceGroupElement> Q = new ArrayList<>();
+        for (int i = 0; i < lhs.size(); i++) {
+            if (lhs.get(i).isNeutralElement() || rhs.get(i).isNeutralElement())
+                continue;
+            P.add((PairingSourceGroupElement) lhs.get(i));
+            Q.add((PairingSourceGroupElement) rhs.get(i));
+        }
+
+        if (P.isEmpty())
+            return gT.getNeutralElement();
+
+        return exponentiate(pairProduct(P, Q));
+    }
+
     /**
      * Implements final exponentiation.
      * <p>
@@ -47,11 +94,36 @@ public abstract class AbstractPairing implements BilinearMapImpl {
         return gT.getElement((ExtensionFieldElement) f.pow(gT.getCofactor()));
     }
 
+    /**
+     * Returns true if Miller's algorithm uses projective coordinates for the moving point (the default),
+     * false if it uses affine coordinates.
+     */
+    public boolean isProjectiveMillerLoop() {
+        return projectiveMillerLoop;
+    }
+
+    /**
+     * Computes the line through R and P (the tangent if they are equal) as used by Miller's algorithm.
+     * <p>
+     * Depending on {@link #isProjectiveMillerLoop()}, this is the result of
+     * {@link ProjectiveEllipticCurvePoint#computeProjectiveLine(EllipticCurvePoint)} or of
+     * {@link EllipticCurvePoint#computeLine(EllipticCurvePoint)}. In the latter case, R must be normalized.
+     *
+     * @param R - point on the line that is passed to {@link #evaluateLine(FieldElement[], PairingSourceGroupElement, PairingSourceGroupElement)}
+     * @param P - second point on the line
+     * @return parameterization of the line
+     */
+    protected FieldElement[] computeLine(PairingSourceGroupElement R, PairingSourceGroupElement P) {
+        return projectiveMillerLoop ? R.computeProjectiveLine(P) : R.computeLine(P);
+    }
+
     /**
      * Abstract class that evaluates a line through a given point at another point.
      * <p>
      * The line is parameterized by the point P and the argument line.
-     * Here, line is the result of the function EllipticCurvePoint.computeLine.
+     * Here, line is the result of {@link #computeLine(PairingSourceGroupElement, PairingSourceGroupElement)},
+     * i.e. either \([a_0, a_1]\) with \(l(x, y) = a_0 (y - y_P) - a_1 (x - x_P)\) for a normalized point P,
+     * or \([a_0, a_1, c]\) with \(l(x, y) = a_0 y - a_1 x + c\) for any P.
      * The line is evaluated at the point Q.
      *
      * @param line - parameterization of the line
@@ -76,6 +148,25 @@ public abstract class AbstractPairing implements BilinearMapImpl {
      */
     protected abstract ExtensionFieldElement pair(PairingSourceGroupElement P, PairingSourceGroupElement Q);
 
+    /**
+     * Computes the first step of a product of pairings, i.e. the product of the results of
+     * {@link #pair(PairingSourceGroupElement, PairingSourceGroupElement)} for each pair of arguments.
+     * <p>
+     * This default implementation computes each factor separately.
+     * Subclasses should override it to interleave the Miller loops
+     * (see {@link #miller(PairingSourceGroupElement[], PairingSourceGroupElement[], BigInteger)}).
+     *
+     * @param P - first arguments of the pairings (non-neutral)
+     * @param Q - second arguments of the pairings (non-neutral), same length as {@code P}
+     * @return - product of the results of the first step
+     */
+    protected ExtensionFieldElement pairProduct(List<PairingSourceGroupElement> P, List<PairingSourceGroupElement> Q) {
+        ExtensionFieldElement result = pair(P.get(0), Q.get(0));
+        for (int i = 1; i < P.size(); i++)
+            result = result.mul(pair(P.get(i), Q.get(i)));
+        return result;
+    }
+
 
     /**
      * Implementation of Miller algorithm to be used as part of the function pair.
@@ -88,86 +179,240 @@ public abstract class AbstractPairing implements BilinearMapImpl {
      * @return f_n(P, Q)
      */
     protected ExtensionFieldElement miller(PairingSourceGroupElement P, PairingSourceGroupElement Q, BigInteger n) {
+        return miller(new PairingSourceGroupElement[] {P}, new PairingSourceGroupElement[] {Q}, n);
+    }
+
+    /**
+     * Implementation of Miller algorithm for a product of functions, i.e. computes \(\prod_i f_n(P_i, Q_i)\).
+     * <p>
+     * The Miller loops for all pairs are interleaved, so the squaring of the Miller variable is shared
+     * and only done once per iteration (instead of once per iteration and pair).
+     * If the lines for a moving point \(P_i\) have been precomputed (see {@link #precomputePairing(GroupElementImpl)}),
+     * they are evaluated directly. Otherwise, the point arithmetic is done along the way.
+     * <p>
+     * The array {@code P} is overwritten: after the call, it contains the points \([n]P_i\)
+     * (normalized if {@link #isProjectiveMillerLoop()} is false).
+     *
+     * @param P - first arguments (moving points)
+     * @param Q - second arguments (points where lines are evaluated), same length as {@code P}
+     * @param n - loop bound
+     * @return \(\prod_i f_n(P_i, Q_i)\)
+     */
+    protected ExtensionFieldElement miller(PairingSourceGroupElement[] P, PairingSourceGroupElement[] Q, BigInteger n) {
         FieldElement[] line;
         ExtensionField targetField = (ExtensionField) gT.getFieldOfDefinition();
         /*
          * f_1=1; f_2=1 R=P;
          */
 
-        FieldElement millerVariable = targetField.getOneElement();
-
-
+        ExtensionFieldElement millerVariable = targetField.getOneElement();
 
         /*
-         * e2 needs to be normalized for the evaluateLineAt and evaluateVertical
-         * functions we normalize also e1 to be faster with the addition of P to
-         * R.
+         * Q needs to be normalized for evaluateLine, P is normalized to be faster with the addition of P to R.
+         * Moving points with usable precomputed lines are not needed.
          */
-        PairingSourceGroupElement pNormalized = (PairingSourceGroupElement) P.normalize();
-        PairingSourceGroupElement qNormalized = (PairingSourceGroupElement) Q.normalize();
-
-
+        MillerLoopPrecomputation[] precomputations = new MillerLoopPrecomputation[P.length];
+        PairingSourceGroupElement[] pNormalized = new PairingSourceGroupElement[P.length];
+        PairingSourceGroupElement[] qNormalized = new PairingSourceGroupElement[Q.length];
+        for (int j = 0; j < P.length; j++) {
+            MillerLoopPrecomputation precomputation = P[j].getMillerLoopPrecomputation();
+            if (precomputation != null && precomputation.isUsableFor(this, n))
+                precomputations[j] = precomputation;
+            else
+                pNormalized[j] = (PairingSourceGroupElement) P[j].normalize();
+            qNormalized[j] = (PairingSourceGroupElement) Q[j].normalize();
+        }
 
         /*
-         * variable point of the pairing
+         * variable points of the pairing (for pairs without precomputation)
+         * and index of the next precomputed line (for pairs with precomputation)
          */
-        PairingSourceGroupElement R = pNormalized;
+        PairingSourceGroupElement[] R = P;
+        System.arraycopy(pNormalized, 0, R, 0, P.length);
+        int[] k = new int[P.length];
 
         for (int i = n.bitLength() - 2; i >= 0; i--) {
 
             /*
              * f_1=f_1^2
              */
-            millerVariable = (FieldElement) millerVariable.square();
+            millerVariable = millerVariable.square();
+
+            for (int j = 0; j < P.length; j++) {
+                if (precomputations[j] != null) {
+                    millerVariable = millerVariable.mulSparse(evaluateLine(
+                            precomputations[j].lines[k[j]], precomputations[j].points[k[j]], qNormalized[j]));
+                    k[j]++;
+                    continue;
+                }
+
+                /*
+                 * calculate parametrization of tangent line l_R,R.
+                 */
+                line = computeLine(R[j], R[j]);
+
+                /*
+                 * f*=l_R,R(Q)
+                 *
+                 * Evaluate line at Q and multiply result with f. How to evaluate the line,
+                 * depends on the concrete implementation. It depends on the form of coordinates
+                 * and on untwisting R or Q. For example for affine coordinates, the line is returned
+                 * in the form of [a0, a1] such that l_R,R(x,y) = a_0(y-yR) - a_1(x-xR), for projective
+                 * coordinates in the form of [a0, a1, c] such that l_R,R(x,y) = a_0 y - a_1 x + c.
+                 * Line values usually have many zero coefficients, so we use the sparse multiplication.
+                 */
+                millerVariable = millerVariable.mulSparse(evaluateLine(line, R[j], qNormalized[j]));
 
+                /*
+                 * R=2R
+                 */
+                R[j] = (PairingSourceGroupElement) R[j].add(R[j], line);
+                if (!projectiveMillerLoop)
+                    R[j] = (PairingSourceGroupElement) R[j].normalize();
+            }
 
             /*
-             * calculate parametrization of tangent line l_R,R.
+             * if bit order_i is set to 1 also do
+             *
+             * f_1*=l_V,P(Q), R = R+P
              */
-            line = R.computeLine(R);
+            if (n.testBit(i)) {
+                for (int j = 0; j < P.length; j++) {
+                    if (precomputations[j] != null) {
+                        millerVariable = millerVariable.mulSparse(evaluateLine(
+                                precomputations[j].lines[k[j]], precomputations[j].points[k[j]], qNormalized[j]));
+                        k[j]++;
+                        continue;
+                    }
+
+                    /*here, it for projective coordinates it is important to use the normalized P as the argument.*/
+                    line = computeLine(R[j], pNormalized[j]);
+
+                    millerVariable = millerVariable.mulSparse(evaluateLine(line, R[j], qNormalized[j]));
+
+                    /*
+                     * V=V+P
+                     */
+                    R[j] = (PairingSourceGroupElement) R[j].add(pNormalized[j], line);
+                    if (!projectiveMillerLoop)
+                        R[j] = (PairingSourceGroupElement) R[j].normalize();
+                }
+            }
 
+        }
 
+        for (int j = 0; j < P.length; j++) {
+            if (precomputations[j] != null)
+                R[j] = projectiveMillerLoop ? precomputations[j].result
+                        : (PairingSourceGroupElement) precomputations[j].result.normalize();
+        }
+
+        //millerVariable is not an element of target group because it has not been exponentiated by cofactor yet.
+        return millerVariable;
+    }
+
+    /**
+     * Computes the lines of Miller's algorithm for the moving point P and loop bound n,
+     * i.e. does all the point arithmetic of the algorithm in advance (see {@link #precomputePairing(GroupElementImpl)}).
+     * <p>
+     * With {@link #isProjectiveMillerLoop()}, the moving point stays in Jacobian coordinates,
+     * so no inversion is needed. Otherwise, it is normalized after each step.
+     *
+     * @param P - moving point
+     * @param n - loop bound
+     * @return the lines in the order they are evaluated
+     */
+    private MillerLoopPrecomputation computeMillerLoopLines(PairingSourceGroupElement P, BigInteger n) {
+        FieldElement[] line;
+        List<FieldElement[]> lines = new ArrayList<>();
+        List<PairingSourceGroupElement> points = new ArrayList<>();
+
+        /*
+         * P is normalized to be faster with the addition of P to R.
+         */
+        PairingSourceGroupElement pNormalized = (PairingSourceGroupElement) P.normalize();
+
+        /*
+         * variable point of the pairing
+         */
+        PairingSourceGroupElement R = pNormalized;
+
+        for (int i = n.bitLength() - 2; i >= 0; i--) {
             /*
-             * f*=l_R,R(Q)
-             *
-             * Evaluate line at Q and multiply result with f. How to evaluate the line,
-             * depends on the concrete implementation. It depends on the form of coordinates
-             * and on untwisting R or Q. For example for affine coordinates, the line is returned
-             * in the form of [a0, a1] such that l_R,R(x,y) = a_0(y-yR) - a_1(x-xR).
+             * calculate parametrization of tangent line l_R,R.
              */
-            millerVariable = millerVariable.mul(evaluateLine(line, R, qNormalized));
+            line = computeLine(R, R);
+            lines.add(line);
+            points.add(R);
 
             /*
              * R=2R
              */
             R = (PairingSourceGroupElement) R.add(R, line);
+            if (!projectiveMillerLoop)
+                R = (PairingSourceGroupElement) R.normalize();
 
             /*
-             * if bit order_i is set to 1 also do
-             *
-             * f_1*=l_V,P(Q), R = R+P
+             * if bit order_i is set to 1 also do R = R+P
              */
             if (n.testBit(i)) {
-
-
                 /*here, it for projective coordinates it is important to use the normalized P as the argument.*/
-                line = R.computeLine(pNormalized);
-
-                millerVariable = millerVariable.mul(evaluateLine(line, R, qNormalized));
+                line = computeLine(R, pNormalized);
+                lines.add(line);
+                points.add(R);
 
                 /*
                  * V=V+P
                  */
-
                 R = (PairingSourceGroupElement) R.add(pNormalized, line);
-                //	System.out.println(line[0]+ " " + line[1]);
-
+                if (!projectiveMillerLoop)
+                    R = (PairingSourceGroupElement) R.normalize();
             }
-
         }
 
-        //millerVariable is not an element of target group because it has not been exponentiated by cofactor yet.
-        return (ExtensionFieldElement) millerVariable;
+        return new MillerLoopPrecomputation(this, n, lines.toArray(new FieldElement[0][]),
+                points.toArray(new PairingSourceGroupElement[0]), R);
+    }
+
+    /**
+     * Returns the group of the moving points in Miller's algorithm as used by
+     * {@link #pair(PairingSourceGroupElement, PairingSourceGroupElement)}.
+     * Elements of this group can be precomputed via {@link #precomputePairing(GroupElementImpl)}.
+     * <p>
+     * Defaults to G1.
+     */
+    protected PairingSourceGroupImpl getMillerLoopGroup() {
+        return g1;
+    }
+
+    /**
+     * Returns the loop bound of Miller's algorithm as used by
+     * {@link #pair(PairingSourceGroupElement, PairingSourceGroupElement)}.
+     * <p>
+     * Defaults to the group order.
+     */
+    protected BigInteger getMillerLoopBound() {
+        return g1.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If {@code g} is from the group of moving points in Miller's algorithm (see {@link #getMillerLoopGroup()}),
+     * the lines of Miller's algorithm are computed and stored with {@code g}.
+     * Otherwise, this does nothing.
+     */
+    @Override
+    public void precomputePairing(GroupElementImpl g) {
+        if (!(g instanceof PairingSourceGroupElement) || !g.getStructure().equals(getMillerLoopGroup())
+                || g.isNeutralElement())
+            return;
+
+        PairingSourceGroupElement P = (PairingSourceGroupElement) g;
+        BigInteger n = getMillerLoopBound();
+        MillerLoopPrecomputation precomputation = P.getMillerLoopPrecomputation();
+        if (precomputation == null || !precomputation.isUsableFor(this, n))
+            P.setMillerLoopPrecomputation(computeMillerLoopLines(P, n));
     }
 
     @Override
@@ -96,6 +96,9 @@ public interface BilinearMap extends BiFunction<GroupElement, GroupElement, Grou
      * Corresponds to first calling {@link #apply(GroupElementVector, GroupElementVector)} and then combining
      * the resulting elements using the group operation.
      * The given vectors must have the same length for this method to work.
+     * <p>
+     * Implementations should compute this via {@link BilinearMapImpl#applyProduct(java.util.List, java.util.List)},
+     * which may share work between the pairings (e.g. a single final exponentiation).
      *
      * @param lhs {@link GroupElementVector} containing the group elements to use a left hand side arguments
      * @param rhs {@code GroupElementVector} containing the group elements to use a right hand side arguments
@@ -103,7 +106,23 @@ public interface BilinearMap extends BiFunction<GroupElement, GroupElement, Grou
      * @throws IllegalArgumentException if the given vectors do not have the same length
      */
     default GroupElement innerProduct(GroupElementVector lhs, GroupElementVector rhs) {
-        return lhs.innerProduct(rhs, this);
+        return lhs.zipReduce(rhs, this::apply, GroupElement::op, getGT().getNeutralElement());
+    }
+
+    /**
+     * Precomputes data to speed up later pairings with {@code g} as an argument (in either position).
+     * <p>
+     * This is useful if {@code g} is a long-lived argument such as a public key.
+     * For example, for pairings based on Miller's algorithm, the lines of the loop can be precomputed
+     * so that later pairings only need to evaluate them.
+     * The default implementation does nothing.
+     *
+     * @param g an element of G1 or G2
+     * @return {@code g}
+     * @see BilinearMapImpl#precomputePairing(org.cryptimeleon.math.structures.groups.GroupElementImpl)
+     */
+    default GroupElement precomputePairing(GroupElement g) {
+        return g;
     }
 
     /**
@@ -3,6 +3,7 @@ package org.cryptimeleon.math.structures.groups.elliptic;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.function.BiFunction;
 
 /**
@@ -38,6 +39,42 @@ public interface BilinearMapImpl extends BiFunction<GroupElementImpl, GroupEleme
         return apply(g1, g2, BigInteger.ONE);
     }
 
+    /**
+     * Computes the product of pairings \(\prod_i e(\text{lhs}_i, \text{rhs}_i)\).
+     * <p>
+     * Depending on the bilinear map, this may be more efficiently implemented than computing each pairing separately.
+     * For example, pairings based on Miller's algorithm can share the squarings in the Miller loop and
+     * the final exponentiation.
+     *
+     * @param lhs left hand side arguments for the pairing function (at least one)
+     * @param rhs right hand side arguments for the pairing function, same number as {@code lhs}
+     * @throws IllegalArgumentException if the given lists do not have the same length or are empty
+     */
+    default GroupElementImpl applyProduct(List<GroupElementImpl> lhs, List<GroupElementImpl> rhs) {
+        if (lhs.size() != rhs.size())
+            throw new IllegalArgumentException("Number of left hand side and right hand side arguments differ");
+        if (lhs.isEmpty())
+            throw new IllegalArgumentException("Cannot compute empty product of pairings");
+
+        GroupElementImpl result = apply(lhs.get(0), rhs.get(0));
+        for (int i = 1; i < lhs.size(); i++)
+            result = result.op(apply(lhs.get(i), rhs.get(i)));
+        return result;
+    }
+
+    /**
+     * Precomputes data to speed up later pairings with {@code g} as an argument (in either position).
+     * <p>
+     * This is useful if {@code g} is a long-lived argument such as a public key.
+     * The precomputed data is stored with {@code g}, i.e. only pairings with this very object benefit.
+     * The default implementation does nothing.
+     *
+     * @param g an element of G1 or G2
+     */
+    default void precomputePairing(GroupElementImpl g) {
+
+    }
+
     /**
      * Returns true if \(e(g,h) = e(h,g)\) for all g in G1, h in G2.
      */
@@ -0,0 +1,128 @@
+package org.cryptimeleon.math.structures.groups.elliptic;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+import java.math.BigInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * The endomorphism \(\phi(x, y) = (\beta x, y)\) of a curve \(y^2 = x^3 + b\) (j-invariant 0) over a prime field
+ * \(\mathbb{F}_p\) with \(p = 1 \bmod 3\), where \(\beta\) is a primitive third root of unity.
+ * <p>
+ * On a subgroup of prime order \(n\), \(\phi\) acts as exponentiation by a primitive third root of unity
+ * \(\lambda\) modulo \(n\). This allows exponentiations and multi-exponentiations with exponents of half the length
+ * (Gallant, Lambert, Vanstone: "Faster Point Multiplication on Elliptic Curves with Efficient Endomorphisms"), see
+ * {@link ExponentiationAlgorithms#endomorphismMultiExp(Multiexponentiation, UnaryOperator, BigInteger[][], int)}.
+ */
+public class GlvEndomorphism implements UnaryOperator<GroupElementImpl> {
+    /**
+     * Window size of the wNAF representations of the (half length) exponents.
+     */
+    private static final int WINDOW_SIZE = 4;
+
+    private final WeierstrassCurve curve;
+
+    /**
+     * Primitive third root of unity in the field of definition.
+     */
+    private final FieldElement beta;
+
+    /**
+     * Eigenvalue of the endomorphism, i.e. \(\phi(P) = [\lambda] P\).
+     */
+    private final BigInteger lambda;
+
+    /**
+     * Short basis of the lattice \(\{(a, b) : a + b \lambda = 0 \bmod n\}\).
+     */
+    private final BigInteger[][] basis;
+
+    /**
+     * Sets up the endomorphism for the given curve.
+     *
+     * @param curve the curve \(y^2 = x^3 + b\) of prime order \(n\) over \(\mathbb{F}_p\) with \(p = 1 \bmod 3\)
+     * @param generator any non-neutral point of the curve (used to match \(\beta\) and \(\lambda\))
+     */
+    public GlvEndomorphism(WeierstrassCurve curve, GroupElementImpl generator) {
+        this.curve = curve;
+        Field field = curve.getFieldOfDefinition();
+        BigInteger n = curve.size();
+
+        BigInteger three = BigInteger.valueOf(3);
+        BigInteger p = field.getCharacteristic();
+        if (!curve.getA4().isZero() || !p.mod(three).equals(BigInteger.ONE) || !n.mod(three).equals(BigInteger.ONE))
+            throw new IllegalArgumentException("The curve does not have an efficient endomorphism of order 3");
+
+        // beta = c^((p-1)/3) != 1, lambda = c^((n-1)/3) != 1 for some small c
+        beta = computeThirdRootOfUnity(field);
+
+        BigInteger thirdRootOfUnityModN = BigInteger.ONE;
+        for (int c = 2; thirdRootOfUnityModN.equals(BigInteger.ONE); c++)
+            thirdRootOfUnityModN = BigInteger.valueOf(c).modPow(n.subtract(BigInteger.ONE).divide(three), n);
+
+        // phi(P) is either [lambda] P or [lambda^2] P
+        if (apply(generator).equals(ExponentiationAlgorithms.binSquareMultiplyExp(generator, thirdRootOfUnityModN)))
+            lambda = thirdRootOfUnityModN;
+        else
+            lambda = thirdRootOfUnityModN.multiply(thirdRootOfUnityModN).mod(n);
+
+        basis = ExponentiationAlgorithms.computeGlvBasis(n, lambda);
+    }
+
+    /**
+     * Returns a primitive third root of unity \(c^{(q-1)/3} \neq 1\) (for the smallest such integer \(c \geq 2\))
+     * in the given field of size \(q = 1 \bmod 3\).
+     *
+     * @param field the finite field
+     */
+    public static FieldElement computeThirdRootOfUnity(Field field) {
+        BigInteger exponent = field.size().subtract(BigInteger.ONE).divide(BigInteger.valueOf(3));
+        FieldElement thirdRootOfUnity = field.getOneElement();
+        for (int c = 2; thirdRootOfUnity.isOne(); c++)
+            thirdRootOfUnity = field.getElement(c).pow(exponent);
+        return thirdRootOfUnity;
+    }
+
+    /**
+     * Computes \(\phi(P) = (\beta x, y)\), which only needs a single multiplication in the field.
+     */
+    @Override
+    public GroupElementImpl apply(GroupElementImpl P) {
+        AbstractEllipticCurvePoint point = (AbstractEllipticCurvePoint) P;
+        return curve.getElement(beta.mul(point.getX()), point.getY(), point.getZ());
+    }
+
+    /**
+     * Returns the eigenvalue \(\lambda\) of the endomorphism, i.e. \(\phi(P) = [\lambda] P\).
+     */
+    public BigInteger getLambda() {
+        return lambda;
+    }
+
+    /**
+     * Computes {@code base^exponent} using the GLV method.
+     *
+     * @param base the base
+     * @param exponent the exponent
+     * @param precomputation precomputed powers of {@code base}, may be null
+     * @return {@code base^exponent}
+     */
+    public GroupElementImpl exp(GroupElementImpl base, BigInteger exponent, SmallExponentPrecomputation precomputation) {
+        return ExponentiationAlgorithms.endomorphismExp(base, exponent, precomputation, this, basis, WINDOW_SIZE);
+    }
+
+    /**
+     * Evaluates the given multi-exponentiation using the GLV method.
+     *
+     * @param multiexp the multi-exponentiation
+     * @return its result
+     */
+    public GroupElementImpl multiexp(Multiexponentiation multiexp) {
+        return ExponentiationAlgorithms.endomorphismMultiExp(multiexp, this, basis, WINDOW_SIZE);
+    }
+}
@@ -0,0 +1,112 @@
+package org.cryptimeleon.math.structures.groups.elliptic;
+
+import org.cryptimeleon.math.hash.impl.ExpandMessageXmd;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.Fp2FieldElement;
+import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Contains the building blocks of hashing to elliptic curves as in
+ * <a href="https://www.rfc-editor.org/rfc/rfc9380.html">RFC 9380</a>, which are shared by the deterministic
+ * map-to-curve encodings (e.g.
+ * {@link org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1.SswuHashIntoSecp256k1} and
+ * {@link org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigSvdwEncoding}).
+ */
+public abstract class HashToCurveTools {
+    /**
+     * The security parameter \(k\) used to determine how many bytes are hashed per field element.
+     */
+    private static final int SECURITY_PARAMETER = 128;
+
+    /**
+     * Hashes the message to {@code count} elements of the given field ({@code hash_to_field} of RFC 9380,
+     * Section 5.2, with {@link ExpandMessageXmd}).
+     * <p>
+     * Each coefficient over the prime field is the reduction of \(L = \lceil(\lceil\log_2 p\rceil + k)/8\rceil\)
+     * bytes of output, so that it is statistically close to uniform.
+     *
+     * @param message the message to hash
+     * @param domainSeparationTag the domain separation tag
+     * @param field a prime field or an extension of a prime field
+     * @param count the number of field elements
+     * @return {@code count} field elements
+     */
+    public static FieldElement[] hashToField(byte[] message, String domainSeparationTag, Field field, int count) {
+        BigInteger p = field.getCharacteristic();
+        int extensionDegree = field instanceof ExtensionField ? ((ExtensionField) field).getExtensionDegree() : 1;
+        if (extensionDegree > 1 && !((ExtensionField) field).getBaseField().size().equals(p))
+            throw new UnsupportedOperationException("Only prime fields and extensions of prime fields are supported");
+        int length = (p.bitLength() + SECURITY_PARAMETER + 7) / 8;
+
+        byte[] uniformBytes = new ExpandMessageXmd(domainSeparationTag, count * extensionDegree * length).hash(message);
+
+        FieldElement[] result = new FieldElement[count];
+        for (int i = 0; i < count; i++) {
+            BigInteger[] e = new BigInteger[extensionDegree];
+            for (int j = 0; j < extensionDegree; j++) {
+                int offset = length * (j + i * extensionDegree);
+                e[j] = new BigInteger(1, Arrays.copyOfRange(uniformBytes, offset, offset + length)).mod(p);
+            }
+
+            if (extensionDegree == 1) {
+                result[i] = field.getElement(e[0]);
+            } else {
+                Field baseField = ((ExtensionField) field).getBaseField();
+                FieldElement[] coefficients = new FieldElement[extensionDegree];
+                for (int j = 0; j < extensionDegree; j++)
+                    coefficients[j] = baseField.getElement(e[j]);
+                result[i] = ((ExtensionField) field).createElement(coefficients);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the "sign" of the given element, i.e. the parity of its first nonzero coefficient over the prime field
+     * ({@code sgn0} of RFC 9380, Section 4.1).
+     */
+    public static boolean sgn0(FieldElement x) {
+        if (!(x instanceof ExtensionFieldElement))
+            return x.asInteger().testBit(0);
+
+        for (FieldElement coefficient : ((ExtensionFieldElement) x).getCoefficients())
+            if (!coefficient.isZero())
+                return sgn0(coefficient);
+        return false;
+    }
+
+    /**
+     * Returns true iff the given element is a square, using the norm for elements of quadratic extensions
+     * (see {@link Fp2FieldElement#isSquare()}).
+     */
+    public static boolean isSquare(FieldElement x) {
+        if (x instanceof Fp2FieldElement)
+            return ((Fp2FieldElement) x).isSquare();
+        return FiniteFieldTools.isSquare(x);
+    }
+
+    /**
+     * Computes a square root of the given element (see {@link Fp2FieldElement#sqrt()}
+     * and {@link FiniteFieldTools#sqrt(FieldElement)}).
+     *
+     * @throws ArithmeticException if the element is not a square
+     */
+    public static FieldElement sqrt(FieldElement x) {
+        if (x instanceof Fp2FieldElement)
+            return ((Fp2FieldElement) x).sqrt();
+        return FiniteFieldTools.sqrt(x);
+    }
+
+    /**
+     * Returns the inverse of the given element, or zero if it is zero ({@code inv0} of RFC 9380).
+     */
+    public static FieldElement inv0(FieldElement x) {
+        return x.isZero() ? x : x.inv();
+    }
+}
@@ -0,0 +1,60 @@
+package org.cryptimeleon.math.structures.groups.elliptic;
+
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+import java.math.BigInteger;
+
+/**
+ * The lines computed by Miller's algorithm for a fixed moving point \(P\) and loop bound \(n\).
+ * <p>
+ * With these, \(f_n(P, Q)\) can be evaluated at any point \(Q\) without any point arithmetic.
+ *
+ * @see AbstractPairing#precomputePairing(org.cryptimeleon.math.structures.groups.GroupElementImpl)
+ */
+class MillerLoopPrecomputation {
+    /**
+     * The pairing that computed the lines.
+     */
+    final AbstractPairing pairing;
+
+    /**
+     * The loop bound.
+     */
+    final BigInteger n;
+
+    /**
+     * lines[k] is the parameterization of the k-th line (in the order they are used in the loop,
+     * i.e. the tangent line of each iteration followed by the line of the addition step, if any).
+     */
+    final FieldElement[][] lines;
+
+    /**
+     * points[k] is the point that lines[k] was computed at.
+     */
+    final PairingSourceGroupElement[] points;
+
+    /**
+     * The point \([n]P\).
+     */
+    final PairingSourceGroupElement result;
+
+    MillerLoopPrecomputation(AbstractPairing pairing, BigInteger n, FieldElement[][] lines,
+                             PairingSourceGroupElement[] points, PairingSourceGroupElement result) {
+        this.pairing = pairing;
+        this.n = n;
+        this.lines = lines;
+        this.points = points;
+        this.result = result;
+    }
+
+    /**
+     * Returns true if these lines can be used by the given pairing for the given loop bound.
+     * <p>
+     * Equal pairings may still differ in the coordinates used for the moving point
+     * (see {@link AbstractPairing#isProjectiveMillerLoop()}), which determines the format of the lines.
+     */
+    boolean isUsableFor(AbstractPairing pairing, BigInteger n) {
+        return (this.pairing == pairing || this.pairing.equals(pairing)) && this.n.equals(n)
+                && this.pairing.isProjectiveMillerLoop() == pairing.isProjectiveMillerLoop();
+    }
+}
@@ -2,15 +2,34 @@ package org.cryptimeleon.math.structures.groups.elliptic;
 
 import org.cryptimeleon.math.structures.rings.FieldElement;
 
-public abstract class PairingSourceGroupElement extends AffineEllipticCurvePoint {
+public abstract class PairingSourceGroupElement extends ProjectiveEllipticCurvePoint {
 
     //EllipticCurve structure;
 
+    /**
+     * Lines of Miller's algorithm with this point as the moving point, if precomputed.
+     *
+     * @see AbstractPairing#precomputePairing(org.cryptimeleon.math.structures.groups.GroupElementImpl)
+     */
+    private volatile MillerLoopPrecomputation millerLoopPrecomputation;
+
     public PairingSourceGroupElement(PairingSourceGroupImpl curve, FieldElement x, FieldElement y) {
         super(curve, x, y);
     }
 
+    public PairingSourceGroupElement(PairingSourceGroupImpl curve, FieldElement x, FieldElement y, FieldElement z) {
+        super(curve, x, y, z);
+    }
+
     public PairingSourceGroupElement(PairingSourceGroupImpl curve) {
         super(curve);
     }
+
+    MillerLoopPrecomputation getMillerLoopPrecomputation() {
+        return millerLoopPrecomputation;
+    }
+
+    void setMillerLoopPrecomputation(MillerLoopPrecomputation millerLoopPrecomputation) {
+        this.millerLoopPrecomputation = millerLoopPrecomputation;
+    }
 }
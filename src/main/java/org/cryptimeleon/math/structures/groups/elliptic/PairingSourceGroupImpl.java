@@ -5,6 +5,7 @@ import org.cryptimeleon.math.serialization.ObjectRepresentation;
 import org.cryptimeleon.math.serialization.RepresentableRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
@@ -175,8 +176,8 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
         if (!isOnCurve(x, y))
             return false;
 
-        //Check subgroup membership
-        return this.getElement(x, y).pow(this.size()).isNeutralElement();
+        //Check subgroup membership (the group's own exponentiation may assume membership, so do not use it here)
+        return ExponentiationAlgorithms.binSquareMultiplyExp(this.getElement(x, y), this.size()).isNeutralElement();
     }
 
     public Field getFieldOfDefinition() {
@@ -206,7 +207,7 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
 
     @Override
     public PairingSourceGroupElement getUniformlyRandomElement() throws UnsupportedOperationException {
-        Zp zp = new Zp(this.size());
+        Zp zp = Zp.of(this.size());
         return (PairingSourceGroupElement) this.getGenerator().pow(zp.getUniformlyRandomElement().getInteger());
     }
 
@@ -231,6 +232,9 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
 
     public abstract PairingSourceGroupElement getElement(FieldElement x, FieldElement y);
 
+    @Override
+    public abstract PairingSourceGroupElement getElement(FieldElement x, FieldElement y, FieldElement z);
+
     /**
      * Maps a point (x,y) on the curve into the subgroup represented by this object.
      * Note that pow() on a PairingSourceGroupElement does not work if pow() depends on
@@ -245,7 +249,7 @@ public abstract class PairingSourceGroupImpl implements WeierstrassCurve {
 
         GroupElementImpl result = getNeutralElement();
         for (int i = cofactor.bitLength() - 1; i >= 0; i--) {
-            result = result.op(result);
+            result = result.square();
             if (cofactor.testBit(i))
                 result = result.op(elem);
         }
@@ -90,6 +90,11 @@ public abstract class PairingTargetGroupElementImpl implements GroupElementImpl,
         return getStructure().getElement(elem.mul(((PairingTargetGroupElementImpl) e).getElem()));
     }
 
+    @Override
+    public PairingTargetGroupElementImpl square() {
+        return getStructure().getElement(elem.square());
+    }
+
     public String toString() {
         return elem.toString();
     }
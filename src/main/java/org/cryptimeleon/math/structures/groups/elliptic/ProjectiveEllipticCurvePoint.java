@@ -0,0 +1,303 @@
+package org.cryptimeleon.math.structures.groups.elliptic;
+
+import org.cryptimeleon.math.hash.ByteAccumulator;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+/**
+ * A point on a Weierstrass curve in short form given in Jacobian coordinates.
+ * <p>
+ * The point \((X:Y:Z)\) with \(Z \neq 0\) represents the affine point \((X/Z^2, Y/Z^3)\),
+ * all points with \(Z = 0\) represent the point at infinity.
+ * Group operations do not need any field inversions; the point is only normalized to affine coordinates
+ * (i.e. \(Z = 1\)) when calling {@link #normalize()}, which is done for {@link #getRepresentation()},
+ * {@link #updateAccumulator(ByteAccumulator)} and {@link #hashCode()}.
+ * <p>
+ * New points are created via {@link WeierstrassCurve#getElement(FieldElement, FieldElement, FieldElement)},
+ * so curves using this class should override that method to avoid normalization.
+ * The formulas used here require the curve to be in short form, i.e. {@code getStructure().isShortForm()}.
+ */
+public class ProjectiveEllipticCurvePoint extends AbstractEllipticCurvePoint {
+
+    /**
+     * Instantiates the point \((X:Y:Z)\).
+     *
+     * @param curve the curve the point lies on
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @param z the Z coordinate
+     */
+    public ProjectiveEllipticCurvePoint(WeierstrassCurve curve, FieldElement x, FieldElement y, FieldElement z) {
+        super(curve, x, y, z);
+    }
+
+    /**
+     * Instantiates the point given by the affine coordinates \((x,y)\), i.e. \((x:y:1)\).
+     *
+     * @param curve the curve the point lies on
+     * @param x the affine x coordinate
+     * @param y the affine y coordinate
+     */
+    public ProjectiveEllipticCurvePoint(WeierstrassCurve curve, FieldElement x, FieldElement y) {
+        this(curve, x, y, curve.getFieldOfDefinition().getOneElement());
+    }
+
+    /**
+     * Instantiates the point at infinity.
+     *
+     * @param curve the curve the point lies on
+     */
+    public ProjectiveEllipticCurvePoint(WeierstrassCurve curve) {
+        this(curve,
+                curve.getFieldOfDefinition().getZeroElement(),
+                curve.getFieldOfDefinition().getOneElement(),
+                curve.getFieldOfDefinition().getZeroElement()
+        );
+    }
+
+    public ProjectiveEllipticCurvePoint(WeierstrassCurve curve, Representation repr) {
+        super(curve, repr);
+    }
+
+    @Override
+    public EllipticCurvePoint normalize() {
+        if (isNeutralElement())
+            return (EllipticCurvePoint) getStructure().getNeutralElement();
+        if (isNormalized())
+            return this;
+
+        FieldElement zInv = z.inv();
+        FieldElement zInvSquared = zInv.square();
+        return getStructure().getElement(x.mul(zInvSquared), y.mul(zInvSquared).mul(zInv));
+    }
+
+    @Override
+    public boolean isNormalized() {
+        return z.isOne() || z.isZero();
+    }
+
+    @Override
+    public GroupElementImpl inv() {
+        if (isNeutralElement())
+            return this;
+
+        return getStructure().getElement(x, y.neg(), z);
+    }
+
+    @Override
+    public GroupElementImpl op(GroupElementImpl e) throws IllegalArgumentException {
+        AbstractEllipticCurvePoint P = (AbstractEllipticCurvePoint) e;
+
+        if (P.isNeutralElement())
+            return this;
+        if (this.isNeutralElement())
+            return P;
+
+        // U1 = X1*Z2^2, U2 = X2*Z1^2, S1 = Y1*Z2^3, S2 = Y2*Z1^3
+        // If one of the points is affine (Z = 1), this is the cheaper mixed addition
+        boolean thisAffine = z.isOne();
+        boolean pAffine = P.z.isOne();
+        FieldElement u1 = x, s1 = y, u2 = P.x, s2 = P.y;
+        if (!pAffine) {
+            FieldElement z2Squared = P.z.square();
+            u1 = x.mul(z2Squared);
+            s1 = y.mul(z2Squared).mul(P.z);
+        }
+        if (!thisAffine) {
+            FieldElement z1Squared = z.square();
+            u2 = P.x.mul(z1Squared);
+            s2 = P.y.mul(z1Squared).mul(z);
+        }
+
+        FieldElement h = u2.sub(u1);
+        FieldElement r = s2.sub(s1);
+        if (h.isZero()) {
+            if (r.isZero()) // this == P
+                return square();
+            return getStructure().getNeutralElement(); // this == -P
+        }
+
+        // X3 = r^2 - H^3 - 2*U1*H^2, Y3 = r*(U1*H^2 - X3) - S1*H^3, Z3 = Z1*Z2*H
+        FieldElement hSquared = h.square();
+        FieldElement hCubed = hSquared.mul(h);
+        FieldElement v = u1.mul(hSquared);
+        FieldElement x3 = r.square().sub(hCubed).sub(v).sub(v);
+        FieldElement y3 = r.mul(v.sub(x3)).sub(s1.mul(hCubed));
+        FieldElement z3 = h;
+        if (!thisAffine)
+            z3 = z3.mul(z);
+        if (!pAffine)
+            z3 = z3.mul(P.z);
+
+        return getStructure().getElement(x3, y3, z3);
+    }
+
+    @Override
+    public GroupElementImpl square() {
+        if (isNeutralElement() || y.isZero())
+            return getStructure().getNeutralElement();
+
+        // M = 3*X^2 + a4*Z^4, S = 4*X*Y^2
+        FieldElement xSquared = x.square();
+        FieldElement m = xSquared.add(xSquared).add(xSquared);
+        if (!getStructure().getA4().isZero()) {
+            m = m.add(getStructure().getA4().mul(z.square().square()));
+        }
+        FieldElement ySquared = y.square();
+        FieldElement s = x.mul(ySquared);
+        s = s.add(s);
+        s = s.add(s);
+
+        // X3 = M^2 - 2*S, Y3 = M*(S - X3) - 8*Y^4, Z3 = 2*Y*Z
+        FieldElement x3 = m.square().sub(s).sub(s);
+        FieldElement y4 = ySquared.square();
+        y4 = y4.add(y4);
+        y4 = y4.add(y4);
+        y4 = y4.add(y4);
+        FieldElement y3 = m.mul(s.sub(x3)).sub(y4);
+        FieldElement z3 = y.mul(z);
+        z3 = z3.add(z3);
+
+        return getStructure().getElement(x3, y3, z3);
+    }
+
+    /**
+     * Computes the line through this and {@code Q}.
+     * <p>
+     * The line is given as \([a_0, a_1]\) such that it is \(a_0(yZ^3-Y)-a_1(xZ^2-X)\),
+     * where \((X:Y:Z)\) are the coordinates of this point.
+     * As for affine points, vertical lines are given as \([0, 1]\).
+     */
+    @Override
+    public FieldElement[] computeLine(EllipticCurvePoint Q) {
+        AbstractEllipticCurvePoint P = (AbstractEllipticCurvePoint) Q;
+
+        if (this.isNeutralElement() || P.isNeutralElement()) {
+            return new FieldElement[]{getFieldOfDefinition().getZeroElement(), getFieldOfDefinition().getOneElement()};
+        }
+
+        FieldElement z1Squared = z.square();
+        FieldElement z2Squared = P.z.square();
+        FieldElement h = P.x.mul(z1Squared).sub(x.mul(z2Squared));
+        FieldElement r = P.y.mul(z1Squared).mul(z).sub(y.mul(z2Squared).mul(P.z));
+
+        // slope is numerator / denominator, the line is denominator*(yZ^3-Y) - numerator*Z*(xZ^2-X)
+        FieldElement numerator, denominator;
+        if (h.isZero()) {
+            if (!r.isZero() || y.isZero()) { // vertical line
+                return new FieldElement[]{getFieldOfDefinition().getZeroElement(),
+                        getFieldOfDefinition().getOneElement()};
+            }
+            // tangent: slope is (3X^2 + a4*Z^4) / (2YZ)
+            FieldElement xSquared = x.square();
+            numerator = xSquared.add(xSquared).add(xSquared);
+            if (!getStructure().getA4().isZero()) {
+                numerator = numerator.add(getStructure().getA4().mul(z1Squared.square()));
+            }
+            denominator = y.mul(z);
+            denominator = denominator.add(denominator);
+        } else {
+            // secant: slope is (S2 - S1) / ((U2 - U1)*Z1*Z2)
+            numerator = r;
+            denominator = h.mul(z).mul(P.z);
+        }
+
+        return new FieldElement[]{denominator, numerator.mul(z)};
+    }
+
+    /**
+     * Computes the line through this point and Q (the tangent if they are equal) without any inversion.
+     * <p>
+     * In contrast to {@link #computeLine(EllipticCurvePoint)}, this point does not need to be normalized to
+     * evaluate the line. The result \([a_0, a_1, c]\) parameterizes the line \(a_0 y - a_1 x + c\) (up to a
+     * non-zero factor). Vertical lines have \(a_0 = 0\), the "line" through the neutral element is \([0, 0, 1]\).
+     *
+     * @param Q the second point on the line
+     * @return the line \([a_0, a_1, c]\)
+     */
+    public FieldElement[] computeProjectiveLine(EllipticCurvePoint Q) {
+        AbstractEllipticCurvePoint P = (AbstractEllipticCurvePoint) Q;
+        FieldElement zero = getFieldOfDefinition().getZeroElement();
+
+        if (this.isNeutralElement() || P.isNeutralElement()) {
+            return new FieldElement[]{zero, zero, getFieldOfDefinition().getOneElement()};
+        }
+
+        FieldElement z1Squared = z.square();
+        FieldElement z1Cubed = z1Squared.mul(z);
+        FieldElement z2Squared = P.z.square();
+        FieldElement h = P.x.mul(z1Squared).sub(x.mul(z2Squared));
+        FieldElement r = P.y.mul(z1Cubed).sub(y.mul(z2Squared).mul(P.z));
+
+        // slope is numerator / denominator, see computeLine
+        FieldElement numerator, denominator;
+        if (h.isZero()) {
+            if (!r.isZero() || y.isZero()) { // vertical line x - X/Z^2, multiplied with -Z^2
+                return new FieldElement[]{zero, z1Squared, x};
+            }
+            FieldElement xSquared = x.square();
+            numerator = xSquared.add(xSquared).add(xSquared);
+            if (!getStructure().getA4().isZero()) {
+                numerator = numerator.add(getStructure().getA4().mul(z1Squared.square()));
+            }
+            denominator = y.mul(z);
+            denominator = denominator.add(denominator);
+        } else {
+            numerator = r;
+            denominator = h.mul(z).mul(P.z);
+        }
+
+        // (y - Y/Z^3) - slope*(x - X/Z^2), multiplied with denominator*Z^3
+        return new FieldElement[]{denominator.mul(z1Cubed), numerator.mul(z1Cubed),
+                numerator.mul(z).mul(x).sub(denominator.mul(y))};
+    }
+
+    @Override
+    public EllipticCurvePoint add(EllipticCurvePoint P, FieldElement[] line) {
+        if (line[0].isZero() && !this.isNeutralElement() && !P.isNeutralElement()) {
+            return (EllipticCurvePoint) getStructure().getNeutralElement();
+        }
+
+        return (EllipticCurvePoint) op(P);
+    }
+
+    @Override
+    public boolean equals(Object element) {
+        if (element == this)
+            return true;
+
+        if (!(element instanceof ProjectiveEllipticCurvePoint))
+            return false;
+
+        ProjectiveEllipticCurvePoint p = (ProjectiveEllipticCurvePoint) element;
+        if (this.isNeutralElement() && p.isNeutralElement())
+            return true;
+
+        if (this.isNeutralElement() || p.isNeutralElement())
+            return false;
+
+        // compare X1/Z1^2 with X2/Z2^2 and Y1/Z1^3 with Y2/Z2^3 without normalizing
+        FieldElement z1Squared = z.square();
+        FieldElement z2Squared = p.z.square();
+        if (!x.mul(z2Squared).equals(p.x.mul(z1Squared)))
+            return false;
+
+        return y.mul(z2Squared).mul(p.z).equals(p.y.mul(z1Squared).mul(z));
+    }
+
+    @Override
+    public ByteAccumulator updateAccumulator(ByteAccumulator accumulator) {
+        AbstractEllipticCurvePoint normalized = (AbstractEllipticCurvePoint) normalize();
+        if (!getStructure().getFieldOfDefinition().getUniqueByteLength().isPresent()) {
+            accumulator.escapeAndSeparate(normalized.getX());
+            accumulator.escapeAndSeparate(normalized.getY());
+            accumulator.escapeAndSeparate(normalized.getZ());
+        } else {
+            accumulator.append(normalized.getX());
+            accumulator.append(normalized.getY());
+            accumulator.append(normalized.getZ());
+        }
+        return accumulator;
+    }
+}
@@ -1,7 +1,12 @@
 package org.cryptimeleon.math.structures.groups.elliptic;
 
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * An elliptic curve defined by the weierstrass equation
  * \(y^2 + A1 \cdot xy + A3 \cdot y = x^3 + A2 \cdot x^2 + A4 \cdot x + A6\).
@@ -56,6 +61,52 @@ public interface WeierstrassCurve extends EllipticCurve {
      */
     EllipticCurvePoint getElement(FieldElement x, FieldElement y);
 
+    /**
+     * Construct a point on this curve given its Jacobian coordinates, i.e. the point \((X/Z^2, Y/Z^3)\).
+     * <p>
+     * The default implementation normalizes the coordinates and calls {@link #getElement(FieldElement, FieldElement)}.
+     * Curves whose points are {@link ProjectiveEllipticCurvePoint}s should override this to avoid the inversion.
+     *
+     * @param x the X coordinate
+     * @param y the Y coordinate
+     * @param z the Z coordinate
+     * @return the corresponding elliptic curve point
+     */
+    default EllipticCurvePoint getElement(FieldElement x, FieldElement y, FieldElement z) {
+        if (z.isZero())
+            return (EllipticCurvePoint) getNeutralElement();
+
+        FieldElement zInv = z.inv();
+        FieldElement zInvSquared = zInv.square();
+        return getElement(x.mul(zInvSquared), y.mul(zInvSquared).mul(zInv));
+    }
+
+    /**
+     * Normalizes all given points using a single field inversion, see {@link Field#batchInvert(List)}.
+     */
+    @Override
+    default void batchNormalize(List<GroupElementImpl> elements) {
+        List<Integer> indices = new ArrayList<>();
+        List<FieldElement> zs = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i++) {
+            if (!((EllipticCurvePoint) elements.get(i)).isNormalized()) {
+                indices.add(i);
+                zs.add(((AbstractEllipticCurvePoint) elements.get(i)).getZ());
+            }
+        }
+        if (indices.isEmpty())
+            return;
+
+        List<FieldElement> zInverses = getFieldOfDefinition().batchInvert(zs);
+        for (int i = 0; i < indices.size(); i++) {
+            AbstractEllipticCurvePoint point = (AbstractEllipticCurvePoint) elements.get(indices.get(i));
+            FieldElement zInv = zInverses.get(i);
+            FieldElement zInvSquared = zInv.square();
+            elements.set(indices.get(i),
+                    getElement(point.getX().mul(zInvSquared), point.getY().mul(zInvSquared).mul(zInv)));
+        }
+    }
+
     default boolean isShortForm() {
         return getA3().isZero() && getA2().isZero() && getA1().isZero();
     }
@@ -1,17 +1,25 @@
 package org.cryptimeleon.math.structures.groups.elliptic.nopairing;
 
+import org.cryptimeleon.math.hash.impl.ExpandMessageXmd;
 import org.cryptimeleon.math.random.RandomGenerator;
 import org.cryptimeleon.math.serialization.RepresentableRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.StringRepresentation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
-import org.cryptimeleon.math.structures.groups.elliptic.AffineEllipticCurvePoint;
 import org.cryptimeleon.math.structures.groups.elliptic.EllipticCurvePoint;
+import org.cryptimeleon.math.structures.groups.elliptic.GlvEndomorphism;
+import org.cryptimeleon.math.structures.groups.elliptic.HashToCurveTools;
+import org.cryptimeleon.math.structures.groups.elliptic.ProjectiveEllipticCurvePoint;
 import org.cryptimeleon.math.structures.groups.elliptic.WeierstrassCurve;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
 import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
 import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.zn.HashIntoZp;
+import org.cryptimeleon.math.structures.rings.zn.MontgomeryZp;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
@@ -38,9 +46,9 @@ public class Secp256k1 implements WeierstrassCurve {
             new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
 
     /**
-     * The field \(\mathbb{F}_p\) over which the curve is defined.
+     * The field \(\mathbb{F}_p\) over which the curve is defined (using Montgomery arithmetic).
      */
-    public static final Zp zp = new Zp(p);
+    public static final Zp zp = new MontgomeryZp(p);
 
     /**
      * Parameter for the weierstrass equation \(y^2 = x^3 + b\).
@@ -101,7 +109,12 @@ public class Secp256k1 implements WeierstrassCurve {
 
     @Override
     public EllipticCurvePoint getElement(FieldElement x, FieldElement y) {
-        return new AffineEllipticCurvePoint(this, x,y);
+        return new ProjectiveEllipticCurvePoint(this, x,y);
+    }
+
+    @Override
+    public EllipticCurvePoint getElement(FieldElement x, FieldElement y, FieldElement z) {
+        return new ProjectiveEllipticCurvePoint(this, x, y, z);
     }
 
     @Override
@@ -111,7 +124,7 @@ public class Secp256k1 implements WeierstrassCurve {
 
     @Override
     public GroupElementImpl getNeutralElement() {
-        return new AffineEllipticCurvePoint(this);
+        return new ProjectiveEllipticCurvePoint(this);
     }
 
     @Override
@@ -121,7 +134,7 @@ public class Secp256k1 implements WeierstrassCurve {
 
     @Override
     public GroupElementImpl restoreElement(Representation repr) {
-        return new AffineEllipticCurvePoint(this, repr);
+        return new ProjectiveEllipticCurvePoint(this, repr);
     }
 
     @Override
@@ -144,6 +157,54 @@ public class Secp256k1 implements WeierstrassCurve {
         return 346;
     }
 
+    /**
+     * Returns true, see {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
+    @Override
+    public boolean implementsOwnExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the GLV method with the endomorphism \((x, y) \mapsto (\beta x, y)\), see {@link GlvEndomorphism}.
+     */
+    @Override
+    public GroupElementImpl exp(GroupElementImpl base, BigInteger exponent, SmallExponentPrecomputation precomputation) {
+        return EndomorphismHolder.ENDOMORPHISM.exp(base, exponent, precomputation);
+    }
+
+    /**
+     * Returns true, see {@link #multiexp(Multiexponentiation)}.
+     */
+    @Override
+    public boolean implementsOwnMultiExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the GLV method with the endomorphism \((x, y) \mapsto (\beta x, y)\), see {@link GlvEndomorphism}.
+     */
+    @Override
+    public GroupElementImpl multiexp(Multiexponentiation mexp) {
+        return EndomorphismHolder.ENDOMORPHISM.multiexp(mexp);
+    }
+
+    /**
+     * Holds the GLV endomorphism, which is the same for all instances and initialized on first use.
+     */
+    private static class EndomorphismHolder {
+        private static final GlvEndomorphism ENDOMORPHISM;
+
+        static {
+            Secp256k1 curve = new Secp256k1();
+            ENDOMORPHISM = new GlvEndomorphism(curve, curve.getGenerator());
+        }
+    }
+
     @Override
     public Optional<Integer> getUniqueByteLength() {
         return Optional.empty();
@@ -224,4 +285,198 @@ public class Secp256k1 implements WeierstrassCurve {
             return Objects.hash(hash);
         }
     }
+
+    /**
+     * A deterministic hash function into the group ({@code secp256k1_XMD:SHA-256_SSWU_RO_} of
+     * <a href="https://www.rfc-editor.org/rfc/rfc9380.html#section-8.7">RFC 9380, Section 8.7</a>).
+     * <p>
+     * The message is hashed to two field elements (see {@link HashToCurveTools#hashToField(byte[], String, Field, int)}),
+     * each is mapped to the curve and the results are added.
+     * In contrast to {@link HashIntoSecp256k1}, each field element is mapped with a fixed number of exponentiations
+     * (one inversion, one square test and one square root):
+     * the simplified Shallue-van de Woestijne-Ulas map needs \(a \neq 0\), so it maps to the curve
+     * \(E': y^2 = x^3 + A'x + B'\), which is 3-isogenous to secp256k1, and then applies the isogeny.
+     * <p>
+     * Note that the arithmetic on {@link java.math.BigInteger} is not constant-time.
+     */
+    public static class SswuHashIntoSecp256k1 implements HashIntoGroupImpl {
+        /**
+         * Coefficient \(A'\) of the isogenous curve \(E'\).
+         */
+        private static final Zp.ZpElement A =
+                hex("3f8731abdd661adca08a5558f0f5d272e953d363cb6f0e5d405447c01a444533");
+
+        /**
+         * Coefficient \(B'\) of the isogenous curve \(E'\).
+         */
+        private static final Zp.ZpElement B = zp.valueOf(1771);
+
+        /**
+         * The non-square \(Z\) of the map.
+         */
+        private static final Zp.ZpElement Z = zp.valueOf(-11);
+
+        /**
+         * Exponent \((p-3)/4\) for {@link #sqrtRatio(FieldElement, FieldElement)}.
+         */
+        private static final BigInteger SQRT_RATIO_EXPONENT = p.subtract(BigInteger.valueOf(3)).shiftRight(2);
+
+        /**
+         * \(\sqrt{-Z}\).
+         */
+        private static final FieldElement SQRT_MINUS_Z = HashToCurveTools.sqrt(Z.neg());
+
+        /**
+         * Coefficients (lowest degree first) of the rational maps \(x = x_{num}(x')/x_{den}(x')\) and
+         * \(y = y' \cdot y_{num}(x')/y_{den}(x')\) of the isogeny \(E' \rightarrow E\).
+         */
+        private static final Zp.ZpElement[] X_NUM = {
+                hex("8e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38daaaaa8c7"),
+                hex("07d3d4c80bc321d5b9f315cea7fd44c5d595d2fc0bf63b92dfff1044f17c6581"),
+                hex("534c328d23f234e6e2a413deca25caece4506144037c40314ecbd0b53d9dd262"),
+                hex("8e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38e38daaaaa88c")
+        };
+        private static final Zp.ZpElement[] X_DEN = {
+                hex("d35771193d94918a9ca34ccbb7b640dd86cd409542f8487d9fe6b745781eb49b"),
+                hex("edadc6f64383dc1df7c4b2d51b54225406d36b641f5e41bbc52a56612a8c6d14"),
+                zp.getOneElement()
+        };
+        private static final Zp.ZpElement[] Y_NUM = {
+                hex("4bda12f684bda12f684bda12f684bda12f684bda12f684bda12f684b8e38e23c"),
+                hex("c75e0c32d5cb7c0fa9d0a54b12a0a6d5647ab046d686da6fdffc90fc201d71a3"),
+                hex("29a6194691f91a73715209ef6512e576722830a201be2018a765e85a9ecee931"),
+                hex("2f684bda12f684bda12f684bda12f684bda12f684bda12f684bda12f38e38d84")
+        };
+        private static final Zp.ZpElement[] Y_DEN = {
+                hex("fffffffffffffffffffffffffffffffffffffffffffffffffffffffefffff93b"),
+                hex("7a06534bb8bdb49fd5e9e6632722c2989467c1bfc8e8d978dfb425d2685c2573"),
+                hex("6484aa716545ca2cf3a70c3fa8fe337e0a3d21162f0d6299a7bf8192bfd2a76f"),
+                zp.getOneElement()
+        };
+
+        @Represented
+        private String domainSeparationTag;
+
+        /**
+         * Instantiate the hash function with the given domain separation tag.
+         *
+         * @param domainSeparationTag the domain separation tag (see {@link ExpandMessageXmd}), at most 255 bytes
+         */
+        public SswuHashIntoSecp256k1(String domainSeparationTag) {
+            this.domainSeparationTag = domainSeparationTag;
+        }
+
+        /**
+         * Instantiate the hash function with a default domain separation tag.
+         */
+        public SswuHashIntoSecp256k1() {
+            this("CRYPTIMELEON-V01-CS01-with-secp256k1_XMD:SHA-256_SSWU_RO_");
+        }
+
+        public SswuHashIntoSecp256k1(Representation repr) {
+            new ReprUtil(this).deserialize(repr);
+        }
+
+        private static Zp.ZpElement hex(String value) {
+            return zp.valueOf(new BigInteger(value, 16));
+        }
+
+        @Override
+        public Representation getRepresentation() {
+            return ReprUtil.serialize(this);
+        }
+
+        @Override
+        public GroupElementImpl hashIntoGroupImpl(byte[] x) {
+            FieldElement[] u = HashToCurveTools.hashToField(x, domainSeparationTag, zp, 2);
+            return mapToCurve(u[0]).op(mapToCurve(u[1]));
+        }
+
+        /**
+         * Maps a field element to the curve using the simplified SWU map to \(E'\) followed by the isogeny
+         * ({@code map_to_curve_simple_swu} with the straight-line implementation of RFC 9380, Appendix F.2,
+         * and {@code iso_map}).
+         * This costs a single exponentiation and a single inversion.
+         */
+        private GroupElementImpl mapToCurve(FieldElement u) {
+            // x1 = (-B/A) (1 + 1/(Z^2 u^4 + Z u^2)) = xNum / xDen (or B/(Z A) if Z^2 u^4 + Z u^2 = 0)
+            FieldElement zu2 = Z.mul(u.square());
+            FieldElement tv2 = zu2.square().add(zu2);
+            FieldElement xNum = B.mul(tv2.add(zp.getOneElement()));
+            FieldElement xDen = A.mul(tv2.isZero() ? Z : tv2.neg());
+
+            // g(x1) = gxNum / gxDen with gxNum = xNum^3 + A xNum xDen^2 + B xDen^3 and gxDen = xDen^3
+            FieldElement xDenSquared = xDen.square();
+            FieldElement gxDen = xDenSquared.mul(xDen);
+            FieldElement gxNum = xNum.square().add(A.mul(xDenSquared)).mul(xNum).add(B.mul(gxDen));
+
+            // if g(x1) is not a square, x2 = Z u^2 x1 with g(x2) = Z^3 u^6 g(x1) is used instead
+            FieldElement[] sqrtRatio = sqrtRatio(gxNum, gxDen);
+            boolean isGx1Square = sqrtRatio[0] != null;
+            FieldElement xPrimeNum = isGx1Square ? xNum : zu2.mul(xNum);
+            FieldElement yPrime = isGx1Square ? sqrtRatio[0] : zu2.mul(u).mul(sqrtRatio[1]);
+            if (HashToCurveTools.sgn0(u) != HashToCurveTools.sgn0(yPrime))
+                yPrime = yPrime.neg();
+
+            // isogeny E' -> E, evaluated on x' = xPrimeNum / xDen with a single inversion:
+            // x = xnum(x') / xden(x') = isoXNum / (isoXDen xDen), y = y' ynum(x') / yden(x') = y' isoYNum / isoYDen
+            FieldElement[] xDenPowers = {zp.getOneElement(), xDen, xDenSquared, gxDen};
+            FieldElement isoXNum = evaluate(X_NUM, xPrimeNum, xDenPowers);
+            FieldElement isoXDen = evaluate(X_DEN, xPrimeNum, xDenPowers).mul(xDen);
+            FieldElement isoYNum = evaluate(Y_NUM, xPrimeNum, xDenPowers);
+            FieldElement isoYDen = evaluate(Y_DEN, xPrimeNum, xDenPowers);
+            FieldElement denominatorInverse = HashToCurveTools.inv0(isoXDen.mul(isoYDen));
+            if (denominatorInverse.isZero())
+                return new Secp256k1().getNeutralElement();
+
+            FieldElement x = isoXNum.mul(isoYDen).mul(denominatorInverse);
+            FieldElement y = yPrime.mul(isoYNum).mul(isoXDen).mul(denominatorInverse);
+            return new Secp256k1().getElement(x, y);
+        }
+
+        /**
+         * Computes a square root of \(a/b\) or of \(Z a/b\) with a single exponentiation
+         * ({@code sqrt_ratio} of RFC 9380, Appendix F.2.1.2, for \(p = 3 \bmod 4\)).
+         *
+         * @param a the numerator
+         * @param b the denominator (nonzero)
+         * @return {@code {sqrt(a/b), null}} if \(a/b\) is a square, otherwise {@code {null, sqrt(Z a/b)}}
+         */
+        private static FieldElement[] sqrtRatio(FieldElement a, FieldElement b) {
+            // y1 = (a b^3)^((p-3)/4) a b, which is sqrt(a/b) if a/b is a square, otherwise y1 sqrt(-Z) = sqrt(Z a/b)
+            FieldElement ab = a.mul(b);
+            FieldElement y1 = b.square().mul(ab).pow(SQRT_RATIO_EXPONENT).mul(ab);
+            if (y1.square().mul(b).equals(a))
+                return new FieldElement[] {y1, null};
+            return new FieldElement[] {null, y1.mul(SQRT_MINUS_Z)};
+        }
+
+        /**
+         * Evaluates the homogenized polynomial with the given coefficients (lowest degree first) at a fraction
+         * \(n/d\), i.e. computes \(\sum_i c_i n^i d^{k-i}\) for the degree \(k\) (Horner's method).
+         *
+         * @param denominatorPowers \(d^0, d^1, \ldots, d^k\)
+         */
+        private static FieldElement evaluate(FieldElement[] coefficients, FieldElement numerator,
+                                             FieldElement[] denominatorPowers) {
+            int degree = coefficients.length - 1;
+            FieldElement result = coefficients[degree];
+            for (int i = degree - 1; i >= 0; i--)
+                result = result.mul(numerator).add(coefficients[i].mul(denominatorPowers[degree - i]));
+            return result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SswuHashIntoSecp256k1 that = (SswuHashIntoSecp256k1) o;
+            return domainSeparationTag.equals(that.domainSeparationTag);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(domainSeparationTag);
+        }
+    }
 }
@@ -14,6 +14,11 @@ public class SupersingularSourceGroupElementImpl extends PairingSourceGroupEleme
         super(curve, x, y);
     }
 
+    public SupersingularSourceGroupElementImpl(SupersingularSourceGroupImpl curve, FieldElement x, FieldElement y,
+                                               FieldElement z) {
+        super(curve, x, y, z);
+    }
+
     /**
      * Instantiates the neutral element
      *
@@ -45,6 +45,11 @@ public class SupersingularSourceGroupImpl extends PairingSourceGroupImpl {
         return new SupersingularSourceGroupElementImpl(this, x, y);
     }
 
+    @Override
+    public SupersingularSourceGroupElementImpl getElement(FieldElement x, FieldElement y, FieldElement z) {
+        return new SupersingularSourceGroupElementImpl(this, x, y, z);
+    }
+
 
     /**
      * A one to one mapping \(\mathbb{F}_q \rightarrow E(\mathbb{F}_q) \setminus \{O\}\).
@@ -105,7 +110,7 @@ public class SupersingularSourceGroupImpl extends PairingSourceGroupImpl {
     @Override
     public SupersingularSourceGroupElementImpl getUniformlyRandomElement() throws UnsupportedOperationException {
         if (getSize().compareTo(getCofactor()) < 0 && generator != null) { //cheaper to just do rndInt*generator as the steps below include cofactor multiplcation
-            return (SupersingularSourceGroupElementImpl) getGenerator().pow(new Zn(getSize()).getUniformlyRandomElement().getInteger());
+            return (SupersingularSourceGroupElementImpl) getGenerator().pow(Zn.of(getSize()).getUniformlyRandomElement().getInteger());
         } else {
             return mapToPoint((ExtensionFieldElement) getFieldOfDefinition().getUniformlyRandomElement());
         }
@@ -7,6 +7,8 @@ import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
+import java.util.List;
+
 /**
  * Tate-pairing implementation for the supersingular bilinear group.
  */
@@ -15,7 +17,16 @@ public class SupersingularTatePairing extends AbstractPairing {
     //SupersingularTypeADistortionMap distortionMap;
 
     public SupersingularTatePairing(SupersingularSourceGroupImpl g1, SupersingularTargetGroupImpl gT) {
-        super(g1, g1, gT);
+        this(g1, gT, true);
+    }
+
+    /**
+     * @param projectiveMillerLoop whether to use projective coordinates in Miller's algorithm,
+     *                             see {@link #isProjectiveMillerLoop()}
+     */
+    public SupersingularTatePairing(SupersingularSourceGroupImpl g1, SupersingularTargetGroupImpl gT,
+                                    boolean projectiveMillerLoop) {
+        super(g1, g1, gT, projectiveMillerLoop);
         //	this.distortionMap = new SupersingularTypeADistortionMap(g1,gT.getFieldOfDefinition());
     }
 
@@ -33,18 +44,22 @@ public class SupersingularTatePairing extends AbstractPairing {
          *
          *  a_0 (yq'-yp) - a_1(xq'-xp) = a1(xq + yq) - a0 yp + a0 yq i
          *
+         * and for projective lines [a_0,a_1,c], a_0 yq' - a_1 xq' + c = a1 xq + c + a0 yq i.
          */
 
-        if (!P.isNormalized() || !Q.isNormalized()) {
-            throw new IllegalArgumentException("Currently, only affine points are supported.");
+        if ((line.length < 3 && !P.isNormalized()) || !Q.isNormalized()) {
+            throw new IllegalArgumentException("Lines must be evaluated at normalized points, and affine lines must be computed at normalized points.");
         }
 
-        FieldElement xp = P.getX();
-        FieldElement yp = P.getY();
         FieldElement xq = Q.getX();
         FieldElement yq = Q.getY();
 
-        FieldElement t0 = line[1].mul(xq.add(xp)).sub(line[0].mul(yp));
+        FieldElement t0;
+        if (line.length < 3) {
+            t0 = line[1].mul(xq.add(P.getX())).sub(line[0].mul(P.getY()));
+        } else {
+            t0 = line[1].mul(xq).add(line[2]);
+        }
         FieldElement t1 = line[0].mul(yq);
 
         return targetField.createElement(t0, t1);
@@ -66,6 +81,12 @@ public class SupersingularTatePairing extends AbstractPairing {
 
     }
 
+    @Override
+    protected ExtensionFieldElement pairProduct(List<PairingSourceGroupElement> P, List<PairingSourceGroupElement> Q) {
+        return this.miller(P.toArray(new PairingSourceGroupElement[0]), Q.toArray(new PairingSourceGroupElement[0]),
+                g1.size());
+    }
+
     @Override
     public boolean isSymmetric() {
         return true;
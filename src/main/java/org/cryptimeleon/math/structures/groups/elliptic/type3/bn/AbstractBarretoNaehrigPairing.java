@@ -0,0 +1,99 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.AbstractPairing;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+
+import java.math.BigInteger;
+
+/**
+ * Base class for pairings on Barreto-Naehrig curves.
+ * <p>
+ * Implements the final exponentiation shared by all BN pairings, i.e. exponentiation by \((p^{12}-1)/r\).
+ */
+public abstract class AbstractBarretoNaehrigPairing extends AbstractPairing {
+    /**
+     * The BN parameter \(u\).
+     */
+    protected final BigInteger u;
+
+    /**
+     * Construct pairing \(\mathbb{G}_1 \times \mathbb{G}_2 \rightarrow \mathbb{G}_T\) for the BN curve given by \(u\).
+     */
+    public AbstractBarretoNaehrigPairing(BarretoNaehrigGroup1Impl g1, BarretoNaehrigGroup2Impl g2, BarretoNaehrigTargetGroupImpl gT, BigInteger u) {
+        this(g1, g2, gT, u, true);
+    }
+
+    /**
+     * Construct pairing \(\mathbb{G}_1 \times \mathbb{G}_2 \rightarrow \mathbb{G}_T\) for the BN curve given by \(u\).
+     *
+     * @param projectiveMillerLoop whether to use projective coordinates in Miller's algorithm,
+     *                             see {@link AbstractPairing#isProjectiveMillerLoop()}
+     */
+    public AbstractBarretoNaehrigPairing(BarretoNaehrigGroup1Impl g1, BarretoNaehrigGroup2Impl g2, BarretoNaehrigTargetGroupImpl gT, BigInteger u,
+                                         boolean projectiveMillerLoop) {
+        super(g1, g2, gT, projectiveMillerLoop);
+        this.u = u;
+    }
+
+    /**
+     * Returns the BN parameter \(u\).
+     */
+    public BigInteger getU() {
+        return u;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The "easy part" \((p^6-1)(p^2+1)\) only needs Frobenius maps and a single inversion.
+     * Afterwards, f is in the cyclotomic subgroup, where inversion is conjugation (\(p^6\)-Frobenius).
+     * The "hard part" \((p^4-p^2+1)/r = p^3 + \lambda_2 p^2 + \lambda_1 p + \lambda_0\) (with \(\lambda_i\) polynomials in u)
+     * is computed with the addition chain of Scott et al. (https://eprint.iacr.org/2008/490.pdf section 5),
+     * i.e. with three exponentiations by u, a few multiplications, squarings and Frobenius maps.
+     */
+    @Override
+    public PairingTargetGroupElementImpl exponentiate(FieldElement f) {
+        // easy part
+        FieldElement result = f.applyFrobenius(6).div(f);
+        result = result.applyFrobenius(2).mul(result);
+
+        // hard part
+        FieldElement fu = powU(result);
+        FieldElement fu2 = powU(fu);
+        FieldElement fu3 = powU(fu2);
+
+        FieldElement y0 = result.applyFrobenius().mul(result.applyFrobenius(2)).mul(result.applyFrobenius(3));
+        FieldElement y1 = result.applyFrobenius(6);
+        FieldElement y2 = fu2.applyFrobenius(2);
+        FieldElement y3 = fu.applyFrobenius(7);
+        FieldElement y4 = fu.mul(fu2.applyFrobenius()).applyFrobenius(6);
+        FieldElement y5 = fu2.applyFrobenius(6);
+        FieldElement y6 = fu3.mul(fu3.applyFrobenius()).applyFrobenius(6);
+
+        FieldElement t0 = y6.square().mul(y4).mul(y5);
+        FieldElement t1 = y3.mul(y5).mul(t0);
+        t0 = t0.mul(y2);
+        t1 = t1.square().mul(t0).square();
+        t0 = t1.mul(y1).square();
+        result = t0.mul(t1.mul(y0));
+
+        return gT.getElement((ExtensionFieldElement) result);
+    }
+
+    /**
+     * Computes \(f^u\) for f in the cyclotomic subgroup, i.e. with cyclotomic squarings
+     * (see {@link BarretoNaehrigTargetGroupImpl#cyclotomicExp(GroupElementImpl, BigInteger)}).
+     */
+    private FieldElement powU(FieldElement f) {
+        BarretoNaehrigTargetGroupImpl gT = (BarretoNaehrigTargetGroupImpl) this.gT;
+        return ((PairingTargetGroupElementImpl) gT.cyclotomicExp(gT.getElement((ExtensionFieldElement) f), u)).getElem();
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return false;
+    }
+}
@@ -10,11 +10,16 @@ import org.cryptimeleon.math.structures.groups.GroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
 import org.cryptimeleon.math.structures.groups.mappings.impl.GroupHomomorphismImpl;
 import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.Fp12Field;
+import org.cryptimeleon.math.structures.rings.extfield.Fp2Field;
+import org.cryptimeleon.math.structures.rings.zn.MontgomeryZp;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
 import java.util.Objects;
@@ -33,6 +38,8 @@ import java.util.Objects;
  * <li> an element \(b'=b/\alpha\) in \(\mathbb{F}_2\)
  *      with \(\mathbb{G}_2\) a subgroup of size \(n\) in \(E':y^2=x^3+b'\)
  * </ul>
+ * \(\mathbb{F}_2\) and \(\mathbb{F}_{12}\) are implemented by {@link Fp2Field} and
+ * {@link Fp12Field}, which use dedicated tower arithmetic.
  */
 public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
 
@@ -57,7 +64,13 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
     @Represented
     private BarretoNaehrigPointEncoding hashIntoG2impl;
 
-    private BarretoNaehrigTatePairing bilinearMapImpl;
+    /**
+     * Name of the pairing, {@code "Tate"} or {@code "OptimalAte"} (null means {@code "Tate"}).
+     */
+    @Represented
+    private String pairing;
+
+    private AbstractBarretoNaehrigPairing bilinearMapImpl;
 
     public BarretoNaehrigBilinearGroupImpl(int securityParameter) {
         if (securityParameter > securityLimits[securityLimits.length -1]) {
@@ -90,7 +103,7 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
         BigInteger p = spec.characteristic;
 
         /* setup base field of size p */
-        ExtensionField baseField = new ExtensionField(p);
+        ExtensionField baseField = new ExtensionField(spec.montgomeryArithmetic ? new MontgomeryZp(p) : Zp.of(p));
         baseField.generatePrimitiveCubeRoot();
 
         /* get element a_6 of Weierstrass equation defining G1 */
@@ -102,7 +115,7 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
         /* get elemnet defining first extension field of degree 2 */
         ExtensionFieldElement alpha = baseField.createElement(spec.alpha);
 
-        ExtensionField F2 = new ExtensionField(alpha, 2);
+        ExtensionField F2 = new Fp2Field(alpha);
         F2.generatePrimitiveCubeRoot();
 
         /* get element defining extension field of degree 6 over previous degree 2 extension */
@@ -144,16 +157,30 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
         hashIntoG2impl = new BarretoNaehrigPointEncoding(hash, g2impl);
 
         /* construct new bilinearMap based on its name */
-        if ("Tate".equals(spec.pairing)) {
-            bilinearMapImpl = new BarretoNaehrigTatePairing(g1impl, g2impl, gtimpl, u);
-        } else {
-            throw new IllegalArgumentException("Pairing of type " + spec.pairing + " not supported.");
-        }
+        pairing = spec.pairing;
+        bilinearMapImpl = createPairing(pairing, g1impl, g2impl, gtimpl, u);
     }
 
     public BarretoNaehrigBilinearGroupImpl(Representation representation) {
         new ReprUtil(this).deserialize(representation);
-        bilinearMapImpl = new BarretoNaehrigTatePairing(g1impl, g2impl, gtimpl, u);
+        bilinearMapImpl = createPairing(pairing, g1impl, g2impl, gtimpl, u);
+    }
+
+    /**
+     * Constructs the pairing with the given name.
+     *
+     * @param pairing {@code "Tate"} (or null) or {@code "OptimalAte"}
+     */
+    private static AbstractBarretoNaehrigPairing createPairing(String pairing, BarretoNaehrigGroup1Impl g1,
+                                                               BarretoNaehrigGroup2Impl g2,
+                                                               BarretoNaehrigTargetGroupImpl gT, BigInteger u) {
+        if (pairing == null || "Tate".equals(pairing)) {
+            return new BarretoNaehrigTatePairing(g1, g2, gT, u);
+        }
+        if ("OptimalAte".equals(pairing)) {
+            return new BarretoNaehrigOptimalAtePairing(g1, g2, gT, u);
+        }
+        throw new IllegalArgumentException("Pairing of type " + pairing + " not supported.");
     }
 
     @Override
@@ -341,15 +368,16 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
             } while (true);
 
             /*
-             * check that P1 is really generator of G1. The following check is correct because group is of prime order
+             * check that P1 is really generator of G1. The following check is correct because group is of prime order.
+             * We cannot use the group's own exponentiation here since it may reduce the exponent modulo the group order
              */
-        } while (!P1.pow(g1.size()).isNeutralElement());
+        } while (!ExponentiationAlgorithms.binSquareMultiplyExp(P1, g1.size()).isNeutralElement());
 
         /*
          * Now we use that q=3 mod 4 with -1 QNR to generate quadratic extension, the field of definition of the twist
          * by irreducible polynomial x^2+1
          */
-        ExtensionField extField1 = new ExtensionField(baseField.getOneElement(), 2);
+        ExtensionField extField1 = new Fp2Field(baseField.getOneElement());
 
         /* search for element that is neither square nor cube in F_p^2 to define extension of degree 6 */
         ExtensionFieldElement v = extField1.createElement(baseField.getZeroElement(), baseField.getOneElement());
@@ -372,7 +400,7 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
 
             // always use i=1 twist to assure that v remains small
             for (int i : new int[]{1}) {
-                v = (ExtensionFieldElement) v.pow(BigInteger.valueOf(i));
+                v = v.pow(BigInteger.valueOf(i));
 
                 /* b'=b/-v where v will define extension field as F_2/(x^6+v) */
                 ExtensionFieldElement bTwist = (ExtensionFieldElement) bInExt.div(v).neg();
@@ -390,9 +418,9 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
 
                 /*
                  * now check that we are really on twist with correct order by checking that in subgroup of correct
-                 * order
+                 * order (again without the group's own exponentiation, see above)
                  */
-                if (P2.pow(g2.size()).isNeutralElement()) {
+                if (ExponentiationAlgorithms.binSquareMultiplyExp(P2, g2.size()).isNeutralElement()) {
                     /* tschakka, we are done */
                     gT = new BarretoNaehrigTargetGroupImpl(v, n);
 
@@ -449,4 +477,52 @@ public class BarretoNaehrigBilinearGroupImpl implements BilinearGroupImpl {
     private static BigInteger groupOrder(BigInteger q, BigInteger t) {
         return q.add(BigInteger.ONE).subtract(t);
     }
+
+    /**
+     * Recovers the parameter \(u\) of a BN curve from \(p\) and \(r\)
+     * via \(u^2 = (t - 1)/6\) and \(r - 1 - 18u^2 - 36u^4 = 6ut\).
+     *
+     * @param q the characteristic \(p\)
+     * @param r the group order
+     * @return the parameter \(u\)
+     * @throws IllegalArgumentException if \(p, r\) are not parameters of a BN curve
+     */
+    static BigInteger computeU(BigInteger q, BigInteger r) {
+        BigInteger t = q.add(BigInteger.ONE).subtract(r);
+        BigInteger[] uSquared = t.subtract(BigInteger.ONE).divideAndRemainder(BigInteger.valueOf(6));
+        BigInteger[] u = r.subtract(BigInteger.ONE)
+                .subtract(BigInteger.valueOf(18).multiply(uSquared[0]))
+                .subtract(BigInteger.valueOf(36).multiply(uSquared[0].pow(2)))
+                .divideAndRemainder(BigInteger.valueOf(6).multiply(t));
+        if (uSquared[1].signum() != 0 || u[1].signum() != 0 || !u[0].pow(2).equals(uSquared[0])
+                || !p(u[0]).equals(q))
+            throw new IllegalArgumentException("Parameters do not belong to a BN curve");
+        return u[0];
+    }
+
+    /**
+     * Computes a basis of the lattice \(\{v \in \mathbb{Z}^4 : \sum_i v_i p^i = 0 \bmod r\}\) consisting of vectors
+     * of length about \(|u|\), i.e. about a quarter of the bit length of \(r\).
+     * <p>
+     * The Frobenius endomorphisms on \(\mathbb{G}_2\) and \(\mathbb{G}_T\) act as exponentiation by \(p\),
+     * so this basis allows to decompose exponents into four short exponents
+     * (see {@link ExponentiationAlgorithms#decomposeExponent(BigInteger, BigInteger[][])}).
+     * The basis is the one given by Galbraith and Scott ("Exponentiation in pairing-friendly groups using
+     * homomorphisms", https://eprint.iacr.org/2008/117.pdf), it spans a sublattice of index 3.
+     *
+     * @param q the characteristic \(p\)
+     * @param r the group order
+     * @return the basis vectors as rows
+     */
+    static BigInteger[][] computeFrobeniusBasis(BigInteger q, BigInteger r) {
+        BigInteger u1 = computeU(q, r);
+        BigInteger u2 = u1.shiftLeft(1);
+        return new BigInteger[][] {
+                {u1.add(BigInteger.ONE), u1, u1, u2.negate()},
+                {u2.add(BigInteger.ONE), u1.negate(), u1.add(BigInteger.ONE).negate(), u1.negate()},
+                {u2, u2.add(BigInteger.ONE), u2.add(BigInteger.ONE), u2.add(BigInteger.ONE)},
+                {u1.subtract(BigInteger.ONE), u2.add(BigInteger.ONE).shiftLeft(1), BigInteger.ONE.subtract(u2),
+                        u1.subtract(BigInteger.ONE)}
+        };
+    }
 }
@@ -18,6 +18,18 @@ public class BarretoNaehrigGroup1ElementImpl extends BarretoNaehrigSourceGroupEl
         super(curve, x, y);
     }
 
+    /**
+     * Construct point on given curve with given Jacobian coordinates.
+     *
+     * @param curve curve of point
+     * @param x X-coordinate of point
+     * @param y Y-coordinate of point
+     * @param z Z-coordinate of point
+     */
+    BarretoNaehrigGroup1ElementImpl(BarretoNaehrigGroup1Impl curve, FieldElement x, FieldElement y, FieldElement z) {
+        super(curve, x, y, z);
+    }
+
     BarretoNaehrigGroup1ElementImpl(BarretoNaehrigGroup1Impl curve) {
         super(curve);
     }
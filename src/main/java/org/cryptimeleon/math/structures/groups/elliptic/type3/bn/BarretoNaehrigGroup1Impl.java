@@ -1,6 +1,12 @@
 package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
 
 import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.GlvEndomorphism;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpAlgorithm;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
@@ -10,6 +16,11 @@ import java.math.BigInteger;
  * G1 in the Barreto-Naehrig bilinear group.
  */
 public class BarretoNaehrigGroup1Impl extends BarretoNaehrigSourceGroupImpl {
+    /**
+     * GLV endomorphism used for (multi-)exponentiations, see {@link #getEndomorphism()}.
+     */
+    private volatile GlvEndomorphism endomorphism;
+
     /**
      * Construct subgroup of E:y^2=x^3+a6 using given parameters.
      *
@@ -44,9 +55,70 @@ public class BarretoNaehrigGroup1Impl extends BarretoNaehrigSourceGroupImpl {
     public BarretoNaehrigGroup1ElementImpl getElement(FieldElement x, FieldElement y) {
         return new BarretoNaehrigGroup1ElementImpl(this, x, y);
     }
+
+    @Override
+    public BarretoNaehrigGroup1ElementImpl getElement(FieldElement x, FieldElement y, FieldElement z) {
+        return new BarretoNaehrigGroup1ElementImpl(this, x, y, z);
+    }
   
     @Override
     public double estimateCostInvPerOp() {
         return 307;
     }
+
+    /**
+     * Returns the GLV endomorphism of this group (initialized on first use), or null if the generator is not set yet.
+     */
+    private GlvEndomorphism getEndomorphism() {
+        if (endomorphism == null && getGenerator() != null) {
+            synchronized (this) {
+                if (endomorphism == null)
+                    endomorphism = new GlvEndomorphism(this, getGenerator());
+            }
+        }
+        return endomorphism;
+    }
+
+    /**
+     * Returns true, see {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
+    @Override
+    public boolean implementsOwnExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the GLV method with the endomorphism \((x, y) \mapsto (\beta x, y)\), see {@link GlvEndomorphism}.
+     */
+    @Override
+    public GroupElementImpl exp(GroupElementImpl base, BigInteger exponent, SmallExponentPrecomputation precomputation) {
+        GlvEndomorphism endomorphism = getEndomorphism();
+        if (endomorphism == null)
+            return ExponentiationAlgorithms.wnafExp(base, exponent, precomputation, 4);
+        return endomorphism.exp(base, exponent, precomputation);
+    }
+
+    /**
+     * Returns true, see {@link #multiexp(Multiexponentiation)}.
+     */
+    @Override
+    public boolean implementsOwnMultiExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the GLV method with the endomorphism \((x, y) \mapsto (\beta x, y)\), see {@link GlvEndomorphism}.
+     */
+    @Override
+    public GroupElementImpl multiexp(Multiexponentiation mexp) {
+        GlvEndomorphism endomorphism = getEndomorphism();
+        if (endomorphism == null)
+            return ExponentiationAlgorithms.interleavingWnafMultiExp(
+                    mexp, mexp.computeWindowSizes(4, MultiExpAlgorithm.WNAF));
+        return endomorphism.multiexp(mexp);
+    }
 }
@@ -17,6 +17,18 @@ public class BarretoNaehrigGroup2ElementImpl extends BarretoNaehrigSourceGroupEl
         super(curve, x, y);
     }
 
+    /**
+     * Construct point on given curve with given Jacobian coordinates.
+     *
+     * @param curve curve of point
+     * @param x X-coordinate of point
+     * @param y Y-coordinate of point
+     * @param z Z-coordinate of point
+     */
+    public BarretoNaehrigGroup2ElementImpl(BarretoNaehrigGroup2Impl curve, FieldElement x, FieldElement y, FieldElement z) {
+        super(curve, x, y, z);
+    }
+
     public BarretoNaehrigGroup2ElementImpl(BarretoNaehrigGroup2Impl curve) {
         super(curve);
     }
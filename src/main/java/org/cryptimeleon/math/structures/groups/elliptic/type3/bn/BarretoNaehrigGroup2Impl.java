@@ -2,6 +2,13 @@ package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
 
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.AbstractEllipticCurvePoint;
+import org.cryptimeleon.math.structures.groups.elliptic.GlvEndomorphism;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpAlgorithm;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
@@ -11,6 +18,27 @@ import java.math.BigInteger;
  * G2 in the Barreto-Naehrig bilinear group.
  */
 public class BarretoNaehrigGroup2Impl extends BarretoNaehrigSourceGroupImpl {
+    /**
+     * Window size of the wNAF representations of the decomposed exponents.
+     */
+    private static final int EXPONENTIATION_WINDOW_SIZE = 4;
+
+    /**
+     * Constants \(\gamma_x, \gamma_y\) of the endomorphism \(\psi(x, y) = (\bar{x} \gamma_x, \bar{y} \gamma_y)\),
+     * see {@link #psi(GroupElementImpl)}.
+     */
+    private volatile FieldElement[] psiCoefficients;
+
+    /**
+     * Basis of the lattice of decompositions of zero with respect to \(\psi\),
+     * see {@link BarretoNaehrigBilinearGroupImpl#computeFrobeniusBasis(BigInteger, BigInteger)}.
+     */
+    private volatile BigInteger[][] psiBasis;
+
+    /**
+     * The BN parameter \(u\), used for {@link #clearCofactorWithPsi(GroupElementImpl)}.
+     */
+    private volatile BigInteger u;
 
     /**
      * Construct subgroup of E:y^2=x^3+a6 using given parameters.
@@ -38,6 +66,11 @@ public class BarretoNaehrigGroup2Impl extends BarretoNaehrigSourceGroupImpl {
         return new BarretoNaehrigGroup2ElementImpl(this, x, y);
     }
 
+    @Override
+    public BarretoNaehrigGroup2ElementImpl getElement(FieldElement x, FieldElement y, FieldElement z) {
+        return new BarretoNaehrigGroup2ElementImpl(this, x, y, z);
+    }
+
     @Override
     public GroupElementImpl getNeutralElement() {
         return new BarretoNaehrigGroup2ElementImpl(this);
@@ -47,4 +80,145 @@ public class BarretoNaehrigGroup2Impl extends BarretoNaehrigSourceGroupImpl {
     public double estimateCostInvPerOp() {
         return 600;
     }
+
+    /**
+     * Applies the endomorphism \(\psi\) (untwist, \(p\)-power Frobenius, twist), which acts as exponentiation
+     * by \(p\) on this group.
+     * <p>
+     * On the twist \(y^2 = x^3 + b/\xi\), it is given by \(\psi(x, y) = (\bar{x} \gamma_x, \bar{y} \gamma_y)\)
+     * with \(\gamma_x = \xi^{(p-1)/3}, \gamma_y = \xi^{(p-1)/2}\), so it only needs two multiplications in
+     * \(\mathbb{F}_{p^2}\) (also for Jacobian coordinates, where \(Z\) is just conjugated).
+     * It is defined on the whole twist, not only on this subgroup.
+     * This is also the Frobenius endomorphism used by {@link BarretoNaehrigOptimalAtePairing}.
+     *
+     * @param P a point on the twist
+     * @return \(\psi(P)\)
+     * @throws IllegalStateException if the generator of this group is not set yet
+     */
+    public BarretoNaehrigGroup2ElementImpl psi(GroupElementImpl P) {
+        FieldElement[] gamma = getPsiCoefficients();
+        if (gamma == null)
+            throw new IllegalStateException("The generator is required to set up psi");
+
+        AbstractEllipticCurvePoint point = (AbstractEllipticCurvePoint) P;
+        return getElement(point.getX().applyFrobenius().mul(gamma[0]), point.getY().applyFrobenius().mul(gamma[1]),
+                point.getZ().applyFrobenius());
+    }
+
+    /**
+     * Returns the constants \(\gamma_x, \gamma_y\) of \(\psi\) (computed on first use),
+     * or null if the generator is not set yet.
+     * <p>
+     * We only know \(b/\xi\) here, and \(\xi = c \cdot (b/\xi)^{-1}\) for some unknown \(c \in \mathbb{F}_p\).
+     * Replacing \(\xi\) by \((b/\xi)^{-1}\) changes \(\gamma_x\) by a third root of unity and \(\gamma_y\) by a sign,
+     * so we choose the candidate that maps the generator \(g\) to \(g^p\).
+     */
+    private FieldElement[] getPsiCoefficients() {
+        if (psiCoefficients == null && getGenerator() != null) {
+            synchronized (this) {
+                if (psiCoefficients == null) {
+                    Field field = getFieldOfDefinition();
+                    BigInteger p = field.getCharacteristic();
+                    BigInteger three = BigInteger.valueOf(3);
+                    u = BarretoNaehrigBilinearGroupImpl.computeU(p, size());
+                    psiBasis = BarretoNaehrigBilinearGroupImpl.computeFrobeniusBasis(p, size());
+
+                    FieldElement thirdRootOfUnity = GlvEndomorphism.computeThirdRootOfUnity(field);
+
+                    FieldElement xi = getA6().inv();
+                    FieldElement gammaX = xi.pow(p.subtract(BigInteger.ONE).divide(three));
+                    FieldElement gammaY = xi.pow(p.subtract(BigInteger.ONE).shiftRight(1));
+
+                    AbstractEllipticCurvePoint g = (AbstractEllipticCurvePoint) getGenerator().normalize();
+                    GroupElementImpl gToP = ExponentiationAlgorithms.binSquareMultiplyExp(g, p.mod(size()));
+                    FieldElement x = g.getX().applyFrobenius(), y = g.getY().applyFrobenius();
+                    for (int i = 0; i < 3 && psiCoefficients == null; i++, gammaX = gammaX.mul(thirdRootOfUnity)) {
+                        for (FieldElement candidateY : new FieldElement[] {gammaY, gammaY.neg()}) {
+                            if (getElement(x.mul(gammaX), y.mul(candidateY)).equals(gToP)) {
+                                psiCoefficients = new FieldElement[] {gammaX, candidateY};
+                                break;
+                            }
+                        }
+                    }
+                    if (psiCoefficients == null)
+                        throw new IllegalStateException("Frobenius endomorphism does not act as exponentiation by p");
+                }
+            }
+        }
+        return psiCoefficients;
+    }
+
+    /**
+     * Maps a point on the twist into this subgroup by computing
+     * \([u]Q + \psi([3u]Q) + \psi^2([u]Q) + \psi^3(Q)\) (Fuentes-Castaneda, Knapp, Rodriguez-Henriquez:
+     * "Faster Hashing to \(\mathbb{G}_2\)", https://eprint.iacr.org/2011/297.pdf).
+     * <p>
+     * This is \([c']Q\) for a multiple \(c'\) of the cofactor \(c\) that is coprime to the group order,
+     * so it maps onto this subgroup like {@link #cofactorMultiplication(FieldElement, FieldElement)}, but only needs
+     * a single multiplication by \(u\) (a quarter of the length of \(c\)) and a few applications of \(\psi\)
+     * (see {@link #psi(GroupElementImpl)}).
+     * Since \(c' \neq c\), the result differs from the one of the cofactor multiplication,
+     * which is why it is only used by {@link BarretoNaehrigPsiPointEncoding}.
+     *
+     * @param Q a point on the twist
+     * @return \([c']Q\)
+     * @throws IllegalStateException if the generator of this group is not set yet
+     */
+    public BarretoNaehrigGroup2ElementImpl clearCofactorWithPsi(GroupElementImpl Q) {
+        if (getPsiCoefficients() == null)
+            throw new IllegalStateException("The generator is required to set up psi");
+
+        GroupElementImpl uQ = ExponentiationAlgorithms.wnafExp(Q, u.abs(), null, EXPONENTIATION_WINDOW_SIZE);
+        if (u.signum() < 0)
+            uQ = uQ.inv();
+        GroupElementImpl threeUQ = uQ.square().op(uQ);
+
+        return (BarretoNaehrigGroup2ElementImpl) uQ.op(psi(threeUQ)).op(psi(psi(uQ))).op(psi(psi(psi(Q))));
+    }
+
+    /**
+     * Returns true, see {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
+    @Override
+    public boolean implementsOwnExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Decomposes the exponent into four exponents of about a quarter of the length with respect to
+     * \(\psi\) (see {@link #psi(GroupElementImpl)}) and evaluates the resulting multi-exponentiation,
+     * see {@link ExponentiationAlgorithms#endomorphismExp(GroupElementImpl, BigInteger, SmallExponentPrecomputation,
+     * java.util.function.UnaryOperator, BigInteger[][], int)}.
+     */
+    @Override
+    public GroupElementImpl exp(GroupElementImpl base, BigInteger exponent, SmallExponentPrecomputation precomputation) {
+        if (getPsiCoefficients() == null)
+            return ExponentiationAlgorithms.wnafExp(base, exponent, precomputation, EXPONENTIATION_WINDOW_SIZE);
+        return ExponentiationAlgorithms.endomorphismExp(base, exponent, precomputation, this::psi, psiBasis,
+                EXPONENTIATION_WINDOW_SIZE);
+    }
+
+    /**
+     * Returns true, see {@link #multiexp(Multiexponentiation)}.
+     */
+    @Override
+    public boolean implementsOwnMultiExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Decomposes each exponent with respect to \(\psi\), see
+     * {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
+    @Override
+    public GroupElementImpl multiexp(Multiexponentiation mexp) {
+        if (getPsiCoefficients() == null)
+            return ExponentiationAlgorithms.interleavingWnafMultiExp(
+                    mexp, mexp.computeWindowSizes(EXPONENTIATION_WINDOW_SIZE, MultiExpAlgorithm.WNAF));
+        return ExponentiationAlgorithms.endomorphismMultiExp(mexp, this::psi, psiBasis, EXPONENTIATION_WINDOW_SIZE);
+    }
 }
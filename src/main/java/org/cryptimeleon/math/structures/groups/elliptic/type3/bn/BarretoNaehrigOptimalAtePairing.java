@@ -0,0 +1,173 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
+
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Optimal Ate pairing on BN curves (see Vercauteren, "Optimal Pairings", https://eprint.iacr.org/2008/096.pdf).
+ * <p>
+ * In contrast to the Tate pairing, the Miller loop runs over \(6u+2\) (instead of the group order \(r\)),
+ * i.e. it is roughly four times shorter, and the point \(Q \in \mathbb{G}_2\) is the moving point while
+ * \(P \in \mathbb{G}_1\) is the point where lines are evaluated:
+ * \[
+ *     e(P, Q) = \left(f_{6u+2,Q}(P) \cdot l_{[6u+2]Q,\pi(Q)}(P) \cdot l_{[6u+2]Q+\pi(Q),-\pi^2(Q)}(P)\right)^{(p^{12}-1)/r}
+ * \]
+ * where \(\pi\) is the \(p\)-power Frobenius endomorphism (applied on the twist).
+ */
+public class BarretoNaehrigOptimalAtePairing extends AbstractBarretoNaehrigPairing {
+    /**
+     * Loop parameter \(6u+2\).
+     */
+    private final BigInteger loopParameter;
+
+    /**
+     * Construct optimal Ate pairing \(\mathbb{G}_1 \times \mathbb{G}_2 \rightarrow \mathbb{G}_T\).
+     */
+    public BarretoNaehrigOptimalAtePairing(BarretoNaehrigGroup1Impl g1, BarretoNaehrigGroup2Impl g2, BarretoNaehrigTargetGroupImpl gT, BigInteger u) {
+        this(g1, g2, gT, u, true);
+    }
+
+    /**
+     * Construct optimal Ate pairing \(\mathbb{G}_1 \times \mathbb{G}_2 \rightarrow \mathbb{G}_T\).
+     *
+     * @param projectiveMillerLoop whether to use projective coordinates in Miller's algorithm,
+     *                             see {@link #isProjectiveMillerLoop()}
+     */
+    public BarretoNaehrigOptimalAtePairing(BarretoNaehrigGroup1Impl g1, BarretoNaehrigGroup2Impl g2, BarretoNaehrigTargetGroupImpl gT, BigInteger u,
+                                           boolean projectiveMillerLoop) {
+        super(g1, g2, gT, u, projectiveMillerLoop);
+        loopParameter = u.multiply(BigInteger.valueOf(6)).add(BigInteger.valueOf(2));
+    }
+
+    /**
+     * Evaluates a line through a point \(R \in \mathbb{G}_2\) at a point \(P \in \mathbb{G}_1\).
+     * <p>
+     * \(\mathbb{G}_2\) is a subgroup of the sextic twist \(E': y^2 = x^3 + b/\xi\), which maps into
+     * \(E(\mathbb{F}_{p^{12}})\) via \((x, y) \mapsto (x w^2, y w^3)\).
+     * The line \(a_0 (y - y_R) - a_1 (x - x_R)\) on the twist, evaluated at the preimage \((x_P w^{-2}, y_P w^{-3})\)
+     * of \(P\) and multiplied with \(w^3\), is
+     * \(a_0 y_P - a_1 x_P w + (a_1 x_R - a_0 y_R) w^3\).
+     * The factor \(w^3 \in \mathbb{F}_{p^4}\) vanishes in the final exponentiation.
+     * For a projective line \([a_0, a_1, c]\), the coefficient of \(w^3\) is \(c\).
+     * Vertical lines have values in \(\mathbb{F}_{p^6}\) and are skipped (denominator elimination).
+     *
+     * @param line parameterization \([a_0, a_1]\) or \([a_0, a_1, c]\) of the line, see {@code computeLine}
+     * @param R point on the line (normalized for affine lines)
+     * @param P normalized point where the line is evaluated
+     */
+    @Override
+    protected ExtensionFieldElement evaluateLine(FieldElement[] line, PairingSourceGroupElement R, PairingSourceGroupElement P) {
+        ExtensionField targetField = gT.getFieldOfDefinition();
+        ExtensionField extField = (ExtensionField) R.getFieldOfDefinition();
+
+        if (!P.isNormalized() || (line.length < 3 && !R.isNormalized())) {
+            throw new IllegalArgumentException("Lines must be evaluated at normalized points, and affine lines must be computed at normalized points.");
+        }
+
+        if (line[0].isZero()) {
+            return targetField.getOneElement();
+        }
+
+        FieldElement[] coefficients = new FieldElement[4];
+        coefficients[0] = line[0].mul(extField.createElement(P.getY()));
+        coefficients[1] = line[1].mul(extField.createElement(P.getX())).neg();
+        coefficients[2] = extField.getZeroElement();
+        coefficients[3] = line.length < 3 ? line[1].mul(R.getX()).sub(line[0].mul(R.getY())) : line[2];
+
+        return targetField.createElement(coefficients);
+    }
+
+    @Override
+    protected ExtensionFieldElement pair(PairingSourceGroupElement P, PairingSourceGroupElement Q) {
+        if (P.isNeutralElement() || Q.isNeutralElement()) {
+            return gT.getFieldOfDefinition().getOneElement();
+        }
+
+        return pairProduct(Collections.singletonList(P), Collections.singletonList(Q));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The Miller loops over \(6u+2\) are interleaved, the correction lines are applied per pair.
+     */
+    @Override
+    protected ExtensionFieldElement pairProduct(List<PairingSourceGroupElement> P, List<PairingSourceGroupElement> Q) {
+        PairingSourceGroupElement[] pNormalized = new PairingSourceGroupElement[P.size()];
+        PairingSourceGroupElement[] qNormalized = new PairingSourceGroupElement[Q.size()];
+        for (int j = 0; j < pNormalized.length; j++) {
+            pNormalized[j] = (PairingSourceGroupElement) P.get(j).normalize();
+            qNormalized[j] = (PairingSourceGroupElement) Q.get(j).normalize();
+        }
+
+        /*
+         * f_{6u+2,Q}(P) and R = [6u+2]Q, where Q is the moving point
+         */
+        PairingSourceGroupElement[] R = Q.toArray(new PairingSourceGroupElement[0]);
+        ExtensionFieldElement millerVariable = miller(R, pNormalized, getMillerLoopBound());
+
+        /*
+         * f_{-n,Q} = 1/(f_{n,Q} v_{[n]Q}) and the vertical line vanishes in the final exponentiation
+         */
+        if (loopParameter.signum() < 0) {
+            millerVariable = millerVariable.inv();
+            for (int j = 0; j < R.length; j++)
+                R[j] = (PairingSourceGroupElement) R[j].inv();
+        }
+
+        /*
+         * correction lines l_{R,pi(Q)}(P) and l_{R+pi(Q),-pi^2(Q)}(P)
+         */
+        for (int j = 0; j < R.length; j++) {
+            PairingSourceGroupElement q1 = frobenius(qNormalized[j]);
+            PairingSourceGroupElement q2 = (PairingSourceGroupElement) frobenius(q1).inv();
+
+            FieldElement[] line = computeLine(R[j], q1);
+            millerVariable = millerVariable.mulSparse(evaluateLine(line, R[j], pNormalized[j]));
+            PairingSourceGroupElement R1 = (PairingSourceGroupElement) R[j].add(q1, line);
+            if (!isProjectiveMillerLoop())
+                R1 = (PairingSourceGroupElement) R1.normalize();
+
+            line = computeLine(R1, q2);
+            millerVariable = millerVariable.mulSparse(evaluateLine(line, R1, pNormalized[j]));
+        }
+
+        return millerVariable;
+    }
+
+    /**
+     * Returns G2, since \(Q \in \mathbb{G}_2\) is the moving point.
+     */
+    @Override
+    protected PairingSourceGroupImpl getMillerLoopGroup() {
+        return g2;
+    }
+
+    /**
+     * Returns \(|6u+2|\).
+     */
+    @Override
+    protected BigInteger getMillerLoopBound() {
+        return loopParameter.abs();
+    }
+
+    /**
+     * Applies the \(p\)-power Frobenius endomorphism \(\pi\) (of \(E\), expressed on the twist) to a normalized point,
+     * see {@link BarretoNaehrigGroup2Impl#psi(org.cryptimeleon.math.structures.groups.GroupElementImpl)}. The result is normalized.
+     */
+    private PairingSourceGroupElement frobenius(PairingSourceGroupElement Q) {
+        return ((BarretoNaehrigGroup2Impl) g2).psi(Q);
+    }
+
+    @Override
+    public String toString() {
+        return "Optimal Ate Pairing G1xG2->Gt of Type 3";
+    }
+}
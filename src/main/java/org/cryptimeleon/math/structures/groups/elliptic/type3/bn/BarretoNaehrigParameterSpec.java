@@ -1,5 +1,8 @@
 package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
 
+import org.cryptimeleon.math.structures.rings.zn.MontgomeryZp;
+import org.cryptimeleon.math.structures.rings.zn.Zp;
+
 import java.math.BigInteger;
 
 /**
@@ -19,11 +22,24 @@ public class BarretoNaehrigParameterSpec {
     public final BigInteger x21;
     public final BigInteger y20;
     public final BigInteger y21;
+    /**
+     * The pairing to use, either {@code "Tate"} ({@link BarretoNaehrigTatePairing})
+     * or {@code "OptimalAte"} ({@link BarretoNaehrigOptimalAtePairing}).
+     */
     public final String pairing;
     public final String hash;
+    /**
+     * Whether the base field should use {@link MontgomeryZp} instead of {@link Zp} arithmetic.
+     */
+    public final boolean montgomeryArithmetic;
 
     public BarretoNaehrigParameterSpec(BigInteger u, BigInteger characteristic, BigInteger size, BigInteger alpha, BigInteger beta0, BigInteger beta1, BigInteger b, BigInteger x1, BigInteger y1, BigInteger x20, BigInteger x21, BigInteger y20, BigInteger y21,
                                        String pairing, String hash) {
+        this(u, characteristic, size, alpha, beta0, beta1, b, x1, y1, x20, x21, y20, y21, pairing, hash, false);
+    }
+
+    public BarretoNaehrigParameterSpec(BigInteger u, BigInteger characteristic, BigInteger size, BigInteger alpha, BigInteger beta0, BigInteger beta1, BigInteger b, BigInteger x1, BigInteger y1, BigInteger x20, BigInteger x21, BigInteger y20, BigInteger y21,
+                                       String pairing, String hash, boolean montgomeryArithmetic) {
         super();
         this.u = u;
         this.characteristic = characteristic;
@@ -40,6 +56,7 @@ public class BarretoNaehrigParameterSpec {
         this.y21 = y21;
         this.pairing = pairing;
         this.hash = hash;
+        this.montgomeryArithmetic = montgomeryArithmetic;
     }
 
     /**
@@ -62,16 +79,29 @@ public class BarretoNaehrigParameterSpec {
                 new BigInteger("169b69fadcb34eb34f1abfc928660086714afb9b016bba98e866223bfe2d5bac2d2", 16),
                 new BigInteger("bf44311e7048ad5827f3ade3dc4c86655735a4ab8dd0c60671a79ee2aaf1bf2207", 16),
                 "Tate",
-                "SHA-256"
+                "SHA-256",
+                true
         );
     }
 
+    /**
+     * Returns a copy of this spec that uses the given pairing.
+     *
+     * @param pairing either {@code "Tate"} or {@code "OptimalAte"}
+     */
+    public BarretoNaehrigParameterSpec withPairing(String pairing) {
+        return new BarretoNaehrigParameterSpec(u, characteristic, size, alpha, beta0, beta1, b, x1, y1, x20, x21, y20,
+                y21, pairing, hash, montgomeryArithmetic);
+    }
+
     /**
      * Returns the {@code BarretoNaehrigParameterSpec} belonging to the given spec string.
      * <p>
      * The currently available specs are:
      * <ul>
      *     <li> {@code "SFC-256"}: a 256 bit size spec resulting in a security level of roughly 100 bits
+     *     <li> {@code "SFC-256-OptimalAte"}: the same curve as {@code "SFC-256"}, but using the (faster)
+     *          optimal Ate pairing instead of the Tate pairing
      * </ul>
      * @param spec a {@code String} specifying the parameter spec
      * @return the corresponding spec
@@ -81,6 +111,9 @@ public class BarretoNaehrigParameterSpec {
         if (spec.equals("SFC-256")) {
             return sfc256();
         }
+        if (spec.equals("SFC-256-OptimalAte")) {
+            return sfc256().withPairing("OptimalAte");
+        }
         throw new IllegalArgumentException("Unknown cipher spec.");
     }
 }
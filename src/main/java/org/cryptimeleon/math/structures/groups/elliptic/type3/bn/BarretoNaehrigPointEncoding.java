@@ -10,6 +10,7 @@ import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.serialization.annotations.ReprUtil;
 import org.cryptimeleon.math.serialization.annotations.Represented;
 import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
@@ -72,6 +73,10 @@ public class BarretoNaehrigPointEncoding implements HashIntoGroupImpl {
         return hashFunction;
     }
 
+    public BarretoNaehrigSourceGroupImpl getCodomain() {
+        return codomain;
+    }
+
     @Override
     public BarretoNaehrigSourceGroupElementImpl hashIntoGroupImpl(byte[] x) {
 
@@ -88,8 +93,7 @@ public class BarretoNaehrigPointEncoding implements HashIntoGroupImpl {
              */
             ExtensionFieldElement y = ((ExtensionField) codomain.getFieldOfDefinition()).createElement(b);
             try {
-                /* this includes cofactor multiplication */
-                return (BarretoNaehrigSourceGroupElementImpl) this.codomain.mapToSubgroup(y, 0);
+                return mapToSubgroup(y);
             } catch (IllegalArgumentException e) {
 
             }
@@ -100,6 +104,18 @@ public class BarretoNaehrigPointEncoding implements HashIntoGroupImpl {
         throw new InternalError("Was not able to hash " + Arrays.toString(x) + ".\n This should not happen with reasonable probability.");
     }
 
+    /**
+     * Maps the given y coordinate to a point in the codomain.
+     *
+     * @param y y coordinate of the point
+     * @return the point in the codomain (i.e. after cofactor multiplication)
+     * @throws IllegalArgumentException if y is not the y coordinate of a point on the curve
+     */
+    protected BarretoNaehrigSourceGroupElementImpl mapToSubgroup(FieldElement y) {
+        /* this includes cofactor multiplication */
+        return (BarretoNaehrigSourceGroupElementImpl) codomain.mapToSubgroup(y, 0);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,47 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
+
+import org.cryptimeleon.math.hash.HashFunction;
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+/**
+ * Hash function into G2 that clears the cofactor with the endomorphism \(\psi\).
+ * <p>
+ * This works like {@link BarretoNaehrigPointEncoding}, but maps the points into G2 with
+ * {@link BarretoNaehrigGroup2Impl#clearCofactorWithPsi(org.cryptimeleon.math.structures.groups.GroupElementImpl)}
+ * instead of a multiplication with the cofactor, which is considerably faster.
+ * It is a different encoding, i.e. it hashes to different points than {@link BarretoNaehrigPointEncoding}
+ * (which stays the default hash into G2), so hash values of the two cannot be mixed.
+ * It requires the generator of G2 to be set.
+ */
+public class BarretoNaehrigPsiPointEncoding extends BarretoNaehrigPointEncoding {
+
+    public BarretoNaehrigPsiPointEncoding(HashFunction hashFunction, BarretoNaehrigGroup2Impl codomain) {
+        super(hashFunction, codomain);
+    }
+
+    public BarretoNaehrigPsiPointEncoding(BarretoNaehrigGroup2Impl codomain) {
+        super(codomain);
+    }
+
+    public BarretoNaehrigPsiPointEncoding(Representation r) {
+        super(r);
+    }
+
+    @Override
+    protected void check() {
+        super.check();
+        if (!(super.getCodomain() instanceof BarretoNaehrigGroup2Impl))
+            throw new IllegalArgumentException("Codomain has to be G2");
+    }
+
+    @Override
+    public BarretoNaehrigGroup2Impl getCodomain() {
+        return (BarretoNaehrigGroup2Impl) super.getCodomain();
+    }
+
+    @Override
+    protected BarretoNaehrigGroup2ElementImpl mapToSubgroup(FieldElement y) {
+        return getCodomain().clearCofactorWithPsi(getCodomain().mapToPoint(y, 0));
+    }
+}
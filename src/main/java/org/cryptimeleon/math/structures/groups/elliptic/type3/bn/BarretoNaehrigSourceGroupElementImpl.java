@@ -14,13 +14,25 @@ public abstract class BarretoNaehrigSourceGroupElementImpl extends PairingSource
         super(curve, x, y);
     }
 
+    public BarretoNaehrigSourceGroupElementImpl(BarretoNaehrigSourceGroupImpl curve, FieldElement x, FieldElement y,
+                                                FieldElement z) {
+        super(curve, x, y, z);
+    }
+
     public BarretoNaehrigSourceGroupElementImpl(BarretoNaehrigSourceGroupImpl curve) {
         super(curve);
     }
 
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the group's own exponentiation algorithm if it has one (e.g. GLV for G1).
+     */
     @Override
     public BarretoNaehrigSourceGroupElementImpl pow(BigInteger e) {
+        if (getStructure().implementsOwnExp())
+            return (BarretoNaehrigSourceGroupElementImpl) getStructure().exp(this, e, null);
         return (BarretoNaehrigSourceGroupElementImpl) super.pow(e);
     }
 
@@ -38,8 +50,9 @@ public abstract class BarretoNaehrigSourceGroupElementImpl extends PairingSource
          * search for correct x-coordiante wrt. to this.getStructure().getFieldOfDefinition().getCubeRoot()
          */
         // TODO, more efficient way to injective mapping of primitive cube root into the integers
+        FieldElement y = ((BarretoNaehrigSourceGroupElementImpl) this.normalize()).getY();
         for (int i = 0; i < 3; i++) {
-            if (((BarretoNaehrigSourceGroupImpl) this.getStructure()).mapToPoint(this.getY(), i).equals(this)) {
+            if (((BarretoNaehrigSourceGroupImpl) this.getStructure()).mapToPoint(y, i).equals(this)) {
                 return i;
             }
         }
@@ -62,6 +62,23 @@ public abstract class BarretoNaehrigSourceGroupImpl extends PairingSourceGroupIm
         return cofactorMultiplication(this.decompressX(y, sel), y);
     }
 
+    /**
+     * Maps a point on the curve (not necessarily in this subgroup) to a point in this subgroup
+     * by cofactor multiplication.
+     *
+     * @param P point on the curve
+     */
+    public PairingSourceGroupElement mapToSubgroup(PairingSourceGroupElement P) {
+        if (!this.size().gcd(this.getCofactor()).equals(BigInteger.ONE)) {
+            throw new IllegalArgumentException("Require cofactor coprime to order of subgroup.");
+        }
+        if (P.isNeutralElement() || getCofactor().equals(BigInteger.ONE))
+            return P;
+
+        P = (PairingSourceGroupElement) P.normalize();
+        return cofactorMultiplication(P.getX(), P.getY());
+    }
+
     /**
      * Decompresses a point by mapping y coordinate of point (x,y) back to curve.
      * <p>
@@ -0,0 +1,168 @@
+package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.serialization.annotations.ReprUtil;
+import org.cryptimeleon.math.serialization.annotations.Represented;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.HashToCurveTools;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Deterministic hash function into G1 and G2 using the Shallue-van de Woestijne map
+ * (see <a href="https://www.rfc-editor.org/rfc/rfc9380.html#section-6.6.1">RFC 9380, Section 6.6.1</a>).
+ * <p>
+ * The message is hashed to two field elements (see {@link HashToCurveTools#hashToField(byte[], String, Field, int)}),
+ * each is mapped to the curve and the sum of the results is mapped into the subgroup
+ * by {@link BarretoNaehrigSourceGroupImpl#mapToSubgroup(PairingSourceGroupElement)}.
+ * In contrast to {@link BarretoNaehrigPointEncoding}, which tries counter values until it finds a point,
+ * each field element is mapped with a fixed number of exponentiations
+ * (an inversion, two square tests and one square root).
+ * <p>
+ * Note that the arithmetic on {@link BigInteger} is not constant-time.
+ */
+public class BarretoNaehrigSvdwEncoding implements HashIntoGroupImpl {
+
+    @Represented
+    private BarretoNaehrigSourceGroupImpl codomain;
+    @Represented
+    private String domainSeparationTag;
+
+    /**
+     * The constant \(Z\) of the map (see {@code find_z_svdw} in RFC 9380, Appendix H.1).
+     */
+    private FieldElement z;
+
+    /**
+     * The constants \(c_1 = g(Z)\), \(c_2 = -Z/2\), \(c_3 = \sqrt{-3 g(Z) Z^2}\) and \(c_4 = -4 g(Z) / 3 Z^2\)
+     * of the map, where \(g(x) = x^3 + b\).
+     */
+    private FieldElement c1, c2, c3, c4;
+
+    /**
+     * Instantiates the hash function.
+     *
+     * @param codomain G1 or G2
+     * @param domainSeparationTag the domain separation tag for {@link HashToCurveTools#hashToField}, at most 255 bytes
+     */
+    public BarretoNaehrigSvdwEncoding(BarretoNaehrigSourceGroupImpl codomain, String domainSeparationTag) {
+        this.codomain = codomain;
+        this.domainSeparationTag = domainSeparationTag;
+        init();
+    }
+
+    /**
+     * Instantiates the hash function with a default domain separation tag (which differs between G1 and G2).
+     */
+    public BarretoNaehrigSvdwEncoding(BarretoNaehrigSourceGroupImpl codomain) {
+        this(codomain, "CRYPTIMELEON-V01-CS01-with-BN-" + (codomain instanceof BarretoNaehrigGroup2Impl ? "G2" : "G1")
+                + "_XMD:SHA-256_SVDW_RO_");
+    }
+
+    public BarretoNaehrigSvdwEncoding(Representation r) {
+        new ReprUtil(this).deserialize(r);
+        init();
+    }
+
+    /**
+     * Computes the constants of the map.
+     */
+    private void init() {
+        Field field = codomain.getFieldOfDefinition();
+        FieldElement three = field.getElement(3);
+
+        z = findZ(field);
+        c1 = g(z);
+        c2 = z.div(field.getElement(2)).neg();
+        c3 = HashToCurveTools.sqrt(c1.mul(three).mul(z.square()).neg());
+        if (HashToCurveTools.sgn0(c3))
+            c3 = c3.neg();
+        c4 = c1.mul(field.getElement(4)).div(three.mul(z.square())).neg();
+    }
+
+    /**
+     * Returns the first \(Z \in \{1, -1, 2, -2, \ldots\}\) that satisfies the conditions of {@code find_z_svdw}.
+     */
+    private FieldElement findZ(Field field) {
+        FieldElement four = field.getElement(4);
+        for (long counter = 1; ; counter++) {
+            for (FieldElement candidate : new FieldElement[] {field.getElement(counter), field.getElement(-counter)}) {
+                FieldElement gz = g(candidate);
+                if (gz.isZero())
+                    continue;
+                // h(Z) = -3 Z^2 / 4 g(Z)
+                FieldElement h = field.getElement(3).mul(candidate.square()).div(four.mul(gz)).neg();
+                if (h.isZero() || !HashToCurveTools.isSquare(h))
+                    continue;
+                if (HashToCurveTools.isSquare(gz)
+                        || HashToCurveTools.isSquare(g(candidate.div(field.getElement(2)).neg())))
+                    return candidate;
+            }
+        }
+    }
+
+    /**
+     * Computes the right-hand side \(x^3 + b\) of the curve equation.
+     */
+    private FieldElement g(FieldElement x) {
+        return x.square().mul(x).add(codomain.getA6());
+    }
+
+    @Override
+    public BarretoNaehrigSourceGroupElementImpl hashIntoGroupImpl(byte[] x) {
+        FieldElement[] u = HashToCurveTools.hashToField(x, domainSeparationTag, codomain.getFieldOfDefinition(), 2);
+        PairingSourceGroupElement R = (PairingSourceGroupElement) mapToCurve(u[0]).op(mapToCurve(u[1]));
+        return (BarretoNaehrigSourceGroupElementImpl) codomain.mapToSubgroup(R);
+    }
+
+    /**
+     * Maps a field element to the curve ({@code map_to_curve_svdw} of RFC 9380, Section 6.6.1).
+     */
+    private GroupElementImpl mapToCurve(FieldElement u) {
+        FieldElement one = u.getStructure().getOneElement();
+
+        // tv1 = 1 - c1 u^2, tv2 = 1 + c1 u^2, tv3 = 1/(tv1 tv2), tv4 = c3 u tv1 tv3
+        FieldElement c1u2 = c1.mul(u.square());
+        FieldElement tv1 = one.sub(c1u2);
+        FieldElement tv2 = one.add(c1u2);
+        FieldElement tv3 = HashToCurveTools.inv0(tv1.mul(tv2));
+        FieldElement tv4 = c3.mul(u).mul(tv1).mul(tv3);
+
+        // candidates x1 = c2 - tv4, x2 = c2 + tv4 and x3 = Z + c4 (tv2^2 tv3)^2, at least one of which is on the curve
+        FieldElement x1 = c2.sub(tv4);
+        FieldElement x2 = c2.add(tv4);
+        FieldElement x3 = c4.mul(tv2.square().mul(tv3).square()).add(z);
+        boolean e1 = HashToCurveTools.isSquare(g(x1));
+        boolean e2 = HashToCurveTools.isSquare(g(x2));
+
+        FieldElement x = e1 ? x1 : e2 ? x2 : x3;
+        FieldElement y = HashToCurveTools.sqrt(g(x));
+        if (HashToCurveTools.sgn0(u) != HashToCurveTools.sgn0(y))
+            y = y.neg();
+
+        return codomain.getElement(x, y);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BarretoNaehrigSvdwEncoding that = (BarretoNaehrigSvdwEncoding) o;
+        return codomain.equals(that.codomain) && domainSeparationTag.equals(that.domainSeparationTag);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(codomain, domainSeparationTag);
+    }
+
+    @Override
+    public Representation getRepresentation() {
+        return ReprUtil.serialize(this);
+    }
+}
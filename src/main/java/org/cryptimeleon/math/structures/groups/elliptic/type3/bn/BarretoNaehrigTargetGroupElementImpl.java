@@ -1,7 +1,10 @@
 package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
 
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.Fp12FieldElement;
 
 import java.math.BigInteger;
 
@@ -13,9 +16,25 @@ public class BarretoNaehrigTargetGroupElementImpl extends PairingTargetGroupElem
         super(g, fe);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses {@link BarretoNaehrigTargetGroupImpl#exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
     @Override
     public BarretoNaehrigTargetGroupElementImpl pow(BigInteger e) {
-        return (BarretoNaehrigTargetGroupElementImpl) super.pow(e);
+        return (BarretoNaehrigTargetGroupElementImpl) getStructure().exp(this, e, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Elements of the target group lie in the cyclotomic subgroup of \(\mathbb{F}_{p^{12}}\),
+     * so this uses the cheaper cyclotomic squaring {@link Fp12FieldElement#cyclotomicSquare()}.
+     */
+    @Override
+    public BarretoNaehrigTargetGroupElementImpl square() {
+        return getStructure().getElement(((Fp12FieldElement) getElem()).cyclotomicSquare());
     }
 
     @Override
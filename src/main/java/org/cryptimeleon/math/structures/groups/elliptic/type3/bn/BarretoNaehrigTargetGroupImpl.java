@@ -1,9 +1,14 @@
 package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
 
 import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupImpl;
-import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.Fp12Field;
 
 import java.math.BigInteger;
 
@@ -12,19 +17,32 @@ import java.math.BigInteger;
  * Target group GT.
  */
 public class BarretoNaehrigTargetGroupImpl extends PairingTargetGroupImpl {
+    /**
+     * Window size of the wNAF exponentiation in {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
+    private static final int EXPONENTIATION_WINDOW_SIZE = 4;
+
+    /**
+     * Basis of the lattice of decompositions of zero with respect to the \(p\)-power Frobenius,
+     * see {@link BarretoNaehrigBilinearGroupImpl#computeFrobeniusBasis(BigInteger, BigInteger)}.
+     */
+    private volatile BigInteger[][] frobeniusBasis;
+
     /**
      * Constructs a subgroup of given size in F12 where F12=F(v)=F[x]/(x^6+v).
+     * <p>
+     * F12 is implemented as {@link Fp12Field}, i.e. using dedicated tower arithmetic.
      *
      * @param v    element that defines extension of degree 6
      * @param size size of subgroup
      */
     public BarretoNaehrigTargetGroupImpl(ExtensionFieldElement v, BigInteger size) {
-        super(new ExtensionField(v, 6), size);
+        super(new Fp12Field(v), size);
     }
 
 
     public BarretoNaehrigTargetGroupImpl(Representation r) {
-        super(r);
+        super(new Fp12Field(r.obj().get("field")), r.obj().get("size").bigInt().get());
     }
 
     @Override
@@ -41,4 +59,79 @@ public class BarretoNaehrigTargetGroupImpl extends PairingTargetGroupImpl {
     public double estimateCostInvPerOp() {
         return 614;
     }
+
+    /**
+     * Returns true, see {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
+    @Override
+    public boolean implementsOwnExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Since the \(p\)-power Frobenius acts as exponentiation by \(p\) on this group, the exponent is decomposed into
+     * four exponents of about a quarter of the length, and the resulting multi-exponentiation is evaluated with
+     * wNAF representations, see {@link ExponentiationAlgorithms#endomorphismExp(GroupElementImpl, BigInteger,
+     * SmallExponentPrecomputation, java.util.function.UnaryOperator, BigInteger[][], int)}.
+     * The Frobenius only needs a few multiplications with precomputed constants
+     * (see {@link org.cryptimeleon.math.structures.rings.extfield.Fp12FieldElement#applyFrobenius()}),
+     * inversion is conjugation and squaring is the cyclotomic squaring
+     * (see {@link BarretoNaehrigTargetGroupElementImpl#square()}).
+     */
+    @Override
+    public GroupElementImpl exp(GroupElementImpl base, BigInteger exponent, SmallExponentPrecomputation precomputation) {
+        return ExponentiationAlgorithms.endomorphismExp(base, exponent, precomputation, this::frobenius,
+                getFrobeniusBasis(), EXPONENTIATION_WINDOW_SIZE);
+    }
+
+    /**
+     * Returns true, see {@link #multiexp(Multiexponentiation)}.
+     */
+    @Override
+    public boolean implementsOwnMultiExp() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Decomposes each exponent with respect to the Frobenius, see
+     * {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}.
+     */
+    @Override
+    public GroupElementImpl multiexp(Multiexponentiation mexp) {
+        return ExponentiationAlgorithms.endomorphismMultiExp(mexp, this::frobenius, getFrobeniusBasis(),
+                EXPONENTIATION_WINDOW_SIZE);
+    }
+
+    /**
+     * Computes {@code base^exponent} with wNAF exponentiation without decomposing the exponent.
+     * <p>
+     * In contrast to {@link #exp(GroupElementImpl, BigInteger, SmallExponentPrecomputation)}, this works for all
+     * elements of the cyclotomic subgroup (e.g. in the final exponentiation of the pairing).
+     */
+    GroupElementImpl cyclotomicExp(GroupElementImpl base, BigInteger exponent) {
+        if (exponent.signum() < 0)
+            return cyclotomicExp(base, exponent.negate()).inv();
+        return ExponentiationAlgorithms.wnafExp(base, exponent, null, EXPONENTIATION_WINDOW_SIZE);
+    }
+
+    /**
+     * Applies the \(p\)-power Frobenius to the given element.
+     */
+    private GroupElementImpl frobenius(GroupElementImpl element) {
+        return getElement(((PairingTargetGroupElementImpl) element).getElem().applyFrobenius());
+    }
+
+    /**
+     * Returns the basis for the exponent decomposition (computed on first use).
+     */
+    private BigInteger[][] getFrobeniusBasis() {
+        if (frobeniusBasis == null)
+            frobeniusBasis = BarretoNaehrigBilinearGroupImpl.computeFrobeniusBasis(
+                    getFieldOfDefinition().getCharacteristic(), size());
+        return frobeniusBasis;
+    }
 }
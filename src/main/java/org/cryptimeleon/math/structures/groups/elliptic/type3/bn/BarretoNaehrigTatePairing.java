@@ -1,35 +1,35 @@
 package org.cryptimeleon.math.structures.groups.elliptic.type3.bn;
 
 import org.cryptimeleon.math.serialization.Representation;
-import org.cryptimeleon.math.structures.groups.elliptic.AbstractPairing;
 import org.cryptimeleon.math.structures.groups.elliptic.PairingSourceGroupElement;
-import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 
 import java.math.BigInteger;
+import java.util.List;
 
 /**
  * Tate-pairing specific implementation of BN based pairings.
  */
-public class BarretoNaehrigTatePairing extends AbstractPairing {
-    BigInteger lambda2, lambda1, lambda0;
+public class BarretoNaehrigTatePairing extends AbstractBarretoNaehrigPairing {
 
     /**
      * Construct Tate pairing \(\mathbb{G}_1 \times \mathbb{G}_2 \rightarrow \mathbb{G}_T\).
      */
     public BarretoNaehrigTatePairing(BarretoNaehrigGroup1Impl g1, BarretoNaehrigGroup2Impl g2, BarretoNaehrigTargetGroupImpl gT, BigInteger u) {
-        super(g1, g2, gT);
-        lambda2 = u.pow(2).multiply(BigInteger.valueOf(6)).add(BigInteger.ONE);
-        lambda1 = u.pow(3).multiply(BigInteger.valueOf(-36))
-                .add(u.pow(2).multiply(BigInteger.valueOf(-18)))
-                .add(u.multiply(BigInteger.valueOf(-12)))
-                .add(BigInteger.ONE);
-        lambda0 = u.pow(3).multiply(BigInteger.valueOf(-36))
-                .add(u.pow(2).multiply(BigInteger.valueOf(-30)))
-                .add(u.multiply(BigInteger.valueOf(-18)))
-                .add(BigInteger.valueOf(-2));
+        super(g1, g2, gT, u);
+    }
+
+    /**
+     * Construct Tate pairing \(\mathbb{G}_1 \times \mathbb{G}_2 \rightarrow \mathbb{G}_T\).
+     *
+     * @param projectiveMillerLoop whether to use projective coordinates in Miller's algorithm,
+     *                             see {@link #isProjectiveMillerLoop()}
+     */
+    public BarretoNaehrigTatePairing(BarretoNaehrigGroup1Impl g1, BarretoNaehrigGroup2Impl g2, BarretoNaehrigTargetGroupImpl gT, BigInteger u,
+                                     boolean projectiveMillerLoop) {
+        super(g1, g2, gT, u, projectiveMillerLoop);
     }
 
     /**
@@ -53,13 +53,15 @@ public class BarretoNaehrigTatePairing extends AbstractPairing {
          *
          * Here, non-vertical lines are parameterize by [a_0,a_1]=[1,lambda_P] where lambda_P is the slope through P and
          * vertical lines are parameterized by [a_0,a_1]=[0,1].
+         *
+         * Projective lines [a_0,a_1,c] describe a_0 y - a_1 x + c, i.e. the constant term is c instead of a_1 xp - a_0 yp.
          */
-        if (!P.isNormalized() || !Q.isNormalized()) {
-            throw new IllegalArgumentException("Currently, only affine points are supported.");
+        if ((line.length < 3 && !P.isNormalized()) || !Q.isNormalized()) {
+            throw new IllegalArgumentException("Lines must be evaluated at normalized points, and affine lines must be computed at normalized points.");
         }
 
         FieldElement[] coefficients = new FieldElement[4];
-        coefficients[0] = extField.createElement(P.getX().mul(line[1]).sub(P.getY().mul(line[0])));
+        coefficients[0] = extField.createElement(line.length < 3 ? P.getX().mul(line[1]).sub(P.getY().mul(line[0])) : line[2]);
 
         coefficients[1] = extField.getZeroElement();
         coefficients[2] = extField.createElement(line[1]).mul(Q.getX()).neg();
@@ -82,35 +84,19 @@ public class BarretoNaehrigTatePairing extends AbstractPairing {
     }
 
     @Override
-    public PairingTargetGroupElementImpl exponentiate(FieldElement f) {
-        FieldElement result;
-
-        if (lambda2 != null) {
-            //https://eprint.iacr.org/2008/490.pdf section 3
-            result = f.applyFrobenius(6).div(f);
-            result = result.applyFrobenius(2).mul(result);
-
-            ////https://eprint.iacr.org/2008/490.pdf section 5 (the "hard part" mentioned in section 3)
-            FieldElement resultFrob1 = result.applyFrobenius();
-            FieldElement resultFrob2 = resultFrob1.applyFrobenius();
-            FieldElement resultFrob3 = resultFrob2.applyFrobenius();
-            result = resultFrob3.mul(resultFrob2.pow(lambda2)).mul(resultFrob1.pow(lambda1)).mul(result.pow(lambda0));
+    protected ExtensionFieldElement pairProduct(List<PairingSourceGroupElement> P, List<PairingSourceGroupElement> Q) {
+        ExtensionFieldElement result = this.miller(P.toArray(new PairingSourceGroupElement[0]),
+                Q.toArray(new PairingSourceGroupElement[0]), g1.size());
+        /*some factor is zero, see pair(). Compute factors separately to replace them with the neutral element.*/
+        if (result.isZero()) {
+            return super.pairProduct(P, Q);
         } else {
-            result = f.pow(gT.getCofactor());
+            return result;
         }
-
-        return gT.getElement((ExtensionFieldElement) result);
     }
 
     @Override
     public String toString() {
         return "Tate Pairing G1xG2->Gt of Type 3";
     }
-
-    @Override
-    public boolean isSymmetric() {
-        return false;
-    }
-
-
 }
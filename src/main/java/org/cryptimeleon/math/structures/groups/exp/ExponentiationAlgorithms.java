@@ -4,8 +4,10 @@ import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.GroupImpl;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * A class containing multi-exponentiation algorithms.
@@ -18,123 +20,125 @@ public class ExponentiationAlgorithms {
     final public static double WNAF_INVERSION_COST_THRESHOLD = 1.5;
 
     /**
-     * Evaluates a multi-exponentiation using simultaneous sliding window approach. Uses power
-     * products. Only useful for higher number of bases if the power products are cached as
-     * computing power products for more than ~10 basis very expensive. Cached power products
-     * can also not necessarily be reused in other multi-exponentiation as they only work
-     * for that specific set of bases.
+     * Default number of terms from which on multi-exponentiations are evaluated with
+     * {@link #pippengerMultiExp(Multiexponentiation)} instead of an interleaved algorithm.
+     */
+    final public static int PIPPENGER_TERM_THRESHOLD = 128;
+
+    /**
+     * Largest window size chosen by {@link #computeInterleavingWindowSize(int, int, int, MultiExpAlgorithm)}.
+     */
+    final public static int MAX_INTERLEAVING_WINDOW_SIZE = 16;
+
+    /**
+     * Evaluates a multi-exponentiation using the simultaneous sliding window approach with precomputed power products.
+     * <p>
+     * In each step, one window of up to {@code w} bits of all exponents is processed at once with a single group
+     * operation, using the power products \(\prod_i b_i^{e_i}\) of the bases.
+     * Compared to the interleaved algorithms, this saves group operations, but the table of power products
+     * has \(2^{kw}\) entries for \(k\) bases and can only be used for multi-exponentiations with exactly
+     * these bases. Hence this is only useful if the power products are cached, e.g. in a {@link PowerProductCache}.
+     * <p>
+     * For negative exponents, the inverses of the power products of their absolute values are used.
+     * Hence windows that contain bits of both positive and negative exponents need two group operations.
      *
-     * @param multiExpContext multi-exponentiation to evaluate
-     * @param windowSize window size for power products
-     * @param enableCaching whether to cache power products
+     * @param multiexp multi-exponentiation to evaluate; the bases of its terms must be the bases of
+     *                 {@code powerProducts} in the same order
+     * @param powerProducts power products of the bases
      * @return result of multi-exponentiation
      */
-    /*public static GroupElement simultaneousSlidingWindowMulExp(MultiExpContext multiExpContext,
-                                                               int windowSize, boolean enableCaching) {
-        List<GroupElement> bases = multiExpContext.getBases();
-        List<BigInteger> exponents = multiExpContext.getExponents();
-        List<GroupElement> powerProducts;
-        if (enableCaching) {
-            GroupPrecomputationsFactory.GroupPrecomputations groupPrecomputations =
-                    GroupPrecomputationsFactory.get(bases.get(0).getStructure());
-            powerProducts = groupPrecomputations.getPowerProducts(bases, windowSize);
-        } else {
-            powerProducts = computePowerProducts(bases, windowSize);
+    public static GroupElementImpl simultaneousSlidingWindowMultiExp(Multiexponentiation multiexp,
+                                                                     PowerProductPrecomputation powerProducts) {
+        List<MultiExpTerm> terms = multiexp.getTerms();
+        if (terms.size() != powerProducts.getNumberOfBases())
+            throw new IllegalArgumentException("Number of terms does not match the number of bases of the power products");
+        if (terms.isEmpty()) //nothing to do here.
+            return multiexp.getConstantFactor().orElseThrow(
+                    () -> new IllegalArgumentException("Cannot compute an empty multiexp")
+            );
+
+        int numBases = terms.size();
+        int windowSize = powerProducts.getWindowSize();
+        // absolute values of the positive and the negative exponents, zero for exponents of the other sign
+        BigInteger[] positiveExponents = new BigInteger[numBases];
+        BigInteger[] negativeExponents = new BigInteger[numBases];
+        int longestExponentBitLength = 0;
+        for (int i = 0; i < numBases; i++) {
+            BigInteger exponent = terms.get(i).getExponent();
+            positiveExponents[i] = exponent.signum() < 0 ? BigInteger.ZERO : exponent;
+            negativeExponents[i] = exponent.signum() < 0 ? exponent.negate() : BigInteger.ZERO;
+            longestExponentBitLength = Math.max(longestExponentBitLength, exponent.abs().bitLength());
         }
-        int numBases = bases.size();
 
-        GroupElement A = bases.get(0).getStructure().getNeutralElement();
-        int j = getLongestExponentBitLength(exponents) - 1;
+        GroupElementImpl A = null; // null represents the neutral element to avoid pointless operations
+        int j = longestExponentBitLength - 1;
         while (j >= 0) {
-            final int finalj = j;
-            boolean anyMatch = false;
-            for (int i = 0; i < numBases; ++i) {
-                anyMatch |= exponents.get(i).testBit(finalj);
-            }
-            if (!anyMatch) {
-                A = A.square();
+            if (!anyBitSet(positiveExponents, j) && !anyBitSet(negativeExponents, j)) {
+                if (A != null)
+                    A = A.square();
                 j--;
             } else {
+                // window j, ..., J such that the lowest bit J is set in some exponent
                 int jNew = Math.max(j - windowSize, -1);
                 int J = jNew + 1;
-
-                while (true) {
-                    final int finalJ = J;
-                    anyMatch = false;
-                    for (int i = 0; i < numBases; ++i) {
-                        anyMatch |= exponents.get(i).testBit(finalJ);
-                    }
-                    if (anyMatch) {
-                        break;
-                    }
+                while (!anyBitSet(positiveExponents, J) && !anyBitSet(negativeExponents, J)) {
                     J++;
                 }
-                int e = 0;
-                for (int i = numBases - 1; i >= 0; i--) {
-                    int ePart = 0;
-                    for (int k = j; k >= J; k--) {
-                        ePart <<= 1;
-                        if (exponents.get(i).testBit(k)) {
-                            ePart++;
-                        }
-                    }
-                    e <<= windowSize;
-                    e |= ePart;
-                }
+                int ePositive = computePowerProductIndex(positiveExponents, j, J, windowSize);
+                int eNegative = computePowerProductIndex(negativeExponents, j, J, windowSize);
                 while (j >= J) {
-                    A = A.square();
+                    if (A != null)
+                        A = A.square();
                     j--;
                 }
-                A = A.op(powerProducts.get(e));
+                if (ePositive != 0)
+                    A = A == null ? powerProducts.get(ePositive) : A.op(powerProducts.get(ePositive));
+                if (eNegative != 0)
+                    A = A == null ? powerProducts.get(eNegative).inv() : A.op(powerProducts.get(eNegative).inv());
                 while (j > jNew) {
                     A = A.square();
                     j--;
                 }
             }
         }
+
+        if (A == null)
+            A = terms.get(0).getBase().getStructure().getNeutralElement();
+        if (multiexp.getConstantFactor().isPresent())
+            A = A.op(multiexp.getConstantFactor().get());
         return A;
-    }*/
+    }
 
     /**
-     * Computes power products for bases with window size.
-     * <p>
-     * A power product is a term of the form (for 3 bases) \(T_{i,j,k} = b_1^i * b_2^j * b_3^k\).
-     * This function computes all power products for the given window size.
-     * <p>
-     * Used by simultaneous multi-exponentiation alg.
-     *
-     * @param bases list of bases to compute power products for.
-     * @param windowSize limit on powers to compute.
-     * @return list of power products.
+     * Returns the index of the power product for bits {@code j} down to {@code J} of the given exponents,
+     * see {@link PowerProductPrecomputation#get(int)}.
      */
-    /*private static List<GroupElement> computePowerProducts(List<GroupElement> bases, int windowSize) {
-        int numPrecomputedPowers = 1 << (windowSize * bases.size());
-        List<GroupElement> powerProducts = new ArrayList<>(numPrecomputedPowers);
-        Group group = bases.get(0).getStructure();
-        // prefill arraylist
-        for (int i = 0; i < numPrecomputedPowers; ++i) {
-            powerProducts.add(group.getNeutralElement());
-        }
-
-        powerProducts.set(0, group.getNeutralElement());
-        for (int i = 1; i < (1 << windowSize); i++) {
-            powerProducts.set(i, powerProducts.get(i-1).op(bases.get(0)));
-        }
-        for (int b = 1; b < bases.size(); b++) {
-            int shift = windowSize * b;
-            for (int e = 1; e < (1 << windowSize); e++) {
-                int eShifted = e << shift;
-                int previousEShifted = (e - 1) << shift;
-                for (int i = 0; i < (1 << shift); i++) {
-                    powerProducts.set(
-                            eShifted + i,
-                            powerProducts.get(previousEShifted + i).op(bases.get(b))
-                    );
+    private static int computePowerProductIndex(BigInteger[] exponents, int j, int J, int windowSize) {
+        int e = 0;
+        for (int i = exponents.length - 1; i >= 0; i--) {
+            int ePart = 0;
+            for (int k = j; k >= J; k--) {
+                ePart <<= 1;
+                if (exponents[i].testBit(k)) {
+                    ePart++;
                 }
             }
+            e <<= windowSize;
+            e |= ePart;
         }
-        return powerProducts;
-    }*/
+        return e;
+    }
+
+    /**
+     * Returns true iff some exponent has the given bit set.
+     */
+    private static boolean anyBitSet(BigInteger[] exponents, int bit) {
+        for (BigInteger exponent : exponents) {
+            if (exponent.testBit(bit))
+                return true;
+        }
+        return false;
+    }
 
     /**
      * Evaluates a multi-exponentiation using the interleaved sliding window algorithm.
@@ -147,8 +151,23 @@ public class ExponentiationAlgorithms {
      * For negative exponents, the base is inverted which does mean the precomputation has to be done anew.
      * */
     public static GroupElementImpl interleavingSlidingWindowMultiExp(Multiexponentiation multiexp, int windowSize) {
+        int[] windowSizes = new int[multiexp.getNumberOfTerms()];
+        Arrays.fill(windowSizes, windowSize);
+        return interleavingSlidingWindowMultiExp(multiexp, windowSizes);
+    }
+
+    /**
+     * Evaluates a multi-exponentiation using the interleaved sliding window algorithm with a separate window size
+     * for each term, e.g. as computed by {@link Multiexponentiation#computeWindowSizes(int, MultiExpAlgorithm)}.
+     *
+     * @param multiexp the multi-exponentiation to evaluate
+     * @param windowSizes the window size for each term
+     * @return result of the multi-exponentiation
+     * @see #interleavingSlidingWindowMultiExp(Multiexponentiation, int)
+     */
+    public static GroupElementImpl interleavingSlidingWindowMultiExp(Multiexponentiation multiexp, int[] windowSizes) {
         List<MultiExpTerm> terms = multiexp.getTerms();
-        multiexp.ensurePrecomputation(windowSize, MultiExpAlgorithm.SLIDING);
+        multiexp.ensurePrecomputation(windowSizes, MultiExpAlgorithm.SLIDING);
         if (terms.isEmpty()) //nothing to do here.
             return multiexp.getConstantFactor().orElseThrow(() -> new IllegalArgumentException("Cannot compute an empty multiexp"));
         int numTerms = terms.size();
@@ -173,7 +192,7 @@ public class ExponentiationAlgorithms {
                 exponent = exponentNegative ? exponent.negate() : exponent;
                 if (windowPos[i] == -1 && exponent.testBit(j)) { //start a new window
                     // now find right edge of window
-                    int J = j - windowSize + 1;
+                    int J = j - windowSizes[i] + 1;
                     // right edge is first occurrence of a "1"
                     while (!testBit(exponent, J)) {
                         J++;
@@ -210,11 +229,22 @@ public class ExponentiationAlgorithms {
      * curves.
      */
     public static GroupElementImpl interleavingWnafMultiExp(Multiexponentiation multiexp, int windowSize) {
-        //TODO choose larger windowSize if possible, e.g., all bases have had more precomputation anyway?
-        // Add setting for "usual window size" and "precomputation window size".
-        // maxExp = Math.max(windowSize, multiexp.minPrecomputedPower);
-        // Need to adapt windowSize
-        multiexp.ensurePrecomputation(windowSize, MultiExpAlgorithm.WNAF);
+        int[] windowSizes = new int[multiexp.getNumberOfTerms()];
+        Arrays.fill(windowSizes, windowSize);
+        return interleavingWnafMultiExp(multiexp, windowSizes);
+    }
+
+    /**
+     * Evaluates a multi-exponentiation using an interleaved WNAF-bases algorithm with a separate window size
+     * for each term, e.g. as computed by {@link Multiexponentiation#computeWindowSizes(int, MultiExpAlgorithm)}.
+     *
+     * @param multiexp the multi-exponentiation to evaluate
+     * @param windowSizes the window size for each term
+     * @return result of the multi-exponentiation
+     * @see #interleavingWnafMultiExp(Multiexponentiation, int)
+     */
+    public static GroupElementImpl interleavingWnafMultiExp(Multiexponentiation multiexp, int[] windowSizes) {
+        multiexp.ensurePrecomputation(windowSizes, MultiExpAlgorithm.WNAF);
         List<MultiExpTerm> terms = multiexp.getTerms();
         if (terms.isEmpty()) //nothing to do here.
             return multiexp.getConstantFactor().orElseThrow(
@@ -224,7 +254,7 @@ public class ExponentiationAlgorithms {
         int longestExponentDigitLength = 0;
         int[][] exponentDigits = new int[terms.size()][];
         for (int i = 0; i < terms.size(); ++i) {
-            exponentDigits[i] = precomputeExponentDigitsForWnaf(terms.get(i).exponent, windowSize);
+            exponentDigits[i] = precomputeExponentDigitsForWnaf(terms.get(i).exponent, windowSizes[i]);
             longestExponentDigitLength = Math.max(longestExponentDigitLength, exponentDigits[i].length);
         }
         /*// padding with zeros
@@ -258,6 +288,450 @@ public class ExponentiationAlgorithms {
         return result;
     }
 
+    /**
+     * Chooses the window size for a single term of an interleaved multi-exponentiation.
+     * <p>
+     * Starts with the larger of {@code minWindowSize} and the window size already supported by the term's
+     * precomputation. The precomputation is extended from window size \(w\) to \(w+1\) while the
+     * \(2^{w-1}\) group operations for the additional odd powers are fewer than the group operations saved
+     * in this multi-exponentiation for a \(b\)-bit exponent.
+     * For {@link MultiExpAlgorithm#SLIDING}, a window of size \(w\) yields about \(b/(w+1)\) multiplications,
+     * so the savings are \(b/(w+1) - b/(w+2)\).
+     * For {@link MultiExpAlgorithm#WNAF}, a window size \(w\) means digits up to \(2^w - 1\)
+     * (see {@link #precomputeExponentDigitsForWnaf(BigInteger, int)}), i.e. the same table of \(2^{w-1}\) odd powers,
+     * but nonzero digits have density \(1/(w+2)\), so the savings are \(b/(w+2) - b/(w+3)\).
+     * Since extended precomputations are kept, this errs on the side of smaller tables.
+     *
+     * @param exponentBitLength the bit length \(b\) of the exponent
+     * @param precomputedWindowSize the window size supported by the existing precomputation (0 if none)
+     * @param minWindowSize the window size to use at least
+     * @param multiExpAlgorithm the interleaved algorithm, {@link MultiExpAlgorithm#SLIDING} or {@link MultiExpAlgorithm#WNAF}
+     * @return the window size to use for the term
+     */
+    public static int computeInterleavingWindowSize(int exponentBitLength, int precomputedWindowSize,
+                                                    int minWindowSize, MultiExpAlgorithm multiExpAlgorithm) {
+        int densityOffset;
+        switch (multiExpAlgorithm) {
+            case SLIDING:
+                densityOffset = 1;
+                break;
+            case WNAF:
+                densityOffset = 2;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported MultiExpAlgorithm " + multiExpAlgorithm);
+        }
+
+        int windowSize = Math.max(minWindowSize, precomputedWindowSize);
+        while (windowSize < MAX_INTERLEAVING_WINDOW_SIZE) {
+            double extensionCost = 1 << (windowSize - 1);
+            double savedOps = (double) exponentBitLength / (windowSize + densityOffset)
+                    - (double) exponentBitLength / (windowSize + densityOffset + 1);
+            if (extensionCost >= savedOps)
+                break;
+            windowSize++;
+        }
+        return windowSize;
+    }
+
+    /**
+     * Evaluates a multi-exponentiation using the bucket method of Pippenger
+     * (see Bernstein, Doumen, Lange, Oosterwijk: "Faster batch forgery identification", Section 4,
+     * https://eprint.iacr.org/2012/549.pdf) with a window size chosen by
+     * {@link #computePippengerWindowSize(int, int, boolean)}.
+     *
+     * @param multiexp the multi-exponentiation to evaluate
+     * @return result of the multi-exponentiation
+     * @see #pippengerMultiExp(Multiexponentiation, int)
+     */
+    public static GroupElementImpl pippengerMultiExp(Multiexponentiation multiexp) {
+        List<MultiExpTerm> terms = multiexp.getTerms();
+        if (terms.isEmpty())
+            return multiexp.getConstantFactor().orElseThrow(
+                    () -> new IllegalArgumentException("Cannot compute an empty multiexp")
+            );
+
+        int longestExponentBitLength = terms.stream().mapToInt(t -> t.getExponent().bitLength()).max().getAsInt();
+        boolean signedDigits = usesSignedPippengerDigits(terms.get(0).getBase().getStructure());
+        return pippengerMultiExp(multiexp,
+                computePippengerWindowSize(terms.size(), longestExponentBitLength, signedDigits));
+    }
+
+    /**
+     * Evaluates a multi-exponentiation using the bucket method of Pippenger.
+     * <p>
+     * The exponents are split into windows of {@code windowSize} bits. Starting with the most significant window,
+     * each base is added into the bucket indexed by its exponent's digit in the current window, and the buckets are
+     * combined to \(\prod_d B_d^d\) with running products (two group operations per bucket).
+     * So each window costs about one group operation per term plus two per bucket, independently of the
+     * exponents, and no precomputation per base is needed.
+     * For large numbers of terms, this is much cheaper than
+     * {@link #interleavingWnafMultiExp(Multiexponentiation, int)}, which needs about
+     * \(\text{bits}/(w+1) + 2^{w-2}\) group operations per term.
+     * <p>
+     * If inversion is cheap (see {@link #WNAF_INVERSION_COST_THRESHOLD}), signed digits
+     * \(-2^{w-1} < d \leq 2^{w-1}\) are used, which halves the number of buckets.
+     * Otherwise, negative exponents are handled by inverting the base.
+     *
+     * @param multiexp the multi-exponentiation to evaluate
+     * @param windowSize the number of bits per window
+     * @return result of the multi-exponentiation
+     */
+    public static GroupElementImpl pippengerMultiExp(Multiexponentiation multiexp, int windowSize) {
+        List<MultiExpTerm> terms = multiexp.getTerms();
+        if (terms.isEmpty())
+            return multiexp.getConstantFactor().orElseThrow(
+                    () -> new IllegalArgumentException("Cannot compute an empty multiexp")
+            );
+
+        GroupImpl group = terms.get(0).getBase().getStructure();
+        boolean signedDigits = usesSignedPippengerDigits(group);
+        int longestExponentBitLength = terms.stream().mapToInt(t -> t.getExponent().bitLength()).max().getAsInt();
+        int numWindows = (longestExponentBitLength + windowSize - 1) / windowSize + (signedDigits ? 1 : 0);
+        int numBuckets = signedDigits ? 1 << (windowSize - 1) : (1 << windowSize) - 1;
+
+        // digits[i][w] is the digit of the absolute value of the i-th exponent in the w-th window,
+        // bases[i] (inverseBases[i]) is the base to use for positive (negative) digits, computed when needed
+        int[][] digits = new int[terms.size()][];
+        GroupElementImpl[] bases = new GroupElementImpl[terms.size()];
+        GroupElementImpl[] inverseBases = new GroupElementImpl[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            BigInteger exponent = terms.get(i).getExponent();
+            digits[i] = precomputeExponentDigitsForPippenger(exponent.abs(), windowSize, numWindows, signedDigits);
+            bases[i] = terms.get(i).getBase();
+            if (exponent.signum() < 0) {
+                inverseBases[i] = bases[i];
+                bases[i] = null;
+            }
+        }
+
+        GroupElementImpl result = null;
+        GroupElementImpl[] buckets = new GroupElementImpl[numBuckets + 1];
+        for (int w = numWindows - 1; w >= 0; w--) {
+            if (result != null)
+                for (int k = 0; k < windowSize; k++)
+                    result = result.square();
+
+            Arrays.fill(buckets, null);
+            for (int i = 0; i < digits.length; i++) {
+                int digit = digits[i][w];
+                if (digit == 0)
+                    continue;
+                GroupElementImpl base;
+                if (digit > 0) {
+                    if (bases[i] == null)
+                        bases[i] = inverseBases[i].inv();
+                    base = bases[i];
+                } else {
+                    if (inverseBases[i] == null)
+                        inverseBases[i] = bases[i].inv();
+                    base = inverseBases[i];
+                    digit = -digit;
+                }
+                buckets[digit] = buckets[digit] == null ? base : buckets[digit].op(base);
+            }
+
+            // prod_d buckets[d]^d = prod_d (prod_{d' >= d} buckets[d'])
+            GroupElementImpl runningProduct = null;
+            GroupElementImpl windowResult = null;
+            for (int d = numBuckets; d >= 1; d--) {
+                if (buckets[d] != null)
+                    runningProduct = runningProduct == null ? buckets[d] : runningProduct.op(buckets[d]);
+                if (runningProduct != null)
+                    windowResult = windowResult == null ? runningProduct : windowResult.op(runningProduct);
+            }
+            if (windowResult != null)
+                result = result == null ? windowResult : result.op(windowResult);
+        }
+
+        if (result == null)
+            result = group.getNeutralElement();
+
+        //Multiply with constant specified in the Multiexponentiation
+        result = multiexp.getConstantFactor().map(result::op).orElse(result);
+
+        return result;
+    }
+
+    /**
+     * Returns true if {@link #pippengerMultiExp(Multiexponentiation, int)} uses signed digits in the given group.
+     */
+    private static boolean usesSignedPippengerDigits(GroupImpl group) {
+        return group.estimateCostInvPerOp() < WNAF_INVERSION_COST_THRESHOLD;
+    }
+
+    /**
+     * Computes the window size for {@link #pippengerMultiExp(Multiexponentiation, int)} that minimizes the
+     * estimated number of group operations \(\lceil b/w \rceil \cdot (n + 2 \cdot \text{buckets})\).
+     *
+     * @param numberOfTerms the number \(n\) of terms of the multi-exponentiation
+     * @param exponentBitLength the bit length \(b\) of the longest exponent
+     * @param signedDigits whether signed digits are used (i.e. \(2^{w-1}\) instead of \(2^w - 1\) buckets)
+     * @return the window size
+     */
+    public static int computePippengerWindowSize(int numberOfTerms, int exponentBitLength, boolean signedDigits) {
+        int bestWindowSize = 1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int windowSize = 1; windowSize <= 24; windowSize++) {
+            int numWindows = (exponentBitLength + windowSize - 1) / windowSize + (signedDigits ? 1 : 0);
+            double numBuckets = signedDigits ? Math.pow(2, windowSize - 1) : Math.pow(2, windowSize) - 1;
+            double cost = (double) numWindows * (numberOfTerms + 2 * numBuckets);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestWindowSize = windowSize;
+            }
+        }
+        return bestWindowSize;
+    }
+
+    /**
+     * Splits a nonnegative exponent into {@code numWindows} digits (least significant first) of {@code windowSize}
+     * bits each.
+     * For signed digits, every digit \(d > 2^{w-1}\) is replaced by \(d - 2^w\) and a carry into the next window.
+     */
+    private static int[] precomputeExponentDigitsForPippenger(BigInteger exponent, int windowSize, int numWindows,
+                                                             boolean signedDigits) {
+        int[] digits = new int[numWindows];
+        int carry = 0;
+        for (int w = 0; w < numWindows; w++) {
+            int digit = carry;
+            for (int k = windowSize - 1; k >= 0; k--)
+                if (exponent.testBit(w * windowSize + k))
+                    digit += 1 << k;
+            carry = 0;
+            if (signedDigits && digit > 1 << (windowSize - 1)) {
+                digit -= 1 << windowSize;
+                carry = 1;
+            }
+            digits[w] = digit;
+        }
+        return digits;
+    }
+
+    /**
+     * Evaluates a multi-exponentiation in a group of prime order \(n\) with an efficiently computable
+     * endomorphism \(\phi\) that acts as exponentiation by some \(\lambda\), i.e. \(\phi(g) = g^\lambda\)
+     * (GLV/GLS method).
+     * <p>
+     * Each exponent \(k\) is decomposed into \(k_0, \dots, k_{d-1}\) with \(k = \sum_i k_i \lambda^i \bmod n\)
+     * (see {@link #decomposeExponent(BigInteger, BigInteger[][])}), and each term \(g^k\) is replaced by the terms
+     * \(\phi^i(g)^{k_i}\). The resulting multi-exponentiation with \(d\) times as many terms, but exponents of only
+     * about \(1/d\) of the length, is evaluated with {@link #interleavingWnafMultiExp(Multiexponentiation, int[])}.
+     * So the number of squarings is divided by \(d\).
+     * The precomputed powers of \(\phi^i(g)\) are obtained by applying \(\phi\) to the precomputed powers of \(g\).
+     * From {@link #PIPPENGER_TERM_THRESHOLD} terms on, the decomposed multi-exponentiation is evaluated with
+     * {@link #pippengerMultiExp(Multiexponentiation)} instead, which does not need any precomputed powers.
+     *
+     * @param multiexp the multi-exponentiation to evaluate
+     * @param endomorphism the endomorphism \(\phi\)
+     * @param basis basis of the lattice \(\{v \in \mathbb{Z}^d : \sum_i v_i \lambda^i = 0 \bmod n\}\),
+     *              consisting of short vectors (e.g. {@link #computeGlvBasis(BigInteger, BigInteger)} for \(d = 2\))
+     * @param windowSize the minimum window size for the wNAF representations; larger window sizes are used for
+     *                   terms with larger precomputations (see
+     *                   {@link Multiexponentiation#computeWindowSizes(int, MultiExpAlgorithm, int[])},
+     *                   applied to the lengths of the decomposed exponents)
+     * @return result of the multi-exponentiation
+     */
+    public static GroupElementImpl endomorphismMultiExp(Multiexponentiation multiexp,
+                                                        UnaryOperator<GroupElementImpl> endomorphism,
+                                                        BigInteger[][] basis, int windowSize) {
+        if (multiexp.getTerms().isEmpty())
+            return multiexp.getConstantFactor().orElseThrow(
+                    () -> new IllegalArgumentException("Cannot compute an empty multiexp")
+            );
+
+        BigInteger[][] decomposedExponents = new BigInteger[multiexp.getNumberOfTerms()][];
+        int[] decomposedBitLengths = new int[multiexp.getNumberOfTerms()];
+        for (int j = 0; j < multiexp.getNumberOfTerms(); j++) {
+            decomposedExponents[j] = decomposeExponent(multiexp.getTerms().get(j).getExponent(), basis);
+            for (BigInteger exponent : decomposedExponents[j])
+                decomposedBitLengths[j] = Math.max(decomposedBitLengths[j], exponent.bitLength());
+        }
+
+        boolean usePippenger = multiexp.getNumberOfTerms() >= PIPPENGER_TERM_THRESHOLD;
+        int[] windowSizes = null;
+        if (!usePippenger) {
+            // the precomputed powers are used for the decomposed exponents, not the original ones
+            windowSizes = multiexp.computeWindowSizes(windowSize, MultiExpAlgorithm.WNAF, decomposedBitLengths);
+            multiexp.ensurePrecomputation(windowSizes, MultiExpAlgorithm.WNAF);
+        }
+
+        Multiexponentiation decomposed = new Multiexponentiation();
+        List<Integer> decomposedWindowSizes = new ArrayList<>();
+        multiexp.getConstantFactor().ifPresent(decomposed::put);
+        for (int j = 0; j < multiexp.getNumberOfTerms(); j++) {
+            MultiExpTerm term = multiexp.getTerms().get(j);
+            BigInteger[] exponents = decomposedExponents[j];
+            GroupElementImpl base = term.getBase();
+            SmallExponentPrecomputation precomputation = usePippenger ? null : term.getPrecomputation();
+            for (int i = 0; i < exponents.length; i++) {
+                if (i > 0) {
+                    base = endomorphism.apply(base);
+                    if (precomputation != null)
+                        precomputation = precomputation.map(endomorphism);
+                }
+                if (exponents[i].signum() != 0) {
+                    decomposed.put(base, exponents[i], precomputation);
+                    if (!usePippenger)
+                        decomposedWindowSizes.add(windowSizes[j]);
+                }
+            }
+        }
+
+        if (decomposed.getTerms().isEmpty())
+            return decomposed.getConstantFactor()
+                    .orElseGet(() -> multiexp.getTerms().get(0).getBase().getStructure().getNeutralElement());
+
+        if (usePippenger)
+            return pippengerMultiExp(decomposed);
+        return interleavingWnafMultiExp(decomposed, decomposedWindowSizes.stream().mapToInt(w -> w).toArray());
+    }
+
+    /**
+     * Computes {@code base^exponent} with {@link #endomorphismMultiExp(Multiexponentiation, UnaryOperator, BigInteger[][], int)}.
+     *
+     * @param base the base
+     * @param exponent the exponent
+     * @param precomputation precomputed powers of {@code base}, may be null
+     * @param endomorphism the endomorphism \(\phi\)
+     * @param basis short basis of the lattice of exponent decompositions of zero
+     * @param windowSize the window size for the wNAF representations
+     * @return {@code base^exponent}
+     */
+    public static GroupElementImpl endomorphismExp(GroupElementImpl base, BigInteger exponent,
+                                                   SmallExponentPrecomputation precomputation,
+                                                   UnaryOperator<GroupElementImpl> endomorphism,
+                                                   BigInteger[][] basis, int windowSize) {
+        Multiexponentiation multiexp = new Multiexponentiation();
+        multiexp.put(base, exponent, precomputation);
+        return endomorphismMultiExp(multiexp, endomorphism, basis, windowSize);
+    }
+
+    /**
+     * Computes a basis of short vectors of the lattice \(\{(a, b) \in \mathbb{Z}^2 : a + b \lambda = 0 \bmod n\}\)
+     * using the extended Euclidean algorithm (see Hankerson, Menezes, Vanstone: "Guide to Elliptic Curve Cryptography",
+     * Algorithm 3.74).
+     * <p>
+     * The vectors have length about \(\sqrt{n}\), so exponents decomposed with this basis
+     * (see {@link #decomposeExponent(BigInteger, BigInteger[][])}) have about half the bit length of \(n\).
+     *
+     * @param n the (prime) group order
+     * @param lambda the eigenvalue of the endomorphism, \(1 < \lambda < n\)
+     * @return the basis vectors as rows
+     */
+    public static BigInteger[][] computeGlvBasis(BigInteger n, BigInteger lambda) {
+        // r_i = s_i n + t_i lambda, i.e. (r_i, -t_i) is in the lattice
+        List<BigInteger> r = new ArrayList<>(Arrays.asList(n, lambda));
+        List<BigInteger> t = new ArrayList<>(Arrays.asList(BigInteger.ZERO, BigInteger.ONE));
+        // l is the largest index with r_l >= sqrt(n)
+        int l = 0;
+        while (r.get(r.size() - 1).signum() != 0 && r.size() < l + 4) {
+            int i = r.size() - 1;
+            BigInteger q = r.get(i - 1).divide(r.get(i));
+            r.add(r.get(i - 1).subtract(q.multiply(r.get(i))));
+            t.add(t.get(i - 1).subtract(q.multiply(t.get(i))));
+            if (r.get(i).pow(2).compareTo(n) >= 0)
+                l = i;
+        }
+        if (r.size() < l + 3)
+            throw new IllegalArgumentException("lambda does not yield a GLV decomposition");
+
+        BigInteger[] v1 = {r.get(l + 1), t.get(l + 1).negate()};
+        BigInteger[] v2 = {r.get(l), t.get(l).negate()};
+        BigInteger[] v2Alternative = {r.get(l + 2), t.get(l + 2).negate()};
+        if (v2Alternative[0].pow(2).add(v2Alternative[1].pow(2)).compareTo(v2[0].pow(2).add(v2[1].pow(2))) < 0)
+            v2 = v2Alternative;
+
+        return new BigInteger[][] {v1, v2};
+    }
+
+    /**
+     * Decomposes an exponent \(k\) into short exponents \(k_0, \dots, k_{d-1}\)
+     * with \(k = \sum_i k_i \lambda^i \bmod n\) (Babai rounding).
+     * <p>
+     * The rows \(v\) of {@code basis} must be linearly independent vectors of the lattice
+     * \(\{v \in \mathbb{Z}^d : \sum_i v_i \lambda^i = 0 \bmod n\}\), so its determinant is a multiple of \(n\)
+     * (usually \(\pm n\), i.e. a basis of the lattice).
+     * Then \((k, 0, \dots, 0)\) is written as a rational combination of the basis vectors,
+     * and the combination with rounded coefficients is subtracted. The entries of the result are bounded by
+     * the sum of the absolute values of the entries of the basis vectors.
+     *
+     * @param exponent the exponent \(k\)
+     * @param basis the lattice basis (as rows)
+     * @return the exponents \(k_0, \dots, k_{d-1}\)
+     */
+    public static BigInteger[] decomposeExponent(BigInteger exponent, BigInteger[][] basis) {
+        int d = basis.length;
+        // (k, 0, ..., 0) = k * (first row of basis^-1), basis^-1 = adj(basis) / det(basis)
+        BigInteger[] adjugateRow = new BigInteger[d];
+        BigInteger determinant = BigInteger.ZERO;
+        for (int j = 0; j < d; j++) {
+            adjugateRow[j] = determinant(minor(basis, j, 0));
+            if (j % 2 == 1)
+                adjugateRow[j] = adjugateRow[j].negate();
+            determinant = determinant.add(basis[j][0].multiply(adjugateRow[j]));
+        }
+
+        BigInteger k = exponent.mod(determinant.abs());
+        BigInteger[] result = new BigInteger[d];
+        result[0] = k;
+        for (int i = 1; i < d; i++)
+            result[i] = BigInteger.ZERO;
+        for (int j = 0; j < d; j++) {
+            BigInteger c = roundedDivide(k.multiply(adjugateRow[j]), determinant);
+            for (int i = 0; i < d; i++)
+                result[i] = result[i].subtract(c.multiply(basis[j][i]));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the determinant of a square matrix (Laplace expansion, intended for small matrices).
+     */
+    private static BigInteger determinant(BigInteger[][] matrix) {
+        if (matrix.length == 0)
+            return BigInteger.ONE;
+        BigInteger result = BigInteger.ZERO;
+        for (int j = 0; j < matrix.length; j++) {
+            BigInteger term = matrix[j][0].multiply(determinant(minor(matrix, j, 0)));
+            result = j % 2 == 0 ? result.add(term) : result.subtract(term);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the matrix without the given row and column.
+     */
+    private static BigInteger[][] minor(BigInteger[][] matrix, int row, int column) {
+        BigInteger[][] result = new BigInteger[matrix.length - 1][];
+        for (int i = 0, k = 0; i < matrix.length; i++) {
+            if (i == row)
+                continue;
+            result[k] = new BigInteger[matrix.length - 1];
+            for (int j = 0, l = 0; j < matrix.length; j++) {
+                if (j != column)
+                    result[k][l++] = matrix[i][j];
+            }
+            k++;
+        }
+        return result;
+    }
+
+    /**
+     * Computes {@code a / b} rounded to the nearest integer.
+     */
+    private static BigInteger roundedDivide(BigInteger a, BigInteger b) {
+        if (b.signum() < 0) {
+            a = a.negate();
+            b = b.negate();
+        }
+        // floor((2a + b) / 2b)
+        BigInteger[] quotientAndRemainder = a.shiftLeft(1).add(b).divideAndRemainder(b.shiftLeft(1));
+        return quotientAndRemainder[1].signum() < 0
+                ? quotientAndRemainder[0].subtract(BigInteger.ONE)
+                : quotientAndRemainder[0];
+    }
+
     /**
      * Tests if the bit at position {@code index} equals {@code 1}, i.e. is set.
      * <p>
@@ -1,5 +1,15 @@
 package org.cryptimeleon.math.structures.groups.exp;
 
 public enum MultiExpAlgorithm {
-    SLIDING, WNAF
+    SLIDING, WNAF, PIPPENGER,
+    /**
+     * Simultaneous sliding window multi-exponentiation with a table of power products, see
+     * {@link ExponentiationAlgorithms#simultaneousSlidingWindowMultiExp(Multiexponentiation, PowerProductPrecomputation)}.
+     * <p>
+     * Power products are only available for bases registered via
+     * {@link org.cryptimeleon.math.structures.groups.lazy.LazyGroup#precomputePowerProducts(int,
+     * org.cryptimeleon.math.structures.groups.GroupElement...)}.
+     * All other multi-exponentiations fall back to interleaved wNAF, i.e. are evaluated like with {@link #WNAF}.
+     */
+    SIMULTANEOUS
 }
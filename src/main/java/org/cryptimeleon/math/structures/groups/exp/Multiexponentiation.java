@@ -4,6 +4,7 @@ import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -36,8 +37,25 @@ public class Multiexponentiation {
      * @param windowSize The window size to ensure support for
      */
     public void ensurePrecomputation(int windowSize, MultiExpAlgorithm multiExpAlgorithm) {
+        int[] windowSizes = new int[getNumberOfTerms()];
+        Arrays.fill(windowSizes, windowSize);
+        ensurePrecomputation(windowSizes, multiExpAlgorithm);
+    }
+
+    /**
+     * Ensures that each term supports its given window size by performing the precomputations that are necessary
+     * to reach the desired window size for the given algorithm.
+     * @param windowSizes The window size to ensure support for, one for each term
+     */
+    public void ensurePrecomputation(int[] windowSizes, MultiExpAlgorithm multiExpAlgorithm) {
+        if (multiExpAlgorithm == MultiExpAlgorithm.PIPPENGER) // works without precomputed powers
+            return;
+        if (multiExpAlgorithm == MultiExpAlgorithm.SIMULTANEOUS) // uses power products instead, see PowerProductCache
+            return;
         if (terms != null) {
-            for (MultiExpTerm term : terms) {
+            for (int i = 0; i < terms.size(); i++) {
+                MultiExpTerm term = terms.get(i);
+                int windowSize = windowSizes[i];
                 switch (multiExpAlgorithm) {
                     case SLIDING:
                         // if inversion is faster than op, we can potentially use existing precomputations of the
@@ -84,35 +102,97 @@ public class Multiexponentiation {
         }
         int minPrecomputedWindowSize = Integer.MAX_VALUE;
         for (MultiExpTerm term : terms) {
-            switch(multiExpAlgorithm) {
-                case SLIDING:
-                    if (term.getExponent().signum() >= 0) {
-                        minPrecomputedWindowSize = Math.min(
-                                minPrecomputedWindowSize,
-                                term.precomputation == null ?
-                                        0 : term.precomputation.getCurrentlySupportedPositiveWindowSize()
-                        );
-                    } else {
-                        minPrecomputedWindowSize = Math.min(
-                                minPrecomputedWindowSize,
-                                term.precomputation == null ?
-                                        0 : term.precomputation.getCurrentlySupportedNegativeWindowSize()
-                        );
-                    }
-                    break;
-                case WNAF:
-                    minPrecomputedWindowSize = Math.min(
-                            minPrecomputedWindowSize,
-                            term.precomputation == null ? 0 : term.precomputation.getCurrentlySupportedWindowSize()
-                    );
-                    break;
-                default:
-                    throw new IllegalArgumentException("Unsupported MultiExpAlgorithm " + multiExpAlgorithm);
-            }
+            minPrecomputedWindowSize = Math.min(
+                    minPrecomputedWindowSize,
+                    computePrecomputedWindowSize(term, multiExpAlgorithm)
+            );
         }
         return minPrecomputedWindowSize;
     }
 
+    /**
+     * Computes a window size for each term for the given algorithm.
+     * <p>
+     * Each term uses at least the window size already offered by its precomputation, so that cached precomputations
+     * are fully used even if other terms have none. Terms are never assigned less than {@code minWindowSize}, and
+     * larger window sizes are chosen if extending the precomputation pays off
+     * (see {@link ExponentiationAlgorithms#computeInterleavingWindowSize(int, int, int, MultiExpAlgorithm)}).
+     * @param minWindowSize The window size to use at least, e.g. for bases without precomputation
+     * @return The window sizes, one for each term
+     */
+    public int[] computeWindowSizes(int minWindowSize, MultiExpAlgorithm multiExpAlgorithm) {
+        int[] exponentBitLengths = new int[getNumberOfTerms()];
+        for (int i = 0; i < exponentBitLengths.length; i++)
+            exponentBitLengths[i] = terms.get(i).getExponent().bitLength();
+        return computeWindowSizes(minWindowSize, multiExpAlgorithm, exponentBitLengths);
+    }
+
+    /**
+     * Like {@link #computeWindowSizes(int, MultiExpAlgorithm)}, but for exponents of the given bit lengths instead of
+     * the exponents of the terms, e.g. if the exponents are decomposed into shorter ones before evaluation.
+     * @param minWindowSize The window size to use at least, e.g. for bases without precomputation
+     * @param exponentBitLengths The bit length of the exponents that the bases will be raised to, one for each term
+     * @return The window sizes, one for each term
+     */
+    public int[] computeWindowSizes(int minWindowSize, MultiExpAlgorithm multiExpAlgorithm, int[] exponentBitLengths) {
+        int[] windowSizes = new int[getNumberOfTerms()];
+        for (int i = 0; i < windowSizes.length; i++) {
+            windowSizes[i] = ExponentiationAlgorithms.computeInterleavingWindowSize(
+                    exponentBitLengths[i],
+                    computePrecomputedWindowSize(terms.get(i), multiExpAlgorithm),
+                    minWindowSize,
+                    multiExpAlgorithm
+            );
+        }
+        return windowSizes;
+    }
+
+    /**
+     * Returns the window size currently offered by the precomputation of the given term as required for the
+     * given algorithm (see {@link #computeMinPrecomputedWindowSize(MultiExpAlgorithm)}).
+     */
+    private static int computePrecomputedWindowSize(MultiExpTerm term, MultiExpAlgorithm multiExpAlgorithm) {
+        if (term.precomputation == null)
+            return 0;
+        switch (multiExpAlgorithm) {
+            case SLIDING:
+                return term.getExponent().signum() >= 0 ?
+                        term.precomputation.getCurrentlySupportedPositiveWindowSize()
+                        : term.precomputation.getCurrentlySupportedNegativeWindowSize();
+            case WNAF:
+                return term.precomputation.getCurrentlySupportedWindowSize();
+            default:
+                throw new IllegalArgumentException("Unsupported MultiExpAlgorithm " + multiExpAlgorithm);
+        }
+    }
+
+    /**
+     * Splits this multiexponentiation into the given number of multiexponentiations with (almost) the same number
+     * of terms, such that the product of their results is the result of this one.
+     * The terms (including their precomputations) are shared with this multiexponentiation and the constant factor
+     * is put into the first one.
+     * @param numberOfChunks The number of multiexponentiations, at most the number of terms (and at least 1)
+     * @return The multiexponentiations
+     */
+    public List<Multiexponentiation> split(int numberOfChunks) {
+        if (numberOfChunks < 1 || numberOfChunks > Math.max(1, getNumberOfTerms()))
+            throw new IllegalArgumentException("Cannot split " + getNumberOfTerms() + " terms into "
+                    + numberOfChunks + " chunks");
+        List<Multiexponentiation> chunks = new ArrayList<>(numberOfChunks);
+        for (int i = 0; i < numberOfChunks; i++) {
+            Multiexponentiation chunk = new Multiexponentiation();
+            // chunk i gets terms [i*n/k, (i+1)*n/k)
+            int from = (int) ((long) i * getNumberOfTerms() / numberOfChunks);
+            int to = (int) ((long) (i + 1) * getNumberOfTerms() / numberOfChunks);
+            for (int j = from; j < to; j++)
+                chunk.put(terms.get(j));
+            chunks.add(chunk);
+        }
+        if (constantFactor != null)
+            chunks.get(0).put(constantFactor);
+        return chunks;
+    }
+
     public List<MultiExpTerm> getTerms() {
         return terms == null ? Collections.emptyList() : Collections.unmodifiableList(terms);
     }
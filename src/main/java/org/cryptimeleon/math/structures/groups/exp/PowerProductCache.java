@@ -0,0 +1,154 @@
+package org.cryptimeleon.math.structures.groups.exp;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches {@link PowerProductPrecomputation}s keyed by their ordered tuple of bases.
+ * <p>
+ * The total number of cached group elements is bounded; if adding a table exceeds the bound,
+ * the least recently used tables are evicted.
+ * This class is thread-safe.
+ */
+public class PowerProductCache {
+    /**
+     * Default bound on the number of group elements stored in all cached tables together.
+     */
+    public static final int DEFAULT_MAX_CACHED_ELEMENTS = 1 << 15;
+
+    private final LinkedHashMap<List<GroupElementImpl>, PowerProductPrecomputation> tables =
+            new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * Number of cached tables per number of bases, used to avoid hashing the bases of multiexponentiations
+     * that cannot match any cached table.
+     */
+    private final Map<Integer, Integer> numberOfTablesPerTupleSize = new HashMap<>();
+    private int maxCachedElements;
+    private int cachedElements = 0;
+
+    public PowerProductCache() {
+        this(DEFAULT_MAX_CACHED_ELEMENTS);
+    }
+
+    /**
+     * @param maxCachedElements bound on the number of group elements stored in all cached tables together
+     */
+    public PowerProductCache(int maxCachedElements) {
+        this.maxCachedElements = maxCachedElements;
+    }
+
+    /**
+     * Returns the cached table for the given bases (in this order), or computes and caches it.
+     * <p>
+     * A table larger than the memory bound is computed and returned, but not cached.
+     *
+     * @param bases the ordered bases
+     * @param windowSize the window size to use if the table has to be computed
+     * @return power products for the given bases
+     */
+    public PowerProductPrecomputation computeIfAbsent(List<GroupElementImpl> bases, int windowSize) {
+        PowerProductPrecomputation result = get(bases);
+        if (result != null)
+            return result;
+
+        result = new PowerProductPrecomputation(bases, windowSize);
+        put(result);
+        return result;
+    }
+
+    /**
+     * Returns the cached table whose bases are exactly the bases of the given multiexponentiation's terms
+     * (in the same order), or null if there is none.
+     */
+    public PowerProductPrecomputation get(Multiexponentiation multiexp) {
+        // avoid collecting and hashing the bases (which may e.g. normalize curve points) if nothing can match
+        if (!hasTablesForNumberOfBases(multiexp.getNumberOfTerms()))
+            return null;
+        List<GroupElementImpl> bases = new ArrayList<>(multiexp.getNumberOfTerms());
+        for (MultiExpTerm term : multiexp.getTerms())
+            bases.add(term.getBase());
+        return get(bases);
+    }
+
+    /**
+     * Returns the cached table for the given bases (in this order), or null if there is none.
+     */
+    public synchronized PowerProductPrecomputation get(List<GroupElementImpl> bases) {
+        if (!numberOfTablesPerTupleSize.containsKey(bases.size()))
+            return null;
+        return tables.get(bases);
+    }
+
+    private synchronized boolean hasTablesForNumberOfBases(int numberOfBases) {
+        return numberOfTablesPerTupleSize.containsKey(numberOfBases);
+    }
+
+    /**
+     * Adds the given table to the cache, evicting the least recently used tables if necessary.
+     * Does nothing if the table alone exceeds the memory bound.
+     */
+    public synchronized void put(PowerProductPrecomputation table) {
+        if (table.getTableSize() > maxCachedElements)
+            return;
+
+        PowerProductPrecomputation previous = tables.put(table.getBases(), table);
+        if (previous != null)
+            remove(previous);
+        add(table);
+        evict();
+    }
+
+    /**
+     * Removes all cached tables.
+     */
+    public synchronized void clear() {
+        tables.clear();
+        numberOfTablesPerTupleSize.clear();
+        cachedElements = 0;
+    }
+
+    public synchronized int getMaxCachedElements() {
+        return maxCachedElements;
+    }
+
+    /**
+     * Sets the bound on the number of group elements stored in all cached tables together,
+     * evicting the least recently used tables if necessary.
+     */
+    public synchronized void setMaxCachedElements(int maxCachedElements) {
+        this.maxCachedElements = maxCachedElements;
+        evict();
+    }
+
+    /**
+     * Returns the number of group elements currently stored in all cached tables together.
+     */
+    public synchronized int getNumberOfCachedElements() {
+        return cachedElements;
+    }
+
+    private void evict() {
+        Iterator<PowerProductPrecomputation> iterator = tables.values().iterator();
+        while (cachedElements > maxCachedElements && iterator.hasNext()) {
+            PowerProductPrecomputation eldest = iterator.next();
+            iterator.remove();
+            remove(eldest);
+        }
+    }
+
+    private void add(PowerProductPrecomputation table) {
+        cachedElements += table.getTableSize();
+        numberOfTablesPerTupleSize.merge(table.getNumberOfBases(), 1, Integer::sum);
+    }
+
+    private void remove(PowerProductPrecomputation table) {
+        cachedElements -= table.getTableSize();
+        numberOfTablesPerTupleSize.computeIfPresent(table.getNumberOfBases(), (k, v) -> v == 1 ? null : v - 1);
+    }
+}
@@ -0,0 +1,137 @@
+package org.cryptimeleon.math.structures.groups.exp;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.GroupImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precomputed power products \(\prod_i b_i^{e_i}\) for all \(0 \leq e_i < 2^w\) of a fixed tuple of bases
+ * \(b_1, \ldots, b_k\), as used by
+ * {@link ExponentiationAlgorithms#simultaneousSlidingWindowMultiExp(Multiexponentiation, PowerProductPrecomputation)}.
+ * <p>
+ * The table contains \(2^{kw}\) group elements, so this is only worthwhile for a small number of bases that are used
+ * together in many multi-exponentiations (e.g. the generators of a Pedersen commitment).
+ */
+public class PowerProductPrecomputation {
+    /**
+     * Default bound on \(kw\), i.e. tables have at most \(2^{12}\) entries unless requested otherwise.
+     * <p>
+     * For two to four bases, this saves around 10% of the group operations compared to interleaving with
+     * {@link SmallExponentPrecomputation}s of window size 8, and around 25% compared to interleaving without any
+     * precomputed powers.
+     */
+    public static final int DEFAULT_TABLE_BITS = 12;
+
+    /**
+     * Upper bound on \(kw\) to prevent accidentally exhausting memory.
+     */
+    public static final int MAX_TABLE_BITS = 20;
+
+    private final List<GroupElementImpl> bases;
+    private final int windowSize;
+    /**
+     * powerProducts.get(e) is the product of bases.get(i)^(e_i), where e_i are the bits
+     * i*windowSize, ..., (i+1)*windowSize-1 of e.
+     */
+    private final List<GroupElementImpl> powerProducts;
+
+    /**
+     * Computes the power products for the given bases with the default window size
+     * (see {@link #computeDefaultWindowSize(int)}).
+     *
+     * @param bases the (ordered) bases
+     */
+    public PowerProductPrecomputation(List<GroupElementImpl> bases) {
+        this(bases, computeDefaultWindowSize(bases.size()));
+    }
+
+    /**
+     * Computes the power products for the given bases.
+     *
+     * @param bases the (ordered) bases
+     * @param windowSize the number of exponent bits per base that are processed at once
+     */
+    public PowerProductPrecomputation(List<GroupElementImpl> bases, int windowSize) {
+        if (bases.isEmpty())
+            throw new IllegalArgumentException("Need at least one base");
+        if (windowSize < 1 || windowSize * bases.size() > MAX_TABLE_BITS)
+            throw new IllegalArgumentException("Window size " + windowSize + " for " + bases.size()
+                    + " bases would exceed the maximum table size of 2^" + MAX_TABLE_BITS);
+        this.bases = Collections.unmodifiableList(new ArrayList<>(bases));
+        this.windowSize = windowSize;
+        this.powerProducts = computePowerProducts(this.bases, windowSize);
+    }
+
+    /**
+     * Returns the largest window size \(w \geq 1\) such that \(kw\) does not exceed {@link #DEFAULT_TABLE_BITS}.
+     *
+     * @param numberOfBases the number of bases \(k\)
+     */
+    public static int computeDefaultWindowSize(int numberOfBases) {
+        return Math.max(1, DEFAULT_TABLE_BITS / numberOfBases);
+    }
+
+    /**
+     * Returns the number of group elements stored in a table for the given parameters.
+     */
+    public static int computeTableSize(int numberOfBases, int windowSize) {
+        return 1 << (numberOfBases * windowSize);
+    }
+
+    /**
+     * Computes all power products for the given bases and window size.
+     * <p>
+     * Each entry costs one group operation, starting with the powers of the first base.
+     */
+    private static List<GroupElementImpl> computePowerProducts(List<GroupElementImpl> bases, int windowSize) {
+        GroupImpl group = bases.get(0).getStructure();
+        ArrayList<GroupElementImpl> powerProducts = new ArrayList<>(computeTableSize(bases.size(), windowSize));
+
+        powerProducts.add(group.getNeutralElement());
+        for (int e = 1; e < (1 << windowSize); e++) {
+            powerProducts.add(powerProducts.get(e - 1).op(bases.get(0)));
+        }
+        for (int b = 1; b < bases.size(); b++) {
+            int shift = windowSize * b;
+            for (int e = 1; e < (1 << windowSize); e++) {
+                int previousEShifted = (e - 1) << shift;
+                for (int i = 0; i < (1 << shift); i++) {
+                    powerProducts.add(powerProducts.get(previousEShifted + i).op(bases.get(b)));
+                }
+            }
+        }
+
+        // make the table entries cheap to use as second operand (e.g. affine curve points)
+        group.batchNormalize(powerProducts);
+        return powerProducts;
+    }
+
+    public List<GroupElementImpl> getBases() {
+        return bases;
+    }
+
+    public int getNumberOfBases() {
+        return bases.size();
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the number of group elements stored in this table.
+     */
+    public int getTableSize() {
+        return powerProducts.size();
+    }
+
+    /**
+     * Returns \(\prod_i b_i^{e_i}\), where \(e_i\) are the bits \(iw, \ldots, (i+1)w-1\) of {@code index}.
+     */
+    public GroupElementImpl get(int index) {
+        return powerProducts.get(index);
+    }
+}
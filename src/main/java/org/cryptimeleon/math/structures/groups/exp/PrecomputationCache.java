@@ -0,0 +1,167 @@
+package org.cryptimeleon.math.structures.groups.exp;
+
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.GroupImpl;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Caches {@link SmallExponentPrecomputation}s of the elements of a {@link GroupImpl}, keyed by the elements' unique
+ * byte representation.
+ * <p>
+ * Precomputations are attached to individual element objects, so an element that is restored again
+ * (e.g. a public key deserialized for every request) would otherwise have to redo its precomputation.
+ * Elements register their precomputation here when {@code precomputePow()} is called on them, and
+ * {@code restoreElement()} of the group wrappers looks up the precomputation of the restored element.
+ * <p>
+ * There is one cache per group wrapper (e.g. {@code LazyGroup}), so cached precomputations are released together
+ * with the group. The total number of precomputed powers in a cache is bounded; if registering or extending
+ * (see {@link SmallExponentPrecomputation#compute(int, boolean)}) a precomputation exceeds the bound,
+ * the least recently used precomputations are evicted.
+ * This class is thread-safe.
+ */
+public class PrecomputationCache {
+    /**
+     * Default bound on the number of precomputed powers stored in all cached precomputations of a group together,
+     * e.g. about a thousand elements with {@code precomputePow(8)}.
+     */
+    public static final int DEFAULT_MAX_CACHED_ELEMENTS = 1 << 18;
+
+    private final LinkedHashMap<ByteBuffer, CacheEntry> precomputations = new LinkedHashMap<>(16, 0.75f, true);
+    private int maxCachedElements = DEFAULT_MAX_CACHED_ELEMENTS;
+    private int cachedElements = 0;
+
+    private static class CacheEntry {
+        final SmallExponentPrecomputation precomputation;
+        /**
+         * Number of precomputed powers when the precomputation was (last) registered or extended.
+         */
+        final int size;
+
+        CacheEntry(SmallExponentPrecomputation precomputation, int size) {
+            this.precomputation = precomputation;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Returns the cached precomputation for an element equal to the given element, or null if there is none.
+     */
+    public SmallExponentPrecomputation get(GroupElementImpl element) {
+        synchronized (this) {
+            if (precomputations.isEmpty())
+                return null;
+        }
+        ByteBuffer key = computeKey(element);
+        if (key == null)
+            return null;
+        synchronized (this) {
+            CacheEntry entry = precomputations.get(key);
+            return entry == null ? null : entry.precomputation;
+        }
+    }
+
+    /**
+     * Adds the given precomputation to the cache (or updates its size), evicting the least recently used
+     * precomputations if necessary.
+     * Does nothing if the precomputation alone exceeds the memory bound, or if its base has no unique byte
+     * representation.
+     * <p>
+     * If the precomputation is extended later on, its new size is accounted for automatically.
+     */
+    public void put(SmallExponentPrecomputation precomputation) {
+        ByteBuffer key = computeKey(precomputation.base);
+        if (key == null)
+            return;
+        precomputation.cache = this;
+        int size = precomputation.getNumberOfPrecomputedPowers();
+        synchronized (this) {
+            CacheEntry previous = precomputations.remove(key);
+            if (previous != null)
+                cachedElements -= previous.size;
+            if (size > maxCachedElements)
+                return;
+            precomputations.put(key, new CacheEntry(precomputation, size));
+            cachedElements += size;
+            evict();
+        }
+    }
+
+    /**
+     * Updates the size of the given precomputation after it has been extended, evicting the least recently used
+     * precomputations if necessary (possibly including the given one).
+     * Does nothing if the precomputation is not (or no longer) cached.
+     */
+    void updateSize(SmallExponentPrecomputation precomputation) {
+        ByteBuffer key = computeKey(precomputation.base);
+        if (key == null)
+            return;
+        int size = precomputation.getNumberOfPrecomputedPowers();
+        synchronized (this) {
+            CacheEntry previous = precomputations.get(key);
+            if (previous == null || previous.precomputation != precomputation)
+                return;
+            precomputations.put(key, new CacheEntry(precomputation, size));
+            cachedElements += size - previous.size;
+            evict();
+        }
+    }
+
+    /**
+     * Removes all cached precomputations.
+     */
+    public synchronized void clear() {
+        precomputations.clear();
+        cachedElements = 0;
+    }
+
+    public synchronized int getMaxCachedElements() {
+        return maxCachedElements;
+    }
+
+    /**
+     * Sets the bound on the number of precomputed powers stored in all cached precomputations together,
+     * evicting the least recently used precomputations if necessary.
+     * Memory consumption is roughly this bound times the size of a group element.
+     */
+    public synchronized void setMaxCachedElements(int maxCachedElements) {
+        this.maxCachedElements = maxCachedElements;
+        evict();
+    }
+
+    /**
+     * Returns the number of precomputed powers currently stored in all cached precomputations together.
+     */
+    public synchronized int getNumberOfCachedElements() {
+        return cachedElements;
+    }
+
+    /**
+     * Returns the number of cached precomputations.
+     */
+    public synchronized int getNumberOfCachedPrecomputations() {
+        return precomputations.size();
+    }
+
+    private void evict() {
+        Iterator<CacheEntry> iterator = precomputations.values().iterator();
+        while (cachedElements > maxCachedElements && iterator.hasNext()) {
+            CacheEntry eldest = iterator.next();
+            iterator.remove();
+            cachedElements -= eldest.size;
+        }
+    }
+
+    /**
+     * Returns the unique byte representation of the given element, or null if the group does not support it.
+     */
+    private static ByteBuffer computeKey(GroupElementImpl element) {
+        try {
+            return ByteBuffer.wrap(element.getUniqueByteRepresentation());
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
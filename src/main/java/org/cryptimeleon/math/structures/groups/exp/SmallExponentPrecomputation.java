@@ -3,6 +3,8 @@ package org.cryptimeleon.math.structures.groups.exp;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.function.UnaryOperator;
 
 public class SmallExponentPrecomputation {
     GroupElementImpl base;
@@ -10,6 +12,18 @@ public class SmallExponentPrecomputation {
     ArrayList<GroupElementImpl> oddNegativePowers = null; //oddNegativePowers.get(i) == base^(-2*i-1)
     int windowSize = 0;
     int negativeWindowSize = 0;
+    /**
+     * For precomputations obtained by {@link #map(UnaryOperator)}: the precomputation and homomorphism whose
+     * image this is. Entries of oddPowers and oddNegativePowers that are null have not been mapped yet;
+     * they are mapped while holding the lock on this precomputation. Both are never reset, since readers that
+     * have seen a null entry rely on them.
+     */
+    SmallExponentPrecomputation source = null;
+    UnaryOperator<GroupElementImpl> homomorphism = null;
+    /**
+     * The cache this precomputation has been registered in, if any; notified when the precomputation grows.
+     */
+    volatile PrecomputationCache cache = null;
 
     public SmallExponentPrecomputation(GroupElementImpl base) {
         this.base = base;
@@ -35,6 +49,14 @@ public class SmallExponentPrecomputation {
         return Math.max(windowSize, negativeWindowSize);
     }
 
+    /**
+     * Returns the number of group elements stored in this precomputation.
+     */
+    public synchronized int getNumberOfPrecomputedPowers() {
+        return (oddPowers == null ? 0 : oddPowers.size())
+                + (oddNegativePowers == null ? 0 : oddNegativePowers.size());
+    }
+
     public GroupElementImpl get(int exponent) {
         if (exponent == 0)
             return base.getStructure().getNeutralElement();
@@ -51,7 +73,7 @@ public class SmallExponentPrecomputation {
             return getOddNegativePower(-exponent).inv();
         }
         int index = (exponent-1)/2;
-        return oddPowers.get(index);
+        return getOddPowerAt(index);
     }
 
     public GroupElementImpl getOddNegativePower(int exponent) {
@@ -59,7 +81,76 @@ public class SmallExponentPrecomputation {
             return getOddPositivePower(-exponent).inv();
         }
         int index = (-exponent-1)/2;
-        return oddNegativePowers.get(index);
+        return getOddNegativePowerAt(index);
+    }
+
+    private GroupElementImpl getOddPowerAt(int index) {
+        GroupElementImpl power = oddPowers.get(index);
+        if (power == null) { // not mapped yet
+            synchronized (this) {
+                power = oddPowers.get(index);
+                if (power == null) {
+                    power = homomorphism.apply(source.getOddPowerAt(index));
+                    oddPowers.set(index, power);
+                }
+            }
+        }
+        return power;
+    }
+
+    private GroupElementImpl getOddNegativePowerAt(int index) {
+        GroupElementImpl power = oddNegativePowers.get(index);
+        if (power == null) { // not mapped yet
+            synchronized (this) {
+                power = oddNegativePowers.get(index);
+                if (power == null) {
+                    power = homomorphism.apply(source.getOddNegativePowerAt(index));
+                    oddNegativePowers.set(index, power);
+                }
+            }
+        }
+        return power;
+    }
+
+    /**
+     * Maps all entries that have not been mapped yet (see {@link #map(UnaryOperator)}).
+     * Must be called while holding the lock on this precomputation.
+     */
+    private void mapRemainingPowers() {
+        if (source == null)
+            return;
+        if (oddPowers != null)
+            for (int i = 0; i < oddPowers.size(); i++)
+                getOddPowerAt(i);
+        if (oddNegativePowers != null)
+            for (int i = 0; i < oddNegativePowers.size(); i++)
+                getOddNegativePowerAt(i);
+    }
+
+    /**
+     * Returns a precomputation for the image of the base under the given homomorphism.
+     * <p>
+     * Instead of computing the powers of the image anew, the homomorphism is applied to the already
+     * precomputed powers. This is worthwhile for cheap endomorphisms, e.g. those used for GLV exponentiation.
+     * The powers are mapped when they are first accessed, so only those that are actually used are mapped
+     * (e.g. only a few entries of a large table when exponentiating with a short exponent).
+     *
+     * @param homomorphism a group homomorphism from the group of the base into itself
+     * @return precomputation for {@code homomorphism.apply(base)} supporting the same window sizes as this one
+     */
+    public SmallExponentPrecomputation map(UnaryOperator<GroupElementImpl> homomorphism) {
+        SmallExponentPrecomputation result = new SmallExponentPrecomputation(homomorphism.apply(base));
+        synchronized (this) {
+            if (oddPowers != null)
+                result.oddPowers = new ArrayList<>(Collections.nCopies(oddPowers.size(), null));
+            if (oddNegativePowers != null)
+                result.oddNegativePowers = new ArrayList<>(Collections.nCopies(oddNegativePowers.size(), null));
+            result.windowSize = windowSize;
+            result.negativeWindowSize = negativeWindowSize;
+            result.source = this;
+            result.homomorphism = homomorphism;
+        }
+        return result;
     }
 
     public void compute(int windowSize, boolean invertExisting) {
@@ -69,6 +160,7 @@ public class SmallExponentPrecomputation {
 
             synchronized (this) {
                 if (this.windowSize < windowSize) {
+                    mapRemainingPowers();
                     if (oddPowers == null) {
                         oddPowers = new ArrayList<>(numElements);
                         oddPowers.add(base);
@@ -88,9 +180,13 @@ public class SmallExponentPrecomputation {
                         oddPowers.add(i, currentSmallPower);
                     }
 
+                    // make the table entries cheap to use as second operand (e.g. affine curve points)
+                    base.getStructure().batchNormalize(oddPowers);
+
                     this.windowSize = windowSize;
                 }
             }
+            notifyCache();
         }
     }
 
@@ -101,6 +197,7 @@ public class SmallExponentPrecomputation {
 
             synchronized (this) {
                 if (this.negativeWindowSize < windowSize) {
+                    mapRemainingPowers();
                     GroupElementImpl invBase = base.inv();
                     if (oddNegativePowers == null) {
                         oddNegativePowers = new ArrayList<>(numElements);
@@ -121,9 +218,23 @@ public class SmallExponentPrecomputation {
                         oddNegativePowers.add(i, currentSmallPower);
                     }
 
+                    // make the table entries cheap to use as second operand (e.g. affine curve points)
+                    base.getStructure().batchNormalize(oddNegativePowers);
+
                     this.negativeWindowSize = windowSize;
                 }
             }
+            notifyCache();
         }
     }
+
+    /**
+     * Lets the cache this precomputation is registered in account for its new size.
+     * Called outside of the lock on this precomputation, so that it is never held together with the cache's lock.
+     */
+    private void notifyCache() {
+        PrecomputationCache cache = this.cache;
+        if (cache != null)
+            cache.updateSize(this);
+    }
 }
@@ -16,6 +16,7 @@ public class ExpLazyGroupElement extends LazyGroupElement {
         super(group);
         this.base = base;
         this.exponent = exponent;
+        base.addConsumer();
     }
 
     @Override
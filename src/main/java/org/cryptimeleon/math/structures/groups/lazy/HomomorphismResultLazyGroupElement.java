@@ -11,6 +11,7 @@ public class HomomorphismResultLazyGroupElement extends LazyGroupElement {
         super(homomorphism.targetGroup);
         this.preimage = preimage;
         this.homomorphism = homomorphism;
+        preimage.addConsumer();
     }
 
     @Override
@@ -9,6 +9,7 @@ public class InvLazyGroupElement extends LazyGroupElement {
     public InvLazyGroupElement(LazyGroup group, LazyGroupElement base) {
         super(group);
         this.base = base;
+        base.addConsumer();
     }
 
     @Override
@@ -2,11 +2,14 @@ package org.cryptimeleon.math.structures.groups.lazy;
 
 import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * A {@link BilinearMapImpl} wrapper implementing deferred (lazy) evaluation.
@@ -41,6 +44,12 @@ public class LazyBilinearMap implements BilinearMap {
         return gt;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The exponent is usually applied to the argument from the cheaper source group
+     * (see {@link PairingResultLazyGroupElement#pow(BigInteger)}).
+     */
     @Override
     public GroupElement apply(GroupElement g1, GroupElement g2, BigInteger exponent) {
         return new PairingResultLazyGroupElement(gt, this, g1, g2).pow(exponent);
@@ -51,6 +60,27 @@ public class LazyBilinearMap implements BilinearMap {
         return new PairingResultLazyGroupElement(gt, this, g1, g2);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The result is a single lazy element which is computed via {@link BilinearMapImpl#applyProduct(List, List)}.
+     */
+    @Override
+    public GroupElement innerProduct(GroupElementVector lhs, GroupElementVector rhs) {
+        return new PairingResultLazyGroupElement(gt, this, lhs.toList(), rhs.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This computes the concrete value of {@code g}.
+     */
+    @Override
+    public GroupElement precomputePairing(GroupElement g) {
+        impl.precomputePairing(((LazyGroupElement) g).getConcreteValue());
+        return g;
+    }
+
     @Override
     public boolean isSymmetric() {
         return impl.isSymmetric();
@@ -77,6 +107,41 @@ public class LazyBilinearMap implements BilinearMap {
         return Objects.hash(impl);
     }
 
+    /**
+     * Returns true if exponentiations in G1 are estimated to be cheaper than in G2.
+     */
+    boolean isG1CheaperThanG2() {
+        return estimateExponentiationCost(g1) <= estimateExponentiationCost(g2);
+    }
+
+    /**
+     * Returns true if raising a product of {@code numberOfPairings} pairings to some power is estimated to be
+     * cheaper by exponentiating one argument of each pairing (in the cheaper source group)
+     * than by exponentiating the result in GT.
+     * <p>
+     * The pairings themselves are not part of the estimate, since exponents are only moved into the arguments of
+     * pairing results that are not used elsewhere (see {@link PairingResultLazyGroupElement}).
+     */
+    boolean isExponentiationInSourceGroupCheaper(int numberOfPairings) {
+        double sourceGroupCost = Math.min(estimateExponentiationCost(g1), estimateExponentiationCost(g2));
+        return numberOfPairings * sourceGroupCost < estimateExponentiationCost(gt);
+    }
+
+    /**
+     * Roughly estimates the cost of an exponentiation in the given group (in arbitrary units).
+     * <p>
+     * The estimate is the bit length of the group order (i.e. the number of squarings)
+     * times the byte length of elements (as a proxy for the cost of a group operation).
+     * {@link org.cryptimeleon.math.structures.groups.GroupImpl#estimateCostInvPerOp()} is not used
+     * since it only relates costs within a single group.
+     */
+    private static double estimateExponentiationCost(LazyGroup group) {
+        Optional<Integer> byteLength = group.impl.getUniqueByteLength();
+        if (!byteLength.isPresent())
+            return Double.POSITIVE_INFINITY;
+        return (double) group.size.bitLength() * byteLength.get();
+    }
+
     public BilinearMapImpl getImpl() {
         return impl;
     }
@@ -12,10 +12,12 @@ import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * A {@link GroupImpl} wrapper implementing deferred (lazy) evaluation for abelian groups with known finite order.
@@ -26,7 +28,7 @@ import java.util.concurrent.ForkJoinPool;
  * For more information, see the <a href="https://upbcuk.github.io/docs/lazy-eval.html">documentation</a>.
  */
 public class LazyGroup implements Group {
-    static final ExecutorService executor = ForkJoinPool.commonPool();  //using the commonPool because it automatically terminates with the JVM.
+    static final ForkJoinPool executor = ForkJoinPool.commonPool();  //using the commonPool because it automatically terminates with the JVM.
     // Alternative: Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()); //but in that case, you'd have to handle shutdown gracefully yourself, probably via Runtime.getRuntime().addShutdownHook
     // I'm guessing the newFixedThreadPool may perform better
     // than the workStealingPool because this generally observes the order of tasks thrown at it (which generally the user will choose "correctly", i.e. smaller
@@ -37,6 +39,26 @@ public class LazyGroup implements Group {
 
     int exponentiationWindowSize = 4;
     int precomputationWindowSize = 8;
+    /**
+     * Number of terms from which on multi-exponentiations are evaluated with Pippenger's algorithm
+     * (unless the group implements its own multi-exponentiation).
+     */
+    int pippengerThreshold = ExponentiationAlgorithms.PIPPENGER_TERM_THRESHOLD;
+    /**
+     * Number of terms from which on multi-exponentiations are split into chunks that are evaluated in parallel
+     * (see {@link #setParallelMultiExpThreshold(int)}). Disabled by default.
+     */
+    int parallelMultiExpThreshold = Integer.MAX_VALUE;
+    /**
+     * Power products for tuples of bases that are used together in many multi-exponentiations
+     * (see {@link #precomputePowerProducts(GroupElement...)}).
+     */
+    final PowerProductCache powerProductCache = new PowerProductCache();
+    /**
+     * Precomputations of elements of this group, reused for equal elements restored via
+     * {@link #restoreElement(Representation)}.
+     */
+    final PrecomputationCache precomputationCache = new PrecomputationCache();
     @Represented
     GroupImpl impl;
     BigInteger size;
@@ -63,8 +85,8 @@ public class LazyGroup implements Group {
             throw new IllegalArgumentException("Need commutative cyclic group of finite known order.");
         }
         generator = wrap(impl.getGenerator());
-        isPrimeOrder = size.isProbablePrime(100);
-        zn = isPrimeOrder ? new Zp(size) : new Zn(size);
+        isPrimeOrder = Zn.isProbablePrime(size);
+        zn = isPrimeOrder ? Zp.of(size) : Zn.of(size);
         if (impl.estimateCostInvPerOp() >= ExponentiationAlgorithms.WNAF_INVERSION_COST_THRESHOLD) {
             selectedMultiExpAlgorithm = MultiExpAlgorithm.WNAF;
             selectedExpAlgorithm = ExpAlgorithm.WNAF;
@@ -115,9 +137,20 @@ public class LazyGroup implements Group {
         return new RandomNonNeutralGroupElement(this);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If a precomputation for an equal element has been registered in the {@link PrecomputationCache} of this group
+     * (via {@link GroupElement#precomputePow()}), the restored element uses it.
+     */
     @Override
     public GroupElement restoreElement(Representation repr) {
-        return wrap(impl.restoreElement(repr));
+        GroupElementImpl element = impl.restoreElement(repr);
+        LazyGroupElement result = wrap(element);
+        SmallExponentPrecomputation precomputation = precomputationCache.get(element);
+        if (precomputation != null)
+            result.setPrecomputedSmallExponents(precomputation);
+        return result;
     }
 
     @Override
@@ -166,31 +199,120 @@ public class LazyGroup implements Group {
     public GroupElementImpl compute(Multiexponentiation multiexp) {
         if (multiexp.isEmpty())
             return impl.getNeutralElement();
+        if (multiexp.getNumberOfTerms() > 1 && multiexp.getNumberOfTerms() >= parallelMultiExpThreshold)
+            return computeInParallel(multiexp);
+        return computeSequentially(multiexp);
+    }
+
+    /**
+     * Splits the multi-exponentiation into one chunk per available thread, evaluates the chunks as
+     * {@link ForkJoinTask}s and combines their results.
+     */
+    private GroupElementImpl computeInParallel(Multiexponentiation multiexp) {
+        // the calling thread evaluates the first chunk itself
+        int numberOfChunks = Math.min(executor.getParallelism() + 1, multiexp.getNumberOfTerms());
+        List<Multiexponentiation> chunks = multiexp.split(numberOfChunks);
+        List<ForkJoinTask<GroupElementImpl>> tasks = new ArrayList<>(numberOfChunks - 1);
+        for (Multiexponentiation chunk : chunks.subList(1, numberOfChunks))
+            tasks.add(executor.submit(() -> computeSequentially(chunk)));
+
+        GroupElementImpl result = computeSequentially(chunks.get(0));
+        for (ForkJoinTask<GroupElementImpl> task : tasks)
+            result = result.op(task.join());
+        return result;
+    }
+
+    private GroupElementImpl computeSequentially(Multiexponentiation multiexp) {
         if (impl.implementsOwnMultiExp())
             return impl.multiexp(multiexp);
         // use generic if group does not implement own algorithm
+        PowerProductPrecomputation powerProducts = powerProductCache.get(multiexp);
+        if (powerProducts != null)
+            return ExponentiationAlgorithms.simultaneousSlidingWindowMultiExp(multiexp, powerProducts);
+        if (multiexp.getNumberOfTerms() >= pippengerThreshold)
+            return ExponentiationAlgorithms.pippengerMultiExp(multiexp);
         switch (selectedMultiExpAlgorithm) {
             case SLIDING:
                 return ExponentiationAlgorithms.interleavingSlidingWindowMultiExp(
                         multiexp,
-                        Math.max(
-                                exponentiationWindowSize,
-                                multiexp.computeMinPrecomputedWindowSize(MultiExpAlgorithm.SLIDING)
-                        )
+                        multiexp.computeWindowSizes(exponentiationWindowSize, MultiExpAlgorithm.SLIDING)
                 );
             case WNAF:
                 return ExponentiationAlgorithms.interleavingWnafMultiExp(
                         multiexp,
-                        Math.max(
-                                exponentiationWindowSize,
-                                multiexp.computeMinPrecomputedWindowSize(MultiExpAlgorithm.WNAF)
-                        )
+                        multiexp.computeWindowSizes(exponentiationWindowSize, MultiExpAlgorithm.WNAF)
+                );
+            case PIPPENGER:
+                return ExponentiationAlgorithms.pippengerMultiExp(multiexp);
+            case SIMULTANEOUS:
+                // power products are only used for bases registered via precomputePowerProducts (see above),
+                // since computing a table on the fly is much more expensive than the multiexponentiation itself
+                return ExponentiationAlgorithms.interleavingWnafMultiExp(
+                        multiexp,
+                        multiexp.computeWindowSizes(exponentiationWindowSize, MultiExpAlgorithm.WNAF)
                 );
             default:
                 throw new IllegalStateException("Unsupported MultiExpAlgorithm " + selectedMultiExpAlgorithm);
         }
-        //TODO some multiexponentiation algorithms may be able to handle different windows sizes for each base.
-        // Generally, using the minimum for window size is "safe", but not necessarily clever performance-wise. Example: \prod h_i^x_i * (g^a)^b. The latter has no precomputation at all (even if g may have it), so ...
+    }
+
+    /**
+     * Advises the group to prepare for later multi-exponentiations \(\prod_i b_i^{x_i}\) with exactly the given bases
+     * in the given order, e.g. {@code bases[0].pow(x).op(bases[1].pow(y))}.
+     * <p>
+     * This computes and caches a table of power products (see {@link PowerProductPrecomputation}).
+     * Multi-exponentiations whose terms have exactly these bases in this order (and no further terms)
+     * are then evaluated with
+     * {@link ExponentiationAlgorithms#simultaneousSlidingWindowMultiExp(Multiexponentiation, PowerProductPrecomputation)},
+     * unless the underlying group implements its own multi-exponentiation.
+     * This is worthwhile for small sets of bases that are used together very often, e.g. the generators of a
+     * Pedersen commitment.
+     * <p>
+     * The memory consumed by all cached tables together is bounded
+     * (see {@link #setMaxCachedPowerProducts(int)}); least recently used tables are evicted.
+     *
+     * @param windowSize the number of exponent bits per base that are processed at once.
+     *                   The table takes up space of \(2^{kw}\) group elements for \(k\) bases
+     * @param bases the bases, which must be elements of this group
+     */
+    public void precomputePowerProducts(int windowSize, GroupElement... bases) {
+        List<GroupElementImpl> impls = new ArrayList<>(bases.length);
+        for (GroupElement base : bases) {
+            if (!this.equals(base.getStructure()))
+                throw new IllegalArgumentException("Base " + base + " is not an element of " + this);
+            impls.add(((LazyGroupElement) base).getConcreteValue());
+        }
+        powerProductCache.computeIfAbsent(impls, windowSize);
+    }
+
+    /**
+     * Like {@link #precomputePowerProducts(int, GroupElement...)}, with a reasonable default window size
+     * (see {@link PowerProductPrecomputation#computeDefaultWindowSize(int)}).
+     *
+     * @param bases the bases, which must be elements of this group
+     */
+    public void precomputePowerProducts(GroupElement... bases) {
+        precomputePowerProducts(PowerProductPrecomputation.computeDefaultWindowSize(bases.length), bases);
+    }
+
+    /**
+     * Returns the cache of precomputations of elements of this group (see {@link GroupElement#precomputePow()}).
+     */
+    public PrecomputationCache getPrecomputationCache() {
+        return precomputationCache;
+    }
+
+    public int getMaxCachedPowerProducts() {
+        return powerProductCache.getMaxCachedElements();
+    }
+
+    /**
+     * Sets the bound on the number of group elements in all cached power product tables together.
+     *
+     * @param maxCachedPowerProducts the number of group elements, {@code 0} to disable caching
+     */
+    public void setMaxCachedPowerProducts(int maxCachedPowerProducts) {
+        powerProductCache.setMaxCachedElements(maxCachedPowerProducts);
     }
 
     public GroupElementImpl compute(GroupElementImpl base, BigInteger exponent, SmallExponentPrecomputation precomputation) {
@@ -225,10 +347,59 @@ public class LazyGroup implements Group {
         this.precomputationWindowSize = precomputationWindowSize;
     }
 
+    public int getPippengerThreshold() {
+        return pippengerThreshold;
+    }
+
+    /**
+     * Sets the number of terms from which on multi-exponentiations are evaluated with Pippenger's algorithm
+     * (see {@link ExponentiationAlgorithms#pippengerMultiExp(Multiexponentiation)}) instead of the selected
+     * multi-exponentiation algorithm.
+     *
+     * @param pippengerThreshold the number of terms, {@code Integer.MAX_VALUE} to disable the switch
+     */
+    public void setPippengerThreshold(int pippengerThreshold) {
+        this.pippengerThreshold = pippengerThreshold;
+    }
+
+    public int getParallelMultiExpThreshold() {
+        return parallelMultiExpThreshold;
+    }
+
+    /**
+     * Sets the number of terms from which on multi-exponentiations are evaluated in parallel.
+     * <p>
+     * The terms are split into one chunk per thread of the common {@link ForkJoinPool}
+     * (and one for the calling thread), the chunks are evaluated in parallel and the results are multiplied.
+     * This requires the underlying {@link GroupImpl} to be thread-safe, which is not the case for the counting
+     * groups. Since splitting makes each chunk's multi-exponentiation smaller and hence less efficient overall,
+     * this only pays off for multi-exponentiations with many terms, e.g. several dozen.
+     *
+     * @param parallelMultiExpThreshold the number of terms (at least 1), {@code Integer.MAX_VALUE} (the default) to
+     *                                  disable parallel evaluation
+     * @throws IllegalArgumentException if the threshold is smaller than 1
+     */
+    public void setParallelMultiExpThreshold(int parallelMultiExpThreshold) {
+        if (parallelMultiExpThreshold < 1)
+            throw new IllegalArgumentException("Threshold for parallel multiexponentiation must be at least 1, got "
+                    + parallelMultiExpThreshold);
+        this.parallelMultiExpThreshold = parallelMultiExpThreshold;
+    }
+
     public MultiExpAlgorithm getSelectedMultiExpAlgorithm() {
         return selectedMultiExpAlgorithm;
     }
 
+    /**
+     * Sets the algorithm used for multi-exponentiations, unless the underlying group implements its own
+     * or the number of terms reaches the {@linkplain #setPippengerThreshold(int) Pippenger threshold}.
+     * <p>
+     * Note that {@link MultiExpAlgorithm#SIMULTANEOUS} falls back to interleaved wNAF unless the bases of the
+     * multi-exponentiation have been registered via {@link #precomputePowerProducts(int, GroupElement...)}
+     * (registered bases use their power products with every selected algorithm).
+     *
+     * @param selectedMultiExpAlgorithm the algorithm to use
+     */
     public void setSelectedMultiExpAlgorithm(MultiExpAlgorithm selectedMultiExpAlgorithm) {
         this.selectedMultiExpAlgorithm = selectedMultiExpAlgorithm;
     }
@@ -7,6 +7,7 @@ import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.PrecomputationCache;
 import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
 
 import java.math.BigInteger;
@@ -52,6 +53,15 @@ public abstract class LazyGroupElement implements GroupElement {
         setConcreteValue(concreteValue);
     }
 
+    /**
+     * Called by lazy elements whose value is computed from the value of this element (e.g. {@code this.op(x)})
+     * when they are created, once per use of this element.
+     * Does nothing by default.
+     */
+    protected void addConsumer() {
+
+    }
+
     @Override
     public Group getStructure() {
         return group;
@@ -84,6 +94,12 @@ public abstract class LazyGroupElement implements GroupElement {
         return precomputePow(group.precomputationWindowSize);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The precomputation is registered in the {@link PrecomputationCache} of the group, so that it can be reused
+     * if an equal element is restored via {@link LazyGroup#restoreElement(Representation)}.
+     */
     @Override
     public GroupElement precomputePow(int windowSize) {
         if (windowSize > 0) {
@@ -93,6 +109,7 @@ public abstract class LazyGroupElement implements GroupElement {
             getPrecomputedSmallExponents().computeNegativePowers(
                     windowSize, getConcreteValue().getStructure().estimateCostInvPerOp() > 1
             );
+            group.precomputationCache.put(getPrecomputedSmallExponents());
         }
         return this;
     }
@@ -184,6 +201,13 @@ public abstract class LazyGroupElement implements GroupElement {
         return precomputedSmallExponents;
     }
 
+    /**
+     * Uses the given (e.g. cached) precomputation, whose base must equal the value of this element.
+     */
+    void setPrecomputedSmallExponents(SmallExponentPrecomputation precomputedSmallExponents) {
+        this.precomputedSmallExponents = precomputedSmallExponents;
+    }
+
     @Override
     public boolean isComputed() {
         return computationState == ComputationState.DONE;
@@ -19,6 +19,8 @@ public class OpLazyGroupElement extends LazyGroupElement {
         super(group);
         this.lhs = lhs;
         this.rhs = rhs;
+        lhs.addConsumer();
+        rhs.addConsumer();
     }
 
     @Override
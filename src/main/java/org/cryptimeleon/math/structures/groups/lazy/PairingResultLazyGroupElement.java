@@ -1,24 +1,197 @@
 package org.cryptimeleon.math.structures.groups.lazy;
 
+import org.cryptimeleon.math.structures.Element;
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Represents the result of a pairing evaluation.
+ * Represents the result of a pairing evaluation or of a product of pairing evaluations
+ * \(\prod_i e(\text{lhs}_i, \text{rhs}_i)\).
+ * <p>
+ * As long as the concrete value is not needed otherwise, {@link #op(Element)}, {@link #inv()} and
+ * {@link #pow(BigInteger)} are applied to the pairing arguments instead of the result, i.e.
+ * products of (exponentiated) pairings are collected into a single product of pairings which shares
+ * the Miller loop squarings and the final exponentiation (see
+ * {@link org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl#applyProduct(List, List)}).
+ * <p>
+ * This only pays off if the fused pairings are not needed anywhere else. For example, for {@code t = e(g,h)},
+ * computing {@code t.pow(x)} and {@code t.pow(y)} as \(e(g^x,h)\) and \(e(g^y,h)\) would evaluate the pairing twice.
+ * Hence an element obtained by fusion is computed from the concrete values of the elements it was obtained from
+ * (as without fusion) if any of them has been used more than once.
  */
 public class PairingResultLazyGroupElement extends LazyGroupElement {
-    protected LazyGroupElement lhs, rhs;
+    protected List<LazyGroupElement> lhs, rhs;
     protected LazyBilinearMap bilMap;
+    /**
+     * Number of uses of this element by other lazy elements (see {@link #addConsumer()}), whether fused or not.
+     */
+    private final AtomicInteger numberOfConsumers = new AtomicInteger();
+    /**
+     * If this element was obtained by fusion, the pairing results it was obtained from, and an element
+     * computing the same value from their concrete values. Otherwise empty and null.
+     */
+    private final List<PairingResultLazyGroupElement> fusedFrom;
+    private final LazyGroupElement unfused;
 
     public PairingResultLazyGroupElement(LazyGroup gt, LazyBilinearMap bilMap, GroupElement lhs, GroupElement rhs) {
+        this(gt, bilMap, Collections.singletonList(lhs), Collections.singletonList(rhs));
+    }
+
+    /**
+     * Represents the product of pairings \(\prod_i e(\text{lhs}_i, \text{rhs}_i)\).
+     *
+     * @param lhs left hand side arguments for the pairing function
+     * @param rhs right hand side arguments for the pairing function, same number as {@code lhs}
+     */
+    public PairingResultLazyGroupElement(LazyGroup gt, LazyBilinearMap bilMap, List<? extends GroupElement> lhs,
+                                         List<? extends GroupElement> rhs) {
+        super(gt);
+        if (lhs.size() != rhs.size())
+            throw new IllegalArgumentException("Number of left hand side and right hand side arguments differ");
+        this.lhs = new ArrayList<>();
+        this.rhs = new ArrayList<>();
+        for (int i = 0; i < lhs.size(); i++) {
+            this.lhs.add((LazyGroupElement) lhs.get(i));
+            this.rhs.add((LazyGroupElement) rhs.get(i));
+        }
+        this.bilMap = bilMap;
+        this.fusedFrom = Collections.emptyList();
+        this.unfused = null;
+    }
+
+    /**
+     * Represents the fusion of an operation into the pairing arguments of {@code fusedFrom}.
+     *
+     * @param unfused the result of the operation applied to the concrete values of {@code fusedFrom}
+     */
+    private PairingResultLazyGroupElement(LazyGroup gt, LazyBilinearMap bilMap, List<LazyGroupElement> lhs,
+                                          List<LazyGroupElement> rhs, LazyGroupElement unfused,
+                                          List<PairingResultLazyGroupElement> fusedFrom) {
         super(gt);
-        this.lhs = (LazyGroupElement) lhs;
-        this.rhs = (LazyGroupElement) rhs;
+        this.lhs = lhs;
+        this.rhs = rhs;
         this.bilMap = bilMap;
+        this.fusedFrom = fusedFrom;
+        this.unfused = unfused;
+    }
+
+    /**
+     * Returns true if operations on this element should be applied to the pairing arguments,
+     * i.e. if the concrete value is not known and has not been requested.
+     */
+    protected boolean isFusable() {
+        return !isDefinitelySupposedToGetConcreteValue() && numberOfConsumers.get() <= 1;
+    }
+
+    /**
+     * Returns true if the concrete value of this element is needed other than as part of a single fused product,
+     * i.e. if fusing it would compute its pairings more than once.
+     */
+    private boolean isShared() {
+        return isDefinitelySupposedToGetConcreteValue() || numberOfConsumers.get() > 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If {@code e} is a product of pairings of the same bilinear map, the result is the combined product of pairings.
+     */
+    @Override
+    public GroupElement op(Element e) throws IllegalArgumentException {
+        GroupElement unfusedResult = super.op(e);
+        if (e == this || !(e instanceof PairingResultLazyGroupElement))
+            return unfusedResult;
+
+        PairingResultLazyGroupElement other = (PairingResultLazyGroupElement) e;
+        if (!isFusable() || !other.isFusable() || !bilMap.equals(other.bilMap))
+            return unfusedResult;
+
+        List<LazyGroupElement> resultLhs = new ArrayList<>(lhs);
+        List<LazyGroupElement> resultRhs = new ArrayList<>(rhs);
+        resultLhs.addAll(other.lhs);
+        resultRhs.addAll(other.rhs);
+        return new PairingResultLazyGroupElement(group, bilMap, resultLhs, resultRhs,
+                (LazyGroupElement) unfusedResult, Arrays.asList(this, other));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Computes \(\prod_i e(\text{lhs}_i^{-1}, \text{rhs}_i)\).
+     */
+    @Override
+    public GroupElement inv() {
+        GroupElement unfusedResult = super.inv();
+        if (!isFusable())
+            return unfusedResult;
+
+        List<LazyGroupElement> resultLhs = new ArrayList<>();
+        for (LazyGroupElement g : lhs)
+            resultLhs.add((LazyGroupElement) g.inv());
+        return new PairingResultLazyGroupElement(group, bilMap, resultLhs, rhs,
+                (LazyGroupElement) unfusedResult, Collections.singletonList(this));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If estimated to be cheaper (see {@link LazyBilinearMap#isExponentiationInSourceGroupCheaper(int)}),
+     * computes \(\prod_i e(\text{lhs}_i^x, \text{rhs}_i)\) or \(\prod_i e(\text{lhs}_i, \text{rhs}_i^x)\),
+     * depending on which source group is cheaper.
+     */
+    @Override
+    public GroupElement pow(BigInteger exponent) {
+        GroupElement unfusedResult = super.pow(exponent);
+        if (!isFusable() || !bilMap.isExponentiationInSourceGroupCheaper(lhs.size()))
+            return unfusedResult;
+
+        List<LazyGroupElement> resultLhs = lhs, resultRhs = rhs;
+        if (bilMap.isG1CheaperThanG2()) {
+            resultLhs = new ArrayList<>();
+            for (LazyGroupElement g : lhs)
+                resultLhs.add((LazyGroupElement) g.pow(exponent));
+        } else {
+            resultRhs = new ArrayList<>();
+            for (LazyGroupElement h : rhs)
+                resultRhs.add((LazyGroupElement) h.pow(exponent));
+        }
+        return new PairingResultLazyGroupElement(group, bilMap, resultLhs, resultRhs,
+                (LazyGroupElement) unfusedResult, Collections.singletonList(this));
+    }
+
+    @Override
+    protected void addConsumer() {
+        numberOfConsumers.incrementAndGet();
     }
 
     @Override
     protected void computeConcreteValue() {
-        setConcreteValue(bilMap.impl.apply(lhs.getConcreteValue(), rhs.getConcreteValue()));
-        //TODO optimize: (1) draw exponents e(g,h)^x into e(g^x, h). (2) A product e(g,h)*e(g2,h2)*... can share the final exponentiation. (3) precomputation of pairings
+        for (PairingResultLazyGroupElement source : fusedFrom) {
+            if (source.isShared()) { // source is computed anyway, don't compute its pairings again
+                setConcreteValue(unfused.getConcreteValue());
+                return;
+            }
+        }
+
+        if (lhs.isEmpty()) {
+            setConcreteValue(group.impl.getNeutralElement());
+        } else if (lhs.size() == 1) {
+            setConcreteValue(bilMap.impl.apply(lhs.get(0).getConcreteValue(), rhs.get(0).getConcreteValue()));
+        } else {
+            List<GroupElementImpl> lhsImpl = new ArrayList<>();
+            List<GroupElementImpl> rhsImpl = new ArrayList<>();
+            for (int i = 0; i < lhs.size(); i++) {
+                lhsImpl.add(lhs.get(i).getConcreteValue());
+                rhsImpl.add(rhs.get(i).getConcreteValue());
+            }
+            setConcreteValue(bilMap.impl.applyProduct(lhsImpl, rhsImpl));
+        }
     }
 }
@@ -3,6 +3,9 @@ package org.cryptimeleon.math.structures.rings;
 import org.cryptimeleon.math.serialization.Representation;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A commutative ring where every element except 0 has a multiplicative inverse.
@@ -54,6 +57,38 @@ public interface Field extends Ring {
         }
     }
 
+    /**
+     * Inverts all given elements at once using Montgomery's trick.
+     * <p>
+     * This costs a single inversion and \(3(n-1)\) multiplications for \(n\) elements,
+     * which is usually much cheaper than \(n\) inversions.
+     *
+     * @param elements the elements to invert, none of them may be zero
+     * @return the inverses of the given elements in the same order
+     * @throws UnsupportedOperationException if one of the elements is not invertible
+     */
+    default List<FieldElement> batchInvert(List<? extends FieldElement> elements) throws UnsupportedOperationException {
+        if (elements.isEmpty())
+            return new ArrayList<>();
+
+        // products[i] is the product of the first i+1 elements
+        FieldElement[] products = new FieldElement[elements.size()];
+        products[0] = elements.get(0);
+        for (int i = 1; i < products.length; i++) {
+            products[i] = products[i-1].mul(elements.get(i));
+        }
+
+        FieldElement[] result = new FieldElement[products.length];
+        FieldElement inverse = products[products.length-1].inv();
+        for (int i = products.length - 1; i > 0; i--) {
+            result[i] = inverse.mul(products[i-1]);
+            inverse = inverse.mul(elements.get(i));
+        }
+        result[0] = inverse;
+
+        return Arrays.asList(result);
+    }
+
     @Override
     default boolean isCommutative() {
         return true;
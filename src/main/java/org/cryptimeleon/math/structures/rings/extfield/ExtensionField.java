@@ -5,6 +5,7 @@ import org.cryptimeleon.math.structures.rings.Field;
 import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.RingElement;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
+import org.cryptimeleon.math.structures.rings.zn.MontgomeryZp;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 
 import java.math.BigInteger;
@@ -25,9 +26,17 @@ public class ExtensionField implements Field {
     protected PolynomialRing.Polynomial definingPolynomial;
     /**
      * frobeniusOfXPowers[i] = (x^p)^i mod (x^extensionDegree + constant)
-     * for i <= extensionDegree
+     * for i <= extensionDegree.
+     * Computed lazily by {@link #getFrobeniusOfXPowers()}.
      */
-    protected ExtensionFieldElement[] frobeniusOfXPowers;
+    private ExtensionFieldElement[] frobeniusOfXPowers;
+    /**
+     * conjugationCoefficients[i] = \((-\text{constant})^{i(q-1)/\text{extensionDegree}}\) where \(q\) is the size of the
+     * base field, i.e. \((x^i)^q = \text{conjugationCoefficients[i]} \cdot x^i\).
+     * Empty if extensionDegree does not divide \(q-1\).
+     * Computed lazily by {@link #getConjugationCoefficients()}.
+     */
+    private FieldElement[] conjugationCoefficients;
 
 
     /**
@@ -43,15 +52,55 @@ public class ExtensionField implements Field {
             coefficients[i] = constant.getStructure().getZeroElement();
 
         this.definingPolynomial = PolynomialRing.getPoly(coefficients);
+    }
 
-        //Precompute frobenius stuff (there's probably an embarrassingly better way to do this but ... here we go for now)
-        frobeniusOfXPowers = new ExtensionFieldElement[extensionDegree+1];
-        frobeniusOfXPowers[0] = getOneElement();
-        if (extensionDegree > 0) {
-            frobeniusOfXPowers[1] = (ExtensionFieldElement) createElement(constant.getStructure().getZeroElement(), constant.getStructure().getOneElement()).pow(getCharacteristic()); //"x^p"
-            for (int i = 2; i < frobeniusOfXPowers.length; i++)
-                frobeniusOfXPowers[i] = frobeniusOfXPowers[i-1].mul(frobeniusOfXPowers[1]);
+    /**
+     * Returns the powers \((x^p)^i \bmod (x^\text{extensionDegree} + \text{constant})\) for
+     * \(0 \leq i \leq \text{extensionDegree}\), which are used to apply the Frobenius map.
+     * <p>
+     * The powers are computed on first use (which also keeps subclasses from doing arithmetic before
+     * they are fully constructed).
+     */
+    protected ExtensionFieldElement[] getFrobeniusOfXPowers() {
+        if (frobeniusOfXPowers == null) {
+            //(there's probably an embarrassingly better way to do this but ... here we go for now)
+            ExtensionFieldElement[] powers = new ExtensionFieldElement[extensionDegree+1];
+            powers[0] = getOneElement();
+            if (extensionDegree > 0) {
+                powers[1] = createElement(constant.getStructure().getZeroElement(), constant.getStructure().getOneElement()).pow(getCharacteristic()); //"x^p"
+                for (int i = 2; i < powers.length; i++)
+                    powers[i] = powers[i-1].mul(powers[1]);
+            }
+            frobeniusOfXPowers = powers;
         }
+        return frobeniusOfXPowers;
+    }
+
+    /**
+     * Returns the constants \(\gamma_i\) such that \((x^i)^q = \gamma_i x^i\), where \(q\) is the size of the base field
+     * and \(0 \leq i < \text{extensionDegree}\).
+     * <p>
+     * Since \(x^q = x \cdot (x^\text{extensionDegree})^{(q-1)/\text{extensionDegree}}\), these exist if
+     * extensionDegree divides \(q-1\), which is the case for all towers we use.
+     *
+     * @return the constants or null if extensionDegree does not divide \(q-1\)
+     */
+    protected FieldElement[] getConjugationCoefficients() {
+        if (conjugationCoefficients == null) {
+            BigInteger qMinusOne = getBaseField().size().subtract(BigInteger.ONE);
+            BigInteger degree = BigInteger.valueOf(extensionDegree);
+            if (!qMinusOne.mod(degree).equals(BigInteger.ZERO)) {
+                conjugationCoefficients = new FieldElement[0];
+            } else {
+                FieldElement[] coefficients = new FieldElement[extensionDegree];
+                FieldElement gamma = constant.neg().pow(qMinusOne.divide(degree));
+                coefficients[0] = getBaseField().getOneElement();
+                for (int i = 1; i < extensionDegree; i++)
+                    coefficients[i] = coefficients[i-1].mul(gamma);
+                conjugationCoefficients = coefficients;
+            }
+        }
+        return conjugationCoefficients.length == 0 ? null : conjugationCoefficients;
     }
 
     /**
@@ -68,10 +117,18 @@ public class ExtensionField implements Field {
      * @param p size of the field (must be prime)
      */
     public ExtensionField(BigInteger p) {
-        Zp baseField = new Zp(p);
-        constant = baseField.getZeroElement();
-        extensionDegree = 1;
-        init(constant, extensionDegree);
+        this(Zp.of(p));
+    }
+
+    /**
+     * Instantiates the given prime order finite field Zp as an extension field of degree 1.
+     * <p>
+     * This allows choosing the implementation of Zp, e.g. {@link MontgomeryZp}.
+     *
+     * @param baseField the prime order field
+     */
+    public ExtensionField(Zp baseField) {
+        init(baseField.getZeroElement(), 1);
     }
 
 
@@ -195,6 +252,21 @@ public class ExtensionField implements Field {
         return new ExtensionFieldElement(this, reduce(coefficients));
     }
 
+    /**
+     * Pads the given (reduced) coefficients with zeros such that there are exactly {@code extensionDegree} of them.
+     * <p>
+     * Used by subclasses whose arithmetic works on a fixed number of coefficients.
+     */
+    protected FieldElement[] padCoefficients(FieldElement[] coefficients) {
+        if (coefficients.length == extensionDegree)
+            return coefficients;
+
+        FieldElement[] result = new FieldElement[extensionDegree];
+        for (int i = 0; i < extensionDegree; i++)
+            result[i] = i < coefficients.length ? coefficients[i] : getBaseField().getZeroElement();
+        return result;
+    }
+
     @Override
     public ExtensionFieldElement getElement(BigInteger i) {
         return createElement(constant.getStructure().getElement(i));
@@ -283,6 +355,28 @@ public class ExtensionField implements Field {
         return constant.getStructure();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * For a degree one extension, the elements are inverted in the base field directly.
+     */
+    @Override
+    public List<FieldElement> batchInvert(List<? extends FieldElement> elements) throws UnsupportedOperationException {
+        if (extensionDegree != 1)
+            return Field.super.batchInvert(elements);
+
+        List<FieldElement> baseElements = new ArrayList<>(elements.size());
+        for (FieldElement element : elements) {
+            baseElements.add(((ExtensionFieldElement) element).getCoefficients()[0]);
+        }
+
+        List<FieldElement> result = new ArrayList<>(elements.size());
+        for (FieldElement inverse : getBaseField().batchInvert(baseElements)) {
+            result.add(createElement(inverse));
+        }
+        return result;
+    }
+
     @Override
     public BigInteger getCharacteristic() throws UnsupportedOperationException {
         return getBaseField().getCharacteristic();
@@ -329,9 +423,9 @@ public class ExtensionField implements Field {
             } else if (this.getBaseField() instanceof Zp) {
                 Zp baseField = (Zp) this.getBaseField();
                 if (coefficients.size() == 0) {
-                    fes[i] = baseField.new ZpElement(BigInteger.ZERO);
+                    fes[i] = baseField.getZeroElement();
                 } else if (coefficients.size() == 1) {
-                    fes[i] = baseField.new ZpElement(coefficients.get(i));
+                    fes[i] = baseField.createZnElement(coefficients.get(i));
                 } else {
                     throw new IllegalArgumentException("Not able to create ZpElement for list of size larger than 1.");
                 }
@@ -85,6 +85,9 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
     public ExtensionFieldElement mul(Element e) {
         ExtensionFieldElement bne = (ExtensionFieldElement) e;
 
+        if (this.coefficients.length == 1 && bne.coefficients.length == 1) //no reduction necessary
+            return this.getStructure().createElement(this.coefficients[0].mul(bne.coefficients[0]));
+
         FieldElement[] result = new FieldElement[this.coefficients.length + bne.coefficients.length];
 
         for (int i = 0; i < result.length; i++)
@@ -98,6 +101,85 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
         return this.getStructure().createElement(result);
     }
 
+    /**
+     * Computes \(\text{this} \cdot e\) like {@link #mul(Element)}, but faster if {@code e} has many zero coefficients
+     * (for example, line function values in the Miller loop).
+     *
+     * @param e the (sparse) factor
+     * @return the product
+     */
+    public ExtensionFieldElement mulSparse(ExtensionFieldElement e) {
+        FieldElement[] result = new FieldElement[this.coefficients.length + e.coefficients.length];
+
+        for (int i = 0; i < result.length; i++)
+            result[i] = this.getStructure().getBaseField().getZeroElement();
+
+        for (int j = 0; j < e.coefficients.length; j++) {
+            if (e.coefficients[j].isZero())
+                continue;
+            for (int i = 0; i < this.coefficients.length; i++)
+                result[i + j] = result[i + j].add(this.coefficients[i].mul(e.coefficients[j]));
+        }
+
+        return this.getStructure().createElement(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the symmetry of the product, i.e. the coefficient of \(x^k\) is
+     * \(\sum_{i < j, i+j=k} 2a_ia_j + a_{k/2}^2\), which needs about half the base field multiplications of
+     * {@code mul(this)}.
+     */
+    @Override
+    public ExtensionFieldElement square() {
+        if (coefficients.length == 1)
+            return this.getStructure().createElement(coefficients[0].square());
+
+        FieldElement[] result = new FieldElement[2 * coefficients.length - 1];
+        for (int i = 0; i < result.length; i++)
+            result[i] = this.getStructure().getBaseField().getZeroElement();
+
+        for (int i = 0; i < coefficients.length; i++)
+            for (int j = i + 1; j < coefficients.length; j++)
+                result[i + j] = result[i + j].add(coefficients[i].mul(coefficients[j]));
+
+        for (int i = 0; i < coefficients.length; i++)
+            result[2 * i] = result[2 * i].add(result[2 * i]).add(coefficients[i].square()); //each mixed product twice
+
+        for (int i = 0; i < coefficients.length - 1; i++)
+            result[2 * i + 1] = result[2 * i + 1].add(result[2 * i + 1]);
+
+        return this.getStructure().createElement(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses square-and-multiply with {@link #square()}.
+     * For the prime field itself (degree one), the exponentiation is delegated to the base field element.
+     */
+    @Override
+    public ExtensionFieldElement pow(BigInteger k) {
+        if (k.signum() < 0)
+            return pow(k.negate()).inv();
+        if (field.isBaseField() && coefficients.length == 1)
+            return getStructure().createElement(coefficients[0].pow(k));
+
+        ExtensionFieldElement result = getStructure().getOneElement();
+        for (int i = k.bitLength() - 1; i >= 0; i--) {
+            result = result.square();
+            if (k.testBit(i))
+                result = result.mul(this);
+        }
+        return result;
+    }
+
+    @Override
+    public ExtensionFieldElement pow(long k) {
+        return pow(BigInteger.valueOf(k));
+    }
+
     /**
      * The coefficients of the polynomial over getStructure().getBaseField() defining this element
      */
@@ -105,8 +187,23 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
         return this.coefficients;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If possible (see {@link ExtensionField#getConjugationCoefficients()}), this uses the norm
+     * \(N(a) = a \cdot a^q \cdots a^{q^{d-1}}\) (Itoh-Tsujii), i.e.
+     * \(a^{-1} = (a^q \cdots a^{q^{d-1}}) \cdot N(a)^{-1}\), where \(N(a)\) is in the base field
+     * and the conjugates \(a^{q^i}\) are cheap.
+     * Otherwise, falls back to the extended euclidean algorithm.
+     */
     @Override
     public ExtensionFieldElement inv() throws UnsupportedOperationException {
+        if (field.isBaseField() && coefficients.length == 1)
+            return getStructure().createElement(coefficients[0].inv());
+
+        if (field.getConjugationCoefficients() != null)
+            return invViaNorm();
+
         PolynomialRing.Polynomial poly = PolynomialRing.getPoly(coefficients);
         PolynomialRing polyRing = poly.getStructure();
         RingElement[] eeaResult = polyRing.extendedEuclideanAlgorithm(poly, field.getDefiningPolynomial()); //eeaResult[0]*poly = eeaResult[2] (mod definingPolynomial) and eeaResult[2] is a unit (because definingPolynomial is irreducible)
@@ -115,16 +212,60 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
         return getStructure().createElement(Arrays.copyOf(inversePoly.getCoefficients(), inversePoly.getCoefficients().length, FieldElement[].class));
     }
 
+    /**
+     * Computes the inverse as the product of all other conjugates divided by the norm.
+     */
+    private ExtensionFieldElement invViaNorm() {
+        // product = a^q * a^(q^2) * ... * a^(q^(d-1))
+        ExtensionFieldElement conjugate = conjugate();
+        ExtensionFieldElement product = conjugate;
+        for (int i = 2; i < field.getExtensionDegree(); i++) {
+            conjugate = conjugate.conjugate();
+            product = product.mul(conjugate);
+        }
+
+        // norm = a * product is in the base field, so only compute its constant coefficient.
+        // the coefficient of x^0 gets contributions from x^i * x^(d-i) = x^d = -constant
+        FieldElement[] productCoefficients = product.coefficients;
+        FieldElement norm = this.getStructure().getBaseField().getZeroElement();
+        if (coefficients.length > 0 && productCoefficients.length > 0)
+            norm = coefficients[0].mul(productCoefficients[0]);
+        FieldElement wrapAround = this.getStructure().getBaseField().getZeroElement();
+        for (int i = 1; i < coefficients.length; i++) {
+            int j = field.getExtensionDegree() - i;
+            if (j < productCoefficients.length)
+                wrapAround = wrapAround.add(coefficients[i].mul(productCoefficients[j]));
+        }
+        norm = norm.sub(wrapAround.mul(field.getConstant()));
+
+        FieldElement normInverse = norm.inv();
+        FieldElement[] result = new FieldElement[productCoefficients.length];
+        for (int i = 0; i < result.length; i++)
+            result[i] = productCoefficients[i].mul(normInverse);
+
+        return getStructure().createElement(result);
+    }
+
     /**
      * Computes the conjugate of this element.
      * <p>
      * For an element x with coefficients in F_q, compute x^q.
+     * This is supported for extension degree 1 and 2 and for all extension degrees d where d divides q-1
+     * (see {@link ExtensionField#getConjugationCoefficients()}).
      *
      * @return the first conjugate of this element
      */
     public ExtensionFieldElement conjugate() {
-        if (this.getStructure().isBaseField()) {
+        if (this.getStructure().isBaseField())
             return this;
+
+        FieldElement[] gamma = this.getStructure().getConjugationCoefficients();
+        if (gamma != null) {
+            // (sum a_i x^i)^q = sum a_i (x^i)^q = sum a_i gamma_i x^i
+            FieldElement[] result = new FieldElement[coefficients.length];
+            for (int i = 0; i < coefficients.length; i++)
+                result[i] = i == 0 ? coefficients[0] : coefficients[i].mul(gamma[i]);
+            return this.getStructure().createElement(result);
         } else if ((this.getStructure().getExtensionDegree() == 2)) {
             /*
              *
@@ -145,7 +286,8 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
 
             return this.getStructure().createElement(coefficients);
         } else {
-            throw new UnsupportedOperationException("Conjugation only supported for extension degree 1 and 2.");
+            throw new UnsupportedOperationException("Conjugation only supported for extension degree 1 and 2 "
+                    + "and extension degrees dividing q-1.");
         }
     }
 
@@ -154,7 +296,7 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
         //Yes, this is probably suboptimal.
         ExtensionFieldElement result = getStructure().getZeroElement();
         for (int i=0; i<coefficients.length; i++) {
-            result = result.add(field.createElement(coefficients[i].applyFrobenius()).mul(getStructure().frobeniusOfXPowers[i]));
+            result = result.add(field.createElement(coefficients[i].applyFrobenius()).mul(getStructure().getFrobeniusOfXPowers()[i]));
         }
         return result;
         //return (ExtensionFieldElement) this.pow(getStructure().getCharacteristic());
@@ -206,6 +348,26 @@ public class ExtensionFieldElement implements FieldElement, UniqueByteRepresenta
         return true;
     }
 
+    @Override
+    public boolean isZero() {
+        for (FieldElement c : coefficients) {
+            if (!c.isZero())
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isOne() {
+        if (coefficients.length == 0 || !coefficients[0].isOne())
+            return false;
+        for (int i = 1; i < coefficients.length; i++) {
+            if (!coefficients[i].isZero())
+                return false;
+        }
+        return true;
+    }
+
     public ExtensionFieldElement reduce() {
         /*
          * this implementation assures that elements are always reduced because : 1. elements are immutable 2. at creation, the representation is always reduced in the create method of BarretoNaehrigField
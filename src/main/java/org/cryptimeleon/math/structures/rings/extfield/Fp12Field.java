@@ -0,0 +1,74 @@
+package org.cryptimeleon.math.structures.rings.extfield;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+/**
+ * A sextic extension \(\mathbb{F}_{p^{12}} = \mathbb{F}_{p^2}[w]/(w^6 + c)\) of a quadratic extension field.
+ * <p>
+ * This field is equal to {@code new ExtensionField(c, 6)} (and its elements are represented in the same way,
+ * i.e. by six coefficients over \(\mathbb{F}_{p^2}\)).
+ * For arithmetic, its elements ({@link Fp12FieldElement}) are viewed as elements of the tower
+ * \(\mathbb{F}_{p^6}[w]/(w^2 - v)\) with \(\mathbb{F}_{p^6} = \mathbb{F}_{p^2}[v]/(v^3 + c)\) (see {@link Fp6Field}),
+ * i.e. \(\sum_i a_i w^i = (a_0 + a_2 v + a_4 v^2) + (a_1 + a_3 v + a_5 v^2) w\).
+ * This allows Karatsuba multiplication (18 instead of 36 multiplications in \(\mathbb{F}_{p^2}\)),
+ * complex squaring and inversion via the norm to \(\mathbb{F}_{p^6}\).
+ * The Frobenius map uses precomputed constants.
+ */
+public class Fp12Field extends ExtensionField {
+    /**
+     * The subfield \(\mathbb{F}_{p^6} = \mathbb{F}_{p^2}[v]/(v^3 + c)\) with \(v = w^2\).
+     */
+    private final Fp6Field fp6;
+
+    /**
+     * frobeniusCoefficients[i] = \(\xi^{i(p-1)/6}\) with \(\xi = -c\), i.e. \((w^i)^p = \text{frobeniusCoefficients[i]} \cdot w^i\),
+     * or null if \(p \not\equiv 1 \bmod 6\).
+     */
+    private final FieldElement[] frobeniusCoefficients;
+
+    /**
+     * Create the extension defined by the irreducible polynomial \(w^6 + \text{constant}\).
+     *
+     * @param constant an element of a quadratic extension of a prime field such that \(-\text{constant}\)
+     *                 is neither a square nor a cube
+     */
+    public Fp12Field(FieldElement constant) {
+        super(constant, 6);
+        fp6 = new Fp6Field(constant);
+        frobeniusCoefficients = Fp6Field.computeFrobeniusCoefficients(constant.neg(), 6);
+    }
+
+    public Fp12Field(Representation repr) {
+        super(repr);
+        if (getExtensionDegree() != 6)
+            throw new IllegalArgumentException("Representation is not a sextic extension");
+        fp6 = new Fp6Field(constant);
+        frobeniusCoefficients = Fp6Field.computeFrobeniusCoefficients(constant.neg(), 6);
+    }
+
+    /**
+     * Returns the subfield \(\mathbb{F}_{p^6} = \mathbb{F}_{p^2}[v]/(v^3 + c)\) with \(v = w^2\).
+     */
+    public Fp6Field getFp6Field() {
+        return fp6;
+    }
+
+    FieldElement[] getFrobeniusCoefficients() {
+        return frobeniusCoefficients;
+    }
+
+    /**
+     * Creates the element \(g + h w\) for \(g, h \in \mathbb{F}_{p^6}\).
+     */
+    public Fp12FieldElement createElementFromFp6(Fp6FieldElement g, Fp6FieldElement h) {
+        FieldElement[] gc = g.getCoefficients();
+        FieldElement[] hc = h.getCoefficients();
+        return createElement(gc[0], hc[0], gc[1], hc[1], gc[2], hc[2]);
+    }
+
+    @Override
+    public Fp12FieldElement createElement(FieldElement... coefficients) {
+        return new Fp12FieldElement(this, padCoefficients(reduce(coefficients)));
+    }
+}
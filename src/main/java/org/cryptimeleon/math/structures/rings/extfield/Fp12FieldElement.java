@@ -0,0 +1,208 @@
+package org.cryptimeleon.math.structures.rings.extfield;
+
+import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+/**
+ * Elements in {@link Fp12Field}.
+ * <p>
+ * An element \(\sum_{i=0}^5 a_i w^i\) is always stored with exactly six coefficients.
+ * Arithmetic is done on the representation \(g + h w\) with \(g = a_0 + a_2 v + a_4 v^2\)
+ * and \(h = a_1 + a_3 v + a_5 v^2\) over \(\mathbb{F}_{p^6}\) where \(v = w^2\).
+ */
+public class Fp12FieldElement extends ExtensionFieldElement {
+
+    Fp12FieldElement(Fp12Field field, FieldElement[] coefficients) {
+        super(field, coefficients);
+    }
+
+    @Override
+    public Fp12Field getStructure() {
+        return (Fp12Field) super.getStructure();
+    }
+
+    /**
+     * Returns \(g = a_0 + a_2 v + a_4 v^2\), where this element is \(g + h w\).
+     */
+    public Fp6FieldElement getEvenPart() {
+        FieldElement[] a = getCoefficients();
+        return getStructure().getFp6Field().createElement(a[0], a[2], a[4]);
+    }
+
+    /**
+     * Returns \(h = a_1 + a_3 v + a_5 v^2\), where this element is \(g + h w\).
+     */
+    public Fp6FieldElement getOddPart() {
+        FieldElement[] a = getCoefficients();
+        return getStructure().getFp6Field().createElement(a[1], a[3], a[5]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses Karatsuba multiplication over \(\mathbb{F}_{p^6}\), i.e. three multiplications in \(\mathbb{F}_{p^6}\).
+     */
+    @Override
+    public Fp12FieldElement mul(Element e) {
+        if (!(e instanceof Fp12FieldElement))
+            return (Fp12FieldElement) super.mul(e);
+
+        Fp12FieldElement other = (Fp12FieldElement) e;
+        Fp6FieldElement g1 = getEvenPart(), h1 = getOddPart();
+        Fp6FieldElement g2 = other.getEvenPart(), h2 = other.getOddPart();
+
+        // (g1 + h1 w)(g2 + h2 w) = g1 g2 + h1 h2 v + ((g1 + h1)(g2 + h2) - g1 g2 - h1 h2) w
+        Fp6FieldElement t0 = g1.mul(g2);
+        Fp6FieldElement t1 = h1.mul(h2);
+        Fp6FieldElement c0 = t0.add(t1.mulByX());
+        Fp6FieldElement c1 = g1.add(h1).mul(g2.add(h2)).sub(t0).sub(t1);
+
+        return getStructure().createElementFromFp6(c0, c1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses Karatsuba multiplication over \(\mathbb{F}_{p^6}\) with {@link Fp6FieldElement#mulSparse(ExtensionFieldElement)}.
+     * For example, for \(e = e_0 + e_2 w^2 + e_3 w^3\) (line function values of the BN Tate pairing),
+     * this needs 13 instead of 18 multiplications in \(\mathbb{F}_{p^2}\).
+     */
+    @Override
+    public Fp12FieldElement mulSparse(ExtensionFieldElement e) {
+        if (!(e instanceof Fp12FieldElement))
+            return (Fp12FieldElement) super.mulSparse(e);
+
+        Fp12FieldElement other = (Fp12FieldElement) e;
+        Fp6FieldElement g1 = getEvenPart(), h1 = getOddPart();
+        Fp6FieldElement g2 = other.getEvenPart(), h2 = other.getOddPart();
+
+        Fp6FieldElement t0 = g1.mulSparse(g2);
+        Fp6FieldElement t1 = h1.mulSparse(h2);
+        Fp6FieldElement c0 = t0.add(t1.mulByX());
+        Fp6FieldElement c1 = g1.add(h1).mulSparse(g2.add(h2)).sub(t0).sub(t1);
+
+        return getStructure().createElementFromFp6(c0, c1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the complex squaring formula, i.e. two multiplications in \(\mathbb{F}_{p^6}\).
+     */
+    @Override
+    public Fp12FieldElement square() {
+        Fp6FieldElement g = getEvenPart(), h = getOddPart();
+
+        // (g + h w)^2 = (g + h)(g + h v) - gh - gh v + 2gh w
+        Fp6FieldElement t = g.mul(h);
+        Fp6FieldElement c0 = g.add(h).mul(g.add(h.mulByX())).sub(t).sub(t.mulByX());
+        Fp6FieldElement c1 = t.add(t);
+
+        return getStructure().createElementFromFp6(c0, c1);
+    }
+
+    /**
+     * Squares this element under the assumption that it lies in the cyclotomic subgroup, i.e. has order dividing
+     * \(p^4 - p^2 + 1\) (e.g. values of a pairing after the final exponentiation).
+     * For other elements, the result is undefined.
+     * <p>
+     * Uses the formula of Granger and Scott ("Faster Squaring in the Cyclotomic Subgroup of Sixth Degree Extensions",
+     * https://eprint.iacr.org/2009/565.pdf), which writes this element as \(A + B w + C w^2\) over
+     * \(\mathbb{F}_{p^4} = \mathbb{F}_{p^2}[s]/(s^2 - \xi)\) with \(s = w^3\), and only needs three squarings in
+     * \(\mathbb{F}_{p^4}\), i.e. six multiplications in \(\mathbb{F}_{p^2}\) (instead of twelve for {@link #square()}).
+     *
+     * @return the square of this element
+     */
+    public Fp12FieldElement cyclotomicSquare() {
+        FieldElement[] a = getCoefficients();
+        Fp6Field fp6 = getStructure().getFp6Field();
+
+        // A = a0 + a3 s, B = a1 + a4 s, C = a2 + a5 s
+        FieldElement[] aSquared = squareInFp4(fp6, a[0], a[3]);
+        FieldElement[] bSquared = squareInFp4(fp6, a[1], a[4]);
+        FieldElement[] cSquared = squareInFp4(fp6, a[2], a[5]);
+
+        // A' = 3A^2 - 2 conj(A), B' = 3 s C^2 + 2 conj(B), C' = 3 B^2 - 2 conj(C)
+        FieldElement sC = fp6.mulByNonResidue(cSquared[1]);
+        return getStructure().createElement(
+                tripleMinusDouble(aSquared[0], a[0]),
+                tripleMinusDouble(sC, a[1].neg()),
+                tripleMinusDouble(bSquared[0], a[2]),
+                tripleMinusDouble(aSquared[1], a[3].neg()),
+                tripleMinusDouble(cSquared[0], a[4]),
+                tripleMinusDouble(bSquared[1], a[5].neg())
+        );
+    }
+
+    /**
+     * Computes \((x + y s)^2 = x^2 + \xi y^2 + 2xy s\) with two multiplications in \(\mathbb{F}_{p^2}\).
+     */
+    private static FieldElement[] squareInFp4(Fp6Field fp6, FieldElement x, FieldElement y) {
+        FieldElement xy = x.mul(y);
+        FieldElement c0 = x.add(y).mul(x.add(fp6.mulByNonResidue(y))).sub(xy).sub(fp6.mulByNonResidue(xy));
+        return new FieldElement[] {c0, xy.add(xy)};
+    }
+
+    /**
+     * Computes \(3t - 2z\).
+     */
+    private static FieldElement tripleMinusDouble(FieldElement t, FieldElement z) {
+        FieldElement result = t.sub(z);
+        return result.add(result).add(t);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Computes \((g - h w) / (g^2 - h^2 v)\), i.e. only a single inversion in \(\mathbb{F}_{p^6}\).
+     */
+    @Override
+    public Fp12FieldElement inv() throws UnsupportedOperationException {
+        Fp6FieldElement g = getEvenPart(), h = getOddPart();
+
+        Fp6FieldElement normInverse = g.square().sub(h.square().mulByX()).inv();
+
+        return getStructure().createElementFromFp6(g.mul(normInverse), h.mul(normInverse).neg());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses \((w^i)^p = \xi^{i(p-1)/6} w^i\) with precomputed constants.
+     */
+    @Override
+    public Fp12FieldElement applyFrobenius() {
+        FieldElement[] gamma = getStructure().getFrobeniusCoefficients();
+        if (gamma == null)
+            return (Fp12FieldElement) super.applyFrobenius();
+
+        FieldElement[] a = getCoefficients();
+        FieldElement[] result = new FieldElement[6];
+        result[0] = a[0].applyFrobenius();
+        for (int i = 1; i < 6; i++)
+            result[i] = a[i].applyFrobenius().mul(gamma[i]);
+
+        return getStructure().createElement(result);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Since \(w^{p^6} = -w\) and \(\mathbb{F}_{p^2}\) is fixed by \(p^6\), applying the Frobenius six times
+     * just negates the odd coefficients (conjugation over \(\mathbb{F}_{p^6}\)).
+     */
+    @Override
+    public Fp12FieldElement applyFrobenius(int numberOfApplications) {
+        numberOfApplications %= 12;
+        if (numberOfApplications < 6) {
+            Fp12FieldElement result = this;
+            for (int i = 0; i < numberOfApplications; i++)
+                result = result.applyFrobenius();
+            return result;
+        }
+
+        FieldElement[] a = getCoefficients();
+        Fp12FieldElement result = getStructure().createElement(a[0], a[1].neg(), a[2], a[3].neg(), a[4], a[5].neg());
+        return result.applyFrobenius(numberOfApplications - 6);
+    }
+}
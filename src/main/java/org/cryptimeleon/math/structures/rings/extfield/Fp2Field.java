@@ -0,0 +1,61 @@
+package org.cryptimeleon.math.structures.rings.extfield;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+/**
+ * A quadratic extension \(\mathbb{F}_{p^2} = \mathbb{F}_p[x]/(x^2 + c)\) of a prime field.
+ * <p>
+ * This field is equal to {@code new ExtensionField(c, 2)}, but its elements ({@link Fp2FieldElement})
+ * use dedicated formulas: Karatsuba multiplication, complex squaring, inversion via the norm and
+ * conjugation as the Frobenius map.
+ * It is the bottom of the \(\mathbb{F}_{p^2} \subset \mathbb{F}_{p^6} \subset \mathbb{F}_{p^{12}}\) tower
+ * (see {@link Fp6Field} and {@link Fp12Field}).
+ */
+public class Fp2Field extends ExtensionField {
+    /**
+     * Whether {@code constant} is one, i.e. the field is defined by \(x^2 + 1\) (multiplications with the constant are free).
+     */
+    private final boolean constantIsOne;
+
+    /**
+     * Create the extension defined by the irreducible polynomial \(x^2 + \text{constant}\).
+     *
+     * @param constant an element of a prime field such that \(-\text{constant}\) is a quadratic non-residue
+     * @throws IllegalArgumentException if {@code constant} is not from a prime field
+     */
+    public Fp2Field(FieldElement constant) {
+        super(constant, 2);
+        checkPrimeBaseField();
+        constantIsOne = constant.isOne();
+    }
+
+    public Fp2Field(Representation repr) {
+        super(repr);
+        if (getExtensionDegree() != 2)
+            throw new IllegalArgumentException("Representation is not a quadratic extension");
+        checkPrimeBaseField();
+        constantIsOne = constant.isOne();
+    }
+
+    private void checkPrimeBaseField() {
+        if (!getBaseField().size().equals(getCharacteristic()))
+            throw new IllegalArgumentException("Base field has to be a prime field");
+    }
+
+    /**
+     * Computes \(\text{constant} \cdot e\) for some element \(e\) of the base field.
+     */
+    FieldElement mulByConstant(FieldElement e) {
+        return constantIsOne ? e : constant.mul(e);
+    }
+
+    boolean isConstantOne() {
+        return constantIsOne;
+    }
+
+    @Override
+    public Fp2FieldElement createElement(FieldElement... coefficients) {
+        return new Fp2FieldElement(this, padCoefficients(reduce(coefficients)));
+    }
+}
@@ -0,0 +1,146 @@
+package org.cryptimeleon.math.structures.rings.extfield;
+
+import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
+
+/**
+ * Elements in {@link Fp2Field}.
+ * <p>
+ * An element \(a_0 + a_1 x\) with \(x^2 = -c\) is always stored with exactly two coefficients.
+ */
+public class Fp2FieldElement extends ExtensionFieldElement {
+
+    Fp2FieldElement(Fp2Field field, FieldElement[] coefficients) {
+        super(field, coefficients);
+    }
+
+    @Override
+    public Fp2Field getStructure() {
+        return (Fp2Field) super.getStructure();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses Karatsuba multiplication, i.e. three multiplications in the base field.
+     */
+    @Override
+    public Fp2FieldElement mul(Element e) {
+        if (!(e instanceof Fp2FieldElement))
+            return (Fp2FieldElement) super.mul(e);
+
+        FieldElement[] a = getCoefficients();
+        FieldElement[] b = ((Fp2FieldElement) e).getCoefficients();
+
+        // (a0 + a1 x)(b0 + b1 x) = a0 b0 - c a1 b1 + ((a0 + a1)(b0 + b1) - a0 b0 - a1 b1) x
+        FieldElement v0 = a[0].mul(b[0]);
+        FieldElement v1 = a[1].mul(b[1]);
+        FieldElement c1 = a[0].add(a[1]).mul(b[0].add(b[1])).sub(v0).sub(v1);
+        FieldElement c0 = v0.sub(getStructure().mulByConstant(v1));
+
+        return getStructure().createElement(c0, c1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the complex squaring formula (two multiplications in the base field for \(x^2 = -1\)).
+     */
+    @Override
+    public Fp2FieldElement square() {
+        FieldElement[] a = getCoefficients();
+
+        // (a0 + a1 x)^2 = a0^2 - c a1^2 + 2 a0 a1 x
+        FieldElement c0;
+        if (getStructure().isConstantOne()) {
+            c0 = a[0].add(a[1]).mul(a[0].sub(a[1]));
+        } else {
+            c0 = a[0].square().sub(getStructure().mulByConstant(a[1].square()));
+        }
+        FieldElement c1 = a[0].mul(a[1]);
+        c1 = c1.add(c1);
+
+        return getStructure().createElement(c0, c1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Computes \((a_0 - a_1 x) / (a_0^2 + c a_1^2)\), i.e. only a single inversion in the base field.
+     */
+    @Override
+    public Fp2FieldElement inv() throws UnsupportedOperationException {
+        FieldElement[] a = getCoefficients();
+
+        FieldElement normInverse = a[0].square().add(getStructure().mulByConstant(a[1].square())).inv();
+
+        return getStructure().createElement(a[0].mul(normInverse), a[1].mul(normInverse).neg());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Since \(-c\) is a non-residue in the prime field, \(x^p = -x\), so this is just conjugation.
+     */
+    @Override
+    public Fp2FieldElement applyFrobenius() {
+        FieldElement[] a = getCoefficients();
+        return getStructure().createElement(a[0], a[1].neg());
+    }
+
+    @Override
+    public Fp2FieldElement applyFrobenius(int numberOfApplications) {
+        return numberOfApplications % 2 == 0 ? this : applyFrobenius();
+    }
+
+    /**
+     * Computes the norm \(a_0^2 + c a_1^2 \in \mathbb{F}_p\) of this element.
+     */
+    private FieldElement norm() {
+        FieldElement[] a = getCoefficients();
+        return a[0].square().add(getStructure().mulByConstant(a[1].square()));
+    }
+
+    /**
+     * Returns true if there is a \(y \in \mathbb{F}_{p^2}\) such that \(y^2 = \text{this}\).
+     * <p>
+     * This is the case if and only if the norm of this element is a square in \(\mathbb{F}_p\),
+     * so this only needs an exponentiation in the base field.
+     */
+    public boolean isSquare() {
+        return FiniteFieldTools.isSquare(norm());
+    }
+
+    /**
+     * Computes a square root of this element if it exists.
+     * <p>
+     * For \(a_1 \neq 0\), the root is \(x_0 + x_1 x\) with \(x_0^2 = (a_0 \pm \sqrt{N})/2\) for the norm \(N\)
+     * and \(x_1 = a_1 / 2x_0\). This costs two square roots and a square test in the base field,
+     * which are deterministic for \(p = 3 \bmod 4\) (see {@link FiniteFieldTools#sqrt(FieldElement)}).
+     *
+     * @return an element \(y\) with \(y^2 = \text{this}\)
+     * @throws ArithmeticException if this element is not a square
+     */
+    public Fp2FieldElement sqrt() throws ArithmeticException {
+        FieldElement[] a = getCoefficients();
+        FieldElement two = a[0].getStructure().getElement(2);
+
+        if (a[1].isZero()) {
+            // a0 is a square in F_p or -a0/c is (since -c is not a square)
+            if (FiniteFieldTools.isSquare(a[0]))
+                return getStructure().createElement(FiniteFieldTools.sqrt(a[0]));
+            FieldElement constant = getStructure().getConstant();
+            return getStructure().createElement(a[0].getStructure().getZeroElement(),
+                    FiniteFieldTools.sqrt(a[0].div(constant).neg()));
+        }
+
+        FieldElement normRoot = FiniteFieldTools.sqrt(norm());
+        FieldElement x0Squared = a[0].add(normRoot).div(two);
+        if (!FiniteFieldTools.isSquare(x0Squared))
+            x0Squared = a[0].sub(normRoot).div(two);
+        FieldElement x0 = FiniteFieldTools.sqrt(x0Squared);
+
+        return getStructure().createElement(x0, a[1].div(x0.add(x0)));
+    }
+}
@@ -0,0 +1,83 @@
+package org.cryptimeleon.math.structures.rings.extfield;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+import java.math.BigInteger;
+
+/**
+ * A cubic extension \(\mathbb{F}_{p^6} = \mathbb{F}_{p^2}[x]/(x^3 + c)\) of a quadratic extension field.
+ * <p>
+ * This field is equal to {@code new ExtensionField(c, 3)}, but its elements ({@link Fp6FieldElement})
+ * use dedicated formulas: Karatsuba multiplication, Chung-Hasan squaring, inversion via the adjugate and
+ * a Frobenius map based on precomputed constants.
+ * <p>
+ * The base field is usually an {@link Fp2Field}, but any quadratic extension of a prime field works.
+ */
+public class Fp6Field extends ExtensionField {
+    /**
+     * The non-residue \(\xi = -c = x^3\).
+     */
+    private final FieldElement nonResidue;
+
+    /**
+     * frobeniusCoefficients[i] = \(\xi^{i(p-1)/3}\), i.e. \((x^i)^p = \text{frobeniusCoefficients[i]} \cdot x^i\),
+     * or null if \(p \not\equiv 1 \bmod 3\).
+     */
+    private final FieldElement[] frobeniusCoefficients;
+
+    /**
+     * Create the extension defined by the irreducible polynomial \(x^3 + \text{constant}\).
+     *
+     * @param constant an element of a quadratic extension of a prime field such that \(-\text{constant}\)
+     *                 is neither a square nor a cube
+     */
+    public Fp6Field(FieldElement constant) {
+        super(constant, 3);
+        nonResidue = constant.neg();
+        frobeniusCoefficients = computeFrobeniusCoefficients(nonResidue, 3);
+    }
+
+    public Fp6Field(Representation repr) {
+        super(repr);
+        if (getExtensionDegree() != 3)
+            throw new IllegalArgumentException("Representation is not a cubic extension");
+        nonResidue = constant.neg();
+        frobeniusCoefficients = computeFrobeniusCoefficients(nonResidue, 3);
+    }
+
+    /**
+     * Computes the constants \(\xi^{i(p-1)/d}\) for \(0 \leq i < d\) needed to apply the Frobenius map in
+     * \(K[x]/(x^d - \xi)\), i.e. \((x^i)^p = \xi^{i(p-1)/d} x^i\).
+     *
+     * @return the constants or null if \(d\) does not divide \(p-1\)
+     */
+    static FieldElement[] computeFrobeniusCoefficients(FieldElement nonResidue, int degree) {
+        BigInteger pMinusOne = nonResidue.getStructure().getCharacteristic().subtract(BigInteger.ONE);
+        if (pMinusOne.mod(BigInteger.valueOf(degree)).signum() != 0)
+            return null;
+
+        FieldElement gamma = nonResidue.pow(pMinusOne.divide(BigInteger.valueOf(degree)));
+        FieldElement[] result = new FieldElement[degree];
+        result[0] = nonResidue.getStructure().getOneElement();
+        for (int i = 1; i < degree; i++)
+            result[i] = result[i-1].mul(gamma);
+        return result;
+    }
+
+    /**
+     * Computes \(\xi \cdot e = x^3 \cdot e\) for some element \(e\) of the base field.
+     */
+    FieldElement mulByNonResidue(FieldElement e) {
+        return nonResidue.mul(e);
+    }
+
+    FieldElement[] getFrobeniusCoefficients() {
+        return frobeniusCoefficients;
+    }
+
+    @Override
+    public Fp6FieldElement createElement(FieldElement... coefficients) {
+        return new Fp6FieldElement(this, padCoefficients(reduce(coefficients)));
+    }
+}
@@ -0,0 +1,189 @@
+package org.cryptimeleon.math.structures.rings.extfield;
+
+import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+/**
+ * Elements in {@link Fp6Field}.
+ * <p>
+ * An element \(a_0 + a_1 x + a_2 x^2\) with \(x^3 = \xi\) is always stored with exactly three coefficients.
+ */
+public class Fp6FieldElement extends ExtensionFieldElement {
+
+    Fp6FieldElement(Fp6Field field, FieldElement[] coefficients) {
+        super(field, coefficients);
+    }
+
+    @Override
+    public Fp6Field getStructure() {
+        return (Fp6Field) super.getStructure();
+    }
+
+    @Override
+    public Fp6FieldElement add(Element e) {
+        return (Fp6FieldElement) super.add(e);
+    }
+
+    @Override
+    public Fp6FieldElement sub(Element e) {
+        FieldElement[] a = getCoefficients();
+        FieldElement[] b = ((ExtensionFieldElement) e).getCoefficients();
+        if (b.length != 3)
+            return (Fp6FieldElement) super.sub(e);
+
+        return getStructure().createElement(a[0].sub(b[0]), a[1].sub(b[1]), a[2].sub(b[2]));
+    }
+
+    @Override
+    public Fp6FieldElement neg() {
+        return (Fp6FieldElement) super.neg();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses Karatsuba multiplication, i.e. six multiplications in the base field.
+     */
+    @Override
+    public Fp6FieldElement mul(Element e) {
+        if (!(e instanceof Fp6FieldElement))
+            return (Fp6FieldElement) super.mul(e);
+
+        FieldElement[] a = getCoefficients();
+        FieldElement[] b = ((Fp6FieldElement) e).getCoefficients();
+        Fp6Field field = getStructure();
+
+        FieldElement v0 = a[0].mul(b[0]);
+        FieldElement v1 = a[1].mul(b[1]);
+        FieldElement v2 = a[2].mul(b[2]);
+
+        // c0 = v0 + xi ((a1 + a2)(b1 + b2) - v1 - v2)
+        FieldElement c0 = v0.add(field.mulByNonResidue(a[1].add(a[2]).mul(b[1].add(b[2])).sub(v1).sub(v2)));
+        // c1 = (a0 + a1)(b0 + b1) - v0 - v1 + xi v2
+        FieldElement c1 = a[0].add(a[1]).mul(b[0].add(b[1])).sub(v0).sub(v1).add(field.mulByNonResidue(v2));
+        // c2 = (a0 + a2)(b0 + b2) - v0 - v2 + v1
+        FieldElement c2 = a[0].add(a[2]).mul(b[0].add(b[2])).sub(v0).sub(v2).add(v1);
+
+        return field.createElement(c0, c1, c2);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If only one coefficient of {@code e} is non-zero, this needs three multiplications in the base field.
+     * If the coefficient of \(x^2\) is zero, this needs five.
+     */
+    @Override
+    public Fp6FieldElement mulSparse(ExtensionFieldElement e) {
+        if (!(e instanceof Fp6FieldElement))
+            return (Fp6FieldElement) super.mulSparse(e);
+
+        FieldElement[] a = getCoefficients();
+        FieldElement[] b = e.getCoefficients();
+        Fp6Field field = getStructure();
+
+        int nonZeroCount = 0;
+        int nonZeroIndex = 0;
+        for (int i = 0; i < 3; i++) {
+            if (!b[i].isZero()) {
+                nonZeroCount++;
+                nonZeroIndex = i;
+            }
+        }
+
+        if (nonZeroCount == 0)
+            return (Fp6FieldElement) field.getZeroElement();
+
+        if (nonZeroCount == 1) {
+            // this * b_j x^j = (a0 b_j + a1 b_j x + a2 b_j x^2) * x^j
+            FieldElement bj = b[nonZeroIndex];
+            Fp6FieldElement result = field.createElement(a[0].mul(bj), a[1].mul(bj), a[2].mul(bj));
+            for (int i = 0; i < nonZeroIndex; i++)
+                result = result.mulByX();
+            return result;
+        }
+
+        if (b[2].isZero()) {
+            // (a0 + a1 x + a2 x^2)(b0 + b1 x) = a0 b0 + xi a2 b1 + (a0 b1 + a1 b0) x + (a1 b1 + a2 b0) x^2
+            FieldElement v0 = a[0].mul(b[0]);
+            FieldElement v1 = a[1].mul(b[1]);
+            FieldElement c0 = v0.add(field.mulByNonResidue(a[2].mul(b[1])));
+            FieldElement c1 = a[0].add(a[1]).mul(b[0].add(b[1])).sub(v0).sub(v1);
+            FieldElement c2 = a[2].mul(b[0]).add(v1);
+            return field.createElement(c0, c1, c2);
+        }
+
+        return mul(e);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses the Chung-Hasan SQR2 formula (two multiplications and three squarings in the base field).
+     */
+    @Override
+    public Fp6FieldElement square() {
+        FieldElement[] a = getCoefficients();
+        Fp6Field field = getStructure();
+
+        FieldElement s0 = a[0].square();
+        FieldElement s1 = a[0].mul(a[1]);
+        s1 = s1.add(s1);
+        FieldElement s2 = a[0].sub(a[1]).add(a[2]).square();
+        FieldElement s3 = a[1].mul(a[2]);
+        s3 = s3.add(s3);
+        FieldElement s4 = a[2].square();
+
+        FieldElement c0 = s0.add(field.mulByNonResidue(s3));
+        FieldElement c1 = s1.add(field.mulByNonResidue(s4));
+        FieldElement c2 = s1.add(s2).add(s3).sub(s0).sub(s4);
+
+        return field.createElement(c0, c1, c2);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Multiplies the adjugate with the inverse of the norm, i.e. only a single inversion in the base field.
+     */
+    @Override
+    public Fp6FieldElement inv() throws UnsupportedOperationException {
+        FieldElement[] a = getCoefficients();
+        Fp6Field field = getStructure();
+
+        FieldElement t0 = a[0].square().sub(field.mulByNonResidue(a[1].mul(a[2])));
+        FieldElement t1 = field.mulByNonResidue(a[2].square()).sub(a[0].mul(a[1]));
+        FieldElement t2 = a[1].square().sub(a[0].mul(a[2]));
+
+        FieldElement normInverse = a[0].mul(t0).add(field.mulByNonResidue(a[2].mul(t1).add(a[1].mul(t2)))).inv();
+
+        return field.createElement(t0.mul(normInverse), t1.mul(normInverse), t2.mul(normInverse));
+    }
+
+    /**
+     * Computes \(\text{this} \cdot x\), which only needs a single multiplication with \(\xi\).
+     */
+    public Fp6FieldElement mulByX() {
+        FieldElement[] a = getCoefficients();
+        return getStructure().createElement(getStructure().mulByNonResidue(a[2]), a[0], a[1]);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Uses \((x^i)^p = \xi^{i(p-1)/3} x^i\) with precomputed constants.
+     */
+    @Override
+    public Fp6FieldElement applyFrobenius() {
+        FieldElement[] gamma = getStructure().getFrobeniusCoefficients();
+        if (gamma == null)
+            return (Fp6FieldElement) super.applyFrobenius();
+
+        FieldElement[] a = getCoefficients();
+        return getStructure().createElement(
+                a[0].applyFrobenius(),
+                a[1].applyFrobenius().mul(gamma[1]),
+                a[2].applyFrobenius().mul(gamma[2])
+        );
+    }
+}
@@ -32,12 +32,11 @@ public abstract class FiniteFieldTools {
 
     /**
      * Computes the square root of the given element.
+     * <p>
+     * For fields of size \(q = 3 \bmod 4\), this is deterministic and costs a single exponentiation
+     * (\(x^{(q+1)/4}\)), otherwise the probabilistic Tonelli-Shanks algorithm is used.
      */
     public static FieldElement sqrt(FieldElement element) {
-        if (!isSquare(element)) {
-            throw new ArithmeticException(element + "is not a square");
-        }
-
         if (element.isZero())
             return element;
 
@@ -46,6 +45,19 @@ public abstract class FiniteFieldTools {
         BigInteger q = field.sizeUnitGroup();
         FieldElement t, r;
 
+        /* for q = 3 mod 4, x^((q+1)/4) is a root of x if x is a square */
+        if (q.testBit(1) && !q.testBit(0)) {
+            r = element.pow(q.add(BigInteger.valueOf(2)).shiftRight(2));
+            if (!r.square().equals(element)) {
+                throw new ArithmeticException(element + "is not a square");
+            }
+            return r;
+        }
+
+        if (!isSquare(element)) {
+            throw new ArithmeticException(element + "is not a square");
+        }
+
         /* implementation of Tonelli-Shanks */
 
         FieldElement z = field.getOneElement();
@@ -1,13 +1,12 @@
 package org.cryptimeleon.math.structures.rings.polynomial;
 
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.math.BigInteger;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -43,20 +42,17 @@ public class LagrangeUtils {
         // Given g_1 = g^p(1), ..., g_m = g^p(m), interpolate g^p(x) by calculating
         // g^p(x) = g_1^l_1(x) op g_2^l_2(x) op ... op g_m^l_m(x)
 
-        // Calculate g_1^l_1(x)
-        Set<BigInteger> xcoordinates = givenElems.keySet();
+        // Calculate all l_i(x) using a single inversion
+        Zp zp = (Zp) givenElems.values().iterator().next().getStructure().getZn();
+        Map<BigInteger, BigInteger> coefficients = computeCoefficients(givenElems.keySet(), newCoord, zp);
+
         Iterator<Map.Entry<BigInteger, GroupElement>> iterator = givenElems.entrySet().iterator();
         Map.Entry<BigInteger, GroupElement> firstEntry = iterator.next();
-        Zp zp = (Zp) firstEntry.getValue().getStructure().getZn();
-        GroupElement result = firstEntry.getValue().pow(
-                computeCoefficient(firstEntry.getKey(), xcoordinates, newCoord, zp)
-        );
+        GroupElement result = firstEntry.getValue().pow(coefficients.get(firstEntry.getKey()));
         // Now do interpolation for rest of elements
         while (iterator.hasNext()) {
             Map.Entry<BigInteger, GroupElement> nextEntry = iterator.next();
-            result = result.op(nextEntry.getValue().pow(
-                    computeCoefficient(nextEntry.getKey(), xcoordinates, newCoord, zp)
-            ));
+            result = result.op(nextEntry.getValue().pow(coefficients.get(nextEntry.getKey())));
         }
         return result;
     }
@@ -71,15 +67,53 @@ public class LagrangeUtils {
      */
     public static ZpElement computeCoefficient(ZpElement i, Set<ZpElement> S,
                                                   ZpElement x) {
-        ZpElement result = i.getStructure().getOneElement();
+        ZpElement numerator = i.getStructure().getOneElement();
+        ZpElement denominator = i.getStructure().getOneElement();
         for (ZpElement j : S) {
             if (j.equals(i)) {
                 continue;
             }
-            ZpElement numerator = x.sub(j);
-            ZpElement denominator = i.sub(j);
+            numerator = numerator.mul(x.sub(j));
+            denominator = denominator.mul(i.sub(j));
+        }
+        return numerator.mul(denominator.inv());
+    }
+
+    /**
+     * Compute the Lagrange coefficients \(\ell_j(x)\) for all \(j \in S\) over the specified field.
+     * <p>
+     * All denominators are inverted at once via {@link Zp#batchInvert(List)}.
+     *
+     * @param S set of x coordinates
+     * @param x x coordinate to evaluate the lagrange basis polynomials at
+     * @param field the field to do the computation over
+     * @return map from each j in S to the lagrange basis polynomial \(\ell_j\) evaluated at {@code x}
+     */
+    public static Map<BigInteger, BigInteger> computeCoefficients(Set<BigInteger> S, BigInteger x, Zp field) {
+        List<BigInteger> coordinates = new ArrayList<>(S);
+        List<ZpElement> elements = coordinates.stream().map(field::createZnElement).collect(Collectors.toList());
+        ZpElement xElement = field.createZnElement(x);
+
+        List<ZpElement> numerators = new ArrayList<>(elements.size());
+        List<ZpElement> denominators = new ArrayList<>(elements.size());
+        for (ZpElement i : elements) {
+            ZpElement numerator = field.getOneElement();
+            ZpElement denominator = field.getOneElement();
+            for (ZpElement j : elements) {
+                if (j.equals(i)) {
+                    continue;
+                }
+                numerator = numerator.mul(xElement.sub(j));
+                denominator = denominator.mul(i.sub(j));
+            }
+            numerators.add(numerator);
+            denominators.add(denominator);
+        }
 
-            result = result.mul(numerator.div(denominator));
+        List<FieldElement> inverses = field.batchInvert(denominators);
+        Map<BigInteger, BigInteger> result = new HashMap<>();
+        for (int i = 0; i < coordinates.size(); i++) {
+            result.put(coordinates.get(i), numerators.get(i).mul(inverses.get(i)).getInteger());
         }
         return result;
     }
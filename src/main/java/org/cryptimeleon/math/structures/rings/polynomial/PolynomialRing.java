@@ -5,6 +5,8 @@ import org.cryptimeleon.math.serialization.ListRepresentation;
 import org.cryptimeleon.math.serialization.RepresentableRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.Ring;
 import org.cryptimeleon.math.structures.rings.RingElement;
 import org.cryptimeleon.math.structures.rings.cartesian.RingElementVector;
@@ -13,6 +15,7 @@ import org.cryptimeleon.math.structures.rings.zn.Zp.ZpElement;
 
 import java.math.BigInteger;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * A polynomial ring over a given base commutative {@link Ring}.
@@ -639,19 +642,31 @@ public class PolynomialRing implements Ring {
             c[i + 1] = ring.getOneElement();
         }
 
-        final RingElement[] tc = new RingElement[numberOfCoefficients];
+        // calculate the divisors \prod\limits_{i\neq j}(x_i - x_j)
+        // d[i] = (x[i]-x[0])...(x[i]-x[i-1])(x[i]-x[i+1])...(x[i]-x[n-1])
+        List<RingElement> d = new ArrayList<>(numberOfCoefficients);
         for (int i = 0; i < numberOfCoefficients; i++) {
-            // calculate the divisor \prod\limits_{i\neq j}(x_i - x_j)
-            // d = (x[i]-x[0])...(x[i]-x[i-1])(x[i]-x[i+1])...(x[i]-x[n-1])
-            RingElement d = ring.getOneElement();
+            RingElement di = ring.getOneElement();
             for (int j = 0; j < numberOfCoefficients; j++) {
                 if (i != j) {
-                    d = d.mul(xValues[i].add(xValues[j].neg()));
+                    di = di.mul(xValues[i].add(xValues[j].neg()));
                 }
             }
+            d.add(di);
+        }
+
+        // invert all divisors at once if possible
+        List<? extends RingElement> dInverses;
+        if (ring instanceof Field) {
+            dInverses = ((Field) ring).batchInvert(d.stream().map(di -> (FieldElement) di).collect(Collectors.toList()));
+        } else {
+            dInverses = d.stream().map(RingElement::inv).collect(Collectors.toList());
+        }
 
+        final RingElement[] tc = new RingElement[numberOfCoefficients];
+        for (int i = 0; i < numberOfCoefficients; i++) {
             // t = \frac{x_i}{d}
-            final RingElement t = dataPoints.get(xValues[i]).mul(d.inv());
+            final RingElement t = dataPoints.get(xValues[i]).mul(dInverses.get(i));
 
             // Lagrange polynomial is the sum of n terms, each of which is a
             // polynomial of degree n-1. tc[] are the coefficients of the i-th
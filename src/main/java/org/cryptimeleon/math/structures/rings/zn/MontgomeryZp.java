@@ -0,0 +1,360 @@
+package org.cryptimeleon.math.structures.rings.zn;
+
+import org.cryptimeleon.math.serialization.Representation;
+import org.cryptimeleon.math.structures.Element;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A version of {@link Zp} whose elements are stored in Montgomery form.
+ * <p>
+ * An element \(a\) is stored as \(aR \bmod p\) with \(R = 2^{32s}\) in a {@code long[]} of \(s\) limbs,
+ * each limb holding 32 bits (least significant limb first), so that limb products fit into a {@code long}.
+ * Multiplication uses the CIOS (coarsely integrated operand scanning) variant of Montgomery multiplication
+ * and does not allocate any {@code BigInteger}s.
+ * Integer representatives (see {@link ZnElement#getInteger()}) are only computed when needed.
+ * <p>
+ * This field is equal to {@code new Zp(p)} and its elements are equal to (and can be mixed with)
+ * the corresponding {@link ZpElement}s, it is merely a faster backend for fields of moderate size
+ * (e.g. 256 bit primes used for elliptic curves).
+ */
+public class MontgomeryZp extends Zp {
+    private static final long MASK = 0xFFFFFFFFL;
+
+    /**
+     * Number of 32 bit limbs \(s\).
+     */
+    private int limbCount;
+
+    /**
+     * The modulus p as limbs.
+     */
+    private long[] modulus;
+
+    /**
+     * \(-p^{-1} \bmod 2^{32}\).
+     */
+    private long modulusInverse;
+
+    /**
+     * \(R^2 \bmod p\), used to convert into Montgomery form.
+     */
+    private long[] rSquared;
+
+    /**
+     * Construct the field {@code Zp} using a given prime {@code p}.
+     *
+     * @param p an odd prime number (is checked probabilistically)
+     * @throws IllegalArgumentException if p is not an odd prime
+     */
+    public MontgomeryZp(BigInteger p) {
+        super(p);
+        if (!p.testBit(0))
+            throw new IllegalArgumentException("Montgomery arithmetic requires an odd modulus");
+    }
+
+    public MontgomeryZp(Representation repr) {
+        super(repr);
+    }
+
+    /**
+     * Sets up the Montgomery parameters.
+     * Called lazily since the {@link Zn} constructor already creates elements.
+     */
+    private void initMontgomeryParameters() {
+        limbCount = (n.bitLength() + 31) / 32;
+        modulus = toLimbs(n);
+
+        // Newton iteration for p^{-1} mod 2^32 (each step doubles the number of correct bits)
+        long inverse = modulus[0];
+        for (int i = 0; i < 5; i++) {
+            inverse = (inverse * (2 - modulus[0] * inverse)) & MASK;
+        }
+        modulusInverse = (-inverse) & MASK;
+
+        rSquared = toLimbs(BigInteger.ONE.shiftLeft(64 * limbCount).mod(n));
+    }
+
+    private long[] toLimbs(BigInteger value) {
+        long[] result = new long[limbCount];
+        byte[] bytes = value.toByteArray();
+        for (int i = 0; i < bytes.length && i / 4 < limbCount; i++) {
+            result[i / 4] |= (bytes[bytes.length - 1 - i] & 0xFFL) << (8 * (i % 4));
+        }
+        return result;
+    }
+
+    private BigInteger fromLimbs(long[] limbs) {
+        byte[] bytes = new byte[4 * limbCount];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[bytes.length - 1 - i] = (byte) (limbs[i / 4] >>> (8 * (i % 4)));
+        }
+        return new BigInteger(1, bytes);
+    }
+
+    /**
+     * Computes \(abR^{-1} \bmod p\) for \(a, b < p\).
+     */
+    private long[] montgomeryMultiply(long[] a, long[] b) {
+        int s = limbCount;
+        long[] t = new long[s + 2];
+        for (int i = 0; i < s; i++) {
+            // t = t + a * b[i]
+            long bi = b[i];
+            long carry = 0;
+            for (int j = 0; j < s; j++) {
+                // fits into 64 unsigned bits: (2^32-1)^2 + 2 * (2^32-1) = 2^64-1
+                long sum = t[j] + a[j] * bi + carry;
+                t[j] = sum & MASK;
+                carry = sum >>> 32;
+            }
+            long sum = t[s] + carry;
+            t[s] = sum & MASK;
+            t[s + 1] = sum >>> 32;
+
+            // t = (t + m * p) / 2^32 with m chosen such that the division is exact
+            long m = (t[0] * modulusInverse) & MASK;
+            carry = (t[0] + m * modulus[0]) >>> 32;
+            for (int j = 1; j < s; j++) {
+                sum = t[j] + m * modulus[j] + carry;
+                t[j - 1] = sum & MASK;
+                carry = sum >>> 32;
+            }
+            sum = t[s] + carry;
+            t[s - 1] = sum & MASK;
+            t[s] = t[s + 1] + (sum >>> 32);
+        }
+
+        // t < 2p, reduce once
+        long[] result = Arrays.copyOf(t, s);
+        if (t[s] != 0 || compare(result, modulus) >= 0)
+            subtractInPlace(result, modulus);
+        return result;
+    }
+
+    private static int compare(long[] a, long[] b) {
+        for (int i = a.length - 1; i >= 0; i--) {
+            if (a[i] != b[i])
+                return a[i] < b[i] ? -1 : 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Computes a - b (mod 2^{32s}) in place.
+     */
+    private static void subtractInPlace(long[] a, long[] b) {
+        long borrow = 0;
+        for (int i = 0; i < a.length; i++) {
+            long diff = a[i] - b[i] - borrow;
+            a[i] = diff & MASK;
+            borrow = (diff >>> 63);
+        }
+    }
+
+    /**
+     * Computes a + b (mod 2^{32s}) in place and returns the carry.
+     */
+    private static long addInPlace(long[] a, long[] b) {
+        long carry = 0;
+        for (int i = 0; i < a.length; i++) {
+            long sum = a[i] + b[i] + carry;
+            a[i] = sum & MASK;
+            carry = sum >>> 32;
+        }
+        return carry;
+    }
+
+    private long[] toMontgomery(BigInteger vBetween0andN) {
+        return montgomeryMultiply(toLimbs(vBetween0andN), rSquared);
+    }
+
+    private long[] getLimbs(Element e) {
+        if (e instanceof MontgomeryZpElement)
+            return ((MontgomeryZpElement) e).limbs;
+        return toMontgomery(((ZnElement) e).getInteger());
+    }
+
+    @Override
+    protected MontgomeryZpElement createZnElementUnsafe(BigInteger vBetween0andN) {
+        if (modulus == null)
+            initMontgomeryParameters();
+        return new MontgomeryZpElement(toMontgomery(vBetween0andN), vBetween0andN);
+    }
+
+    @Override
+    public MontgomeryZpElement createZnElement(BigInteger v) {
+        return createZnElementUnsafe(v.mod(n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Works directly on the Montgomery representations.
+     */
+    @Override
+    public List<FieldElement> batchInvert(List<? extends FieldElement> elements) throws UnsupportedOperationException {
+        List<FieldElement> result = new ArrayList<>(elements.size());
+        if (elements.isEmpty())
+            return result;
+
+        // products[i] is the product of the first i+1 elements
+        long[][] products = new long[elements.size()][];
+        products[0] = getLimbs(elements.get(0));
+        for (int i = 1; i < products.length; i++) {
+            products[i] = montgomeryMultiply(products[i-1], getLimbs(elements.get(i)));
+        }
+
+        long[] inverse = new MontgomeryZpElement(products[products.length-1], null).inv().limbs;
+        long[][] inverses = new long[products.length][];
+        for (int i = products.length - 1; i > 0; i--) {
+            inverses[i] = montgomeryMultiply(inverse, products[i-1]);
+            inverse = montgomeryMultiply(inverse, getLimbs(elements.get(i)));
+        }
+        inverses[0] = inverse;
+
+        for (long[] inv : inverses) {
+            result.add(new MontgomeryZpElement(inv, null));
+        }
+        return result;
+    }
+
+    /**
+     * An element of {@link MontgomeryZp}, stored in Montgomery form.
+     */
+    public class MontgomeryZpElement extends ZpElement {
+        /**
+         * \(aR \bmod p\) where \(a\) is the represented element.
+         */
+        private final long[] limbs;
+
+        /**
+         * Construct an element from its Montgomery form.
+         *
+         * @param limbs the Montgomery form \(aR \bmod p\)
+         * @param v the integer representative \(a\) if already known, or null to compute it lazily
+         */
+        private MontgomeryZpElement(long[] limbs, BigInteger v) {
+            super(v);
+            this.limbs = limbs;
+        }
+
+        @Override
+        public BigInteger getInteger() {
+            if (v == null)
+                v = fromLimbs(montgomeryMultiply(limbs, toLimbs(BigInteger.ONE)));
+            return v;
+        }
+
+        @Override
+        public MontgomeryZpElement add(Element e) {
+            checkSameModulus(e);
+            long[] result = Arrays.copyOf(limbs, limbCount);
+            if (addInPlace(result, getLimbs(e)) != 0 || compare(result, modulus) >= 0)
+                subtractInPlace(result, modulus);
+            return new MontgomeryZpElement(result, null);
+        }
+
+        @Override
+        public MontgomeryZpElement sub(Element e) {
+            checkSameModulus(e);
+            long[] other = getLimbs(e);
+            long[] result = Arrays.copyOf(limbs, limbCount);
+            if (compare(result, other) < 0)
+                addInPlace(result, modulus); // overflow is cancelled by the subtraction
+            subtractInPlace(result, other);
+            return new MontgomeryZpElement(result, null);
+        }
+
+        @Override
+        public MontgomeryZpElement neg() {
+            if (isZero())
+                return this;
+            long[] result = Arrays.copyOf(modulus, limbCount);
+            subtractInPlace(result, limbs);
+            return new MontgomeryZpElement(result, null);
+        }
+
+        @Override
+        public MontgomeryZpElement mul(Element e) {
+            checkSameModulus(e);
+            return new MontgomeryZpElement(montgomeryMultiply(limbs, getLimbs(e)), null);
+        }
+
+        @Override
+        public MontgomeryZpElement mul(BigInteger k) {
+            return mul(createZnElement(k));
+        }
+
+        @Override
+        public MontgomeryZpElement mul(long k) {
+            return mul(BigInteger.valueOf(k));
+        }
+
+        @Override
+        public MontgomeryZpElement square() {
+            return new MontgomeryZpElement(montgomeryMultiply(limbs, limbs), null);
+        }
+
+        @Override
+        public MontgomeryZpElement pow(BigInteger k) {
+            return createZnElementUnsafe(getInteger().modPow(k, n));
+        }
+
+        @Override
+        public MontgomeryZpElement pow(long k) {
+            return pow(BigInteger.valueOf(k));
+        }
+
+        @Override
+        public MontgomeryZpElement inv() throws UnsupportedOperationException {
+            try {
+                return createZnElementUnsafe(getInteger().modInverse(n));
+            } catch (ArithmeticException e) {
+                throw new UnsupportedOperationException("This element (" + getInteger() + ") is not invertible modulo " + n);
+            }
+        }
+
+        @Override
+        public boolean isZero() {
+            for (long limb : limbs) {
+                if (limb != 0)
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isOne() {
+            return Arrays.equals(limbs, getOneElement().limbs);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof MontgomeryZpElement) {
+                MontgomeryZpElement e = (MontgomeryZpElement) obj;
+                return getStructure().equals(e.getStructure()) && Arrays.equals(limbs, e.limbs);
+            }
+            return super.equals(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return getInteger().hashCode();
+        }
+    }
+
+    @Override
+    public MontgomeryZpElement getOneElement() {
+        return (MontgomeryZpElement) super.getOneElement();
+    }
+
+    @Override
+    public MontgomeryZpElement getZeroElement() {
+        return (MontgomeryZpElement) super.getZeroElement();
+    }
+}
@@ -0,0 +1,71 @@
+package org.cryptimeleon.math.structures.rings.zn;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A thread-safe map whose values are only weakly referenced.
+ * <p>
+ * Used to hand out canonical instances (see {@link Zn#of(java.math.BigInteger)}) without keeping unused instances alive.
+ * Entries whose value has been garbage collected are removed on subsequent accesses.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+class WeakValueCache<K, V> {
+    private final ConcurrentHashMap<K, KeyedReference<K, V>> map = new ConcurrentHashMap<>();
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    /**
+     * Returns the value currently stored for {@code key}, or computes, stores and returns a new one.
+     * <p>
+     * {@code factory} is called without holding any locks, so it may be called more than once for the same key
+     * by concurrent callers. In that case, all callers still receive the same (first stored) instance.
+     *
+     * @param key the key
+     * @param factory computes a new value for a given key
+     * @return the canonical value for {@code key}
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        expungeStaleEntries();
+
+        KeyedReference<K, V> ref = map.get(key);
+        V value = ref == null ? null : ref.get();
+        if (value != null)
+            return value;
+
+        V newValue = factory.apply(key);
+        KeyedReference<K, V> newRef = new KeyedReference<>(key, newValue, queue);
+        while (true) {
+            KeyedReference<K, V> existing = map.putIfAbsent(key, newRef);
+            if (existing == null)
+                return newValue;
+            V existingValue = existing.get();
+            if (existingValue != null)
+                return existingValue;
+            if (map.replace(key, existing, newRef))
+                return newValue;
+        }
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends V> ref;
+        while ((ref = queue.poll()) != null) {
+            @SuppressWarnings("unchecked")
+            KeyedReference<K, V> keyedRef = (KeyedReference<K, V>) ref;
+            map.remove(keyedRef.key, keyedRef);
+        }
+    }
+
+    private static class KeyedReference<K, V> extends WeakReference<V> {
+        private final K key;
+
+        KeyedReference(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
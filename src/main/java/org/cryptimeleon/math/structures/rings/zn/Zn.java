@@ -11,13 +11,27 @@ import org.cryptimeleon.math.structures.rings.Ring;
 import org.cryptimeleon.math.structures.rings.RingElement;
 
 import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.WeakHashMap;
 
 /**
  * The ring of integers modulo n.
  */
 public class Zn implements Ring {
+    /**
+     * Canonical instances handed out by {@link #of(BigInteger)}.
+     */
+    private static final WeakValueCache<BigInteger, Zn> instances = new WeakValueCache<>();
+
+    /**
+     * Cached results of {@link #isProbablePrime(BigInteger)}.
+     * Keys are weakly referenced, so entries live as long as the modulus objects (e.g. of some {@code Zp}) do.
+     */
+    private static final Map<BigInteger, Boolean> primalityCache = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * The neutral element of this ring's unit group (the one element).
      */
@@ -67,6 +81,35 @@ public class Zn implements Ring {
         this(((BigIntegerRepresentation) repr).get());
     }
 
+    /**
+     * Returns a canonical instance of the ring {@code Zn}.
+     * <p>
+     * Repeated calls with the same {@code n} return the same instance (as long as it is still referenced elsewhere),
+     * which is cheaper than constructing a new ring every time.
+     *
+     * @param n number of elements in the ring
+     */
+    public static Zn of(BigInteger n) {
+        return instances.computeIfAbsent(n, Zn::new);
+    }
+
+    /**
+     * Checks (probabilistically) whether {@code n} is prime, i.e. {@code n.isProbablePrime(100)}.
+     * <p>
+     * Results are cached, so repeated checks of the same modulus do not repeat the Miller-Rabin rounds.
+     *
+     * @param n the number to test
+     * @return true if {@code n} is probably prime, false if it is definitely composite
+     */
+    public static boolean isProbablePrime(BigInteger n) {
+        Boolean result = primalityCache.get(n);
+        if (result == null) {
+            result = n.isProbablePrime(100);
+            primalityCache.put(n, result);
+        }
+        return result;
+    }
+
     @Override
     public BigInteger size() {
         return n;
@@ -75,7 +118,7 @@ public class Zn implements Ring {
     @Override
     public boolean hasPrimeSize() throws UnsupportedOperationException {
         if (nIsPrime == null)
-            nIsPrime = n.isProbablePrime(80);
+            nIsPrime = isProbablePrime(n);
         return nIsPrime;
     }
 
@@ -136,15 +179,20 @@ public class Zn implements Ring {
         /**
          * The unique integer {@code v} such that {@code 0 <= v < n} and {@code v} projects
          * to the represented element in {@code Zn}.
+         * <p>
+         * Subclasses that store elements differently (e.g. {@link MontgomeryZp}) may compute this lazily,
+         * hence other elements' representatives should be accessed via {@link #getInteger()}.
          */
-        protected final BigInteger v;
+        protected BigInteger v;
 
         /**
          * Construct a new {@code ZnElement} initialized as {@code [v] mod n} (must reduce {@code v} before calling!).
+         * <p>
+         * {@code v} may only be null if the subclass overrides {@link #getInteger()} to compute it lazily.
          */
         protected ZnElement(BigInteger v) {
             this.v = v;
-            if (v.compareTo(n) >= 0 || v.signum() < 0)
+            if (v != null && (v.compareTo(n) >= 0 || v.signum() < 0))
                 throw new RuntimeException("The given integer is not in Zn");
         }
 
@@ -163,7 +211,7 @@ public class Zn implements Ring {
         @Override
         public ZnElement add(Element e) {
             checkSameModulus(e);
-            BigInteger result = v.add(((ZnElement) e).v);
+            BigInteger result = v.add(((ZnElement) e).getInteger());
             if (result.compareTo(n) >= 0)
                 result = result.subtract(n);
             return createZnElementUnsafe(result);
@@ -177,7 +225,7 @@ public class Zn implements Ring {
         @Override
         public ZnElement sub(Element e) {
             checkSameModulus(e);
-            BigInteger result = v.subtract(((ZnElement)e).v);
+            BigInteger result = v.subtract(((ZnElement) e).getInteger());
             if (result.signum() == -1)
                 result = result.add(n);
             return createZnElementUnsafe(result);
@@ -186,7 +234,7 @@ public class Zn implements Ring {
         @Override
         public ZnElement mul(Element e) {
             checkSameModulus(e);
-            return createZnElementUnsafe(v.multiply(((ZnElement) e).v).mod(n));
+            return createZnElementUnsafe(v.multiply(((ZnElement) e).getInteger()).mod(n));
         }
 
         @Override
@@ -221,7 +269,7 @@ public class Zn implements Ring {
         @Override
         public boolean divides(RingElement e) throws UnsupportedOperationException {
             // this divides e over Zn iff gcd(this, n) divides e over the integers (http://shoup.net/ntb/ntb-v2.pdf, Theorem 2.5 (i))
-            return v.gcd(n).remainder(((ZnElement) e).v).equals(BigInteger.ZERO);
+            return getInteger().gcd(n).remainder(((ZnElement) e).getInteger()).equals(BigInteger.ZERO);
         }
 
         @Override
@@ -251,17 +299,17 @@ public class Zn implements Ring {
                 return false;
             ZnElement e = (ZnElement) obj;
             return Objects.equals(getStructure(), e.getStructure())
-                    && Objects.equals(v, e.v);
+                    && Objects.equals(getInteger(), e.getInteger());
         }
 
         @Override
         public int hashCode() {
-            return v.hashCode();
+            return getInteger().hashCode();
         }
 
         @Override
         public Representation getRepresentation() {
-            return new BigIntegerRepresentation(v);
+            return new BigIntegerRepresentation(getInteger());
         }
 
         /**
@@ -273,12 +321,12 @@ public class Zn implements Ring {
 
         @Override
         public String toString() {
-            return v.toString();
+            return getInteger().toString();
         }
 
         @Override
         public ByteAccumulator updateAccumulator(ByteAccumulator accumulator) {
-            BigInteger reduced = this.v.mod(Zn.this.n);
+            BigInteger reduced = getInteger().mod(Zn.this.n);
             byte[] tmp = reduced.toByteArray();
 
             byte[] result = new byte[maxByteLength];//implicitly set to 0
@@ -297,7 +345,7 @@ public class Zn implements Ring {
 
         @Override
         public BigInteger asInteger() throws UnsupportedOperationException {
-            return v;
+            return getInteger();
         }
     }
 
@@ -318,7 +366,7 @@ public class Zn implements Ring {
      * @param modulus        the ring size
      */
     public static ZnElement valueOf(BigInteger representative, BigInteger modulus) {
-        return new Zn(modulus).valueOf(representative);
+        return of(modulus).valueOf(representative);
     }
 
     /**
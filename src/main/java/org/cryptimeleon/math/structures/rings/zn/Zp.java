@@ -8,6 +8,8 @@ import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.helpers.FiniteFieldTools;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A version of {@link Zn} where n is prime (making the ring a field).
@@ -15,6 +17,10 @@ import java.math.BigInteger;
  * This completely reuses the {@link Zn} implementation.
  */
 public class Zp extends Zn implements Field {
+    /**
+     * Canonical instances handed out by {@link #of(BigInteger)}.
+     */
+    private static final WeakValueCache<BigInteger, Zp> instances = new WeakValueCache<>();
 
     /**
      * Construct the field {@code Zp} using a given prime {@code p}.
@@ -24,16 +30,29 @@ public class Zp extends Zn implements Field {
      */
     public Zp(BigInteger p) {
         super(p);
-        if (!p.isProbablePrime(100))
+        if (!isProbablePrime(p))
             throw new IllegalArgumentException(p + " is not prime.");
     }
 
     public Zp(Representation repr) {
         super(repr);
-        if (!n.isProbablePrime(100))
+        if (!isProbablePrime(n))
             throw new IllegalArgumentException(n + " is not prime");
     }
 
+    /**
+     * Returns a canonical instance of the field {@code Zp}.
+     * <p>
+     * Repeated calls with the same {@code p} return the same instance (as long as it is still referenced elsewhere),
+     * so the primality test is only done once.
+     *
+     * @param p a prime number (is checked probabilistically)
+     * @throws IllegalArgumentException if p is not prime
+     */
+    public static Zp of(BigInteger p) {
+        return instances.computeIfAbsent(p, Zp::new);
+    }
+
     @Override
     public BigInteger sizeUnitGroup() {
         return n.subtract(BigInteger.ONE);
@@ -84,6 +103,44 @@ public class Zp extends Zn implements Field {
         return (ZpElement) super.getElement(i);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Works directly on the integer representatives, reducing modulo p after each multiplication.
+     */
+    @Override
+    public List<FieldElement> batchInvert(List<? extends FieldElement> elements) throws UnsupportedOperationException {
+        List<FieldElement> result = new ArrayList<>(elements.size());
+        if (elements.isEmpty())
+            return result;
+
+        // products[i] is the product of the first i+1 elements
+        BigInteger[] products = new BigInteger[elements.size()];
+        products[0] = ((ZpElement) elements.get(0)).getInteger();
+        for (int i = 1; i < products.length; i++) {
+            products[i] = products[i-1].multiply(((ZpElement) elements.get(i)).getInteger()).mod(n);
+        }
+
+        BigInteger inverse;
+        try {
+            inverse = products[products.length-1].modInverse(n);
+        } catch (ArithmeticException e) {
+            throw new UnsupportedOperationException("Cannot batch invert elements containing zero");
+        }
+
+        BigInteger[] inverses = new BigInteger[products.length];
+        for (int i = products.length - 1; i > 0; i--) {
+            inverses[i] = inverse.multiply(products[i-1]).mod(n);
+            inverse = inverse.multiply(((ZpElement) elements.get(i)).getInteger()).mod(n);
+        }
+        inverses[0] = inverse;
+
+        for (BigInteger inv : inverses) {
+            result.add(createZnElementUnsafe(inv));
+        }
+        return result;
+    }
+
     /**
      * The elements of {@code Zp}.
      *
@@ -249,7 +306,7 @@ public class Zp extends Zn implements Field {
      * @param modulus      the ring size
      */
     public static ZpElement valueOf(BigInteger representative, BigInteger modulus) {
-        return new Zp(modulus).new ZpElement(representative);
+        return of(modulus).new ZpElement(representative);
     }
 
     /**
@@ -46,6 +46,7 @@ public class HashFunctionTest {
         ArrayList<HashFunction> list = new ArrayList<HashFunction>();
         list.add(new SHA256HashFunction());
         list.add(new SHA512HashFunction());
+        list.add(new ExpandMessageXmd("test", 48));
         return list;
     }
 }
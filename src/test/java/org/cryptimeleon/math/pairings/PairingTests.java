@@ -2,12 +2,34 @@ package org.cryptimeleon.math.pairings;
 
 import org.cryptimeleon.math.expressions.group.GroupElementExpression;
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.GroupElementImpl;
+import org.cryptimeleon.math.structures.groups.cartesian.GroupElementVector;
 import org.cryptimeleon.math.structures.groups.counting.CountingBilinearGroup;
+import org.cryptimeleon.math.structures.groups.counting.CountingBilinearMap;
+import org.cryptimeleon.math.structures.groups.elliptic.AbstractPairing;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearMap;
+import org.cryptimeleon.math.structures.groups.elliptic.BilinearMapImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupElementImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularSourceGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularTargetGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularTateGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularTatePairing;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.AbstractBarretoNaehrigPairing;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigGroup1Impl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigGroup2Impl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigOptimalAtePairing;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigTargetGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigTatePairing;
 import org.cryptimeleon.math.structures.groups.basic.BasicBilinearGroup;
+import org.cryptimeleon.math.structures.groups.basic.BasicBilinearMap;
+import org.cryptimeleon.math.structures.groups.basic.BasicGroupElement;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.junit.Test;
@@ -88,6 +110,159 @@ public class PairingTests {
         assertEquals(pairing.apply(p1.pow(x1), p2.pow(x2)), pairing.apply(p1, p2).pow(x1.mul(x2)));
     }
 
+    @Test
+    public void testInnerProduct() {
+        GroupElement p1 = pairing.getG1().getUniformlyRandomElement(), r1 = pairing.getG1().getUniformlyRandomElement();
+        GroupElement p2 = pairing.getG2().getUniformlyRandomElement(), r2 = pairing.getG2().getUniformlyRandomElement();
+
+        GroupElementVector lhs = new GroupElementVector(p1, r1, p1.inv(), pairing.getG1().getNeutralElement());
+        GroupElementVector rhs = new GroupElementVector(p2, r2, r2, p2);
+        GroupElement expected = pairing.apply(p1, p2).op(pairing.apply(r1, r2)).op(pairing.apply(p1, r2).inv());
+
+        assertEquals(expected, pairing.innerProduct(lhs, rhs));
+        assertEquals(expected, lhs.innerProduct(rhs, pairing));
+        assertEquals(pairing.apply(p1, p2), pairing.innerProduct(new GroupElementVector(p1), new GroupElementVector(p2)));
+        assertTrue(pairing.innerProduct(new GroupElementVector(p1, p1.inv()), new GroupElementVector(p2, p2))
+                .isNeutralElement());
+        assertTrue(pairing.innerProduct(new GroupElementVector(), new GroupElementVector()).isNeutralElement());
+    }
+
+    @Test
+    public void testProductOfPairings() {
+        GroupElement p1 = pairing.getG1().getUniformlyRandomElement(), r1 = pairing.getG1().getUniformlyRandomElement();
+        GroupElement p2 = pairing.getG2().getUniformlyRandomElement(), r2 = pairing.getG2().getUniformlyRandomElement();
+        Zn.ZnElement x = pairing.getG1().getUniformlyRandomNonzeroExponent();
+
+        // computing the single pairings first prevents lazy groups from combining them
+        GroupElement e1 = pairing.apply(p1, p2).computeSync();
+        GroupElement e2 = pairing.apply(r1, r2).computeSync();
+        GroupElement e3 = pairing.apply(p1, r2).computeSync();
+        GroupElement expected = e1.pow(x).op(e2.inv()).op(e3);
+
+        assertEquals(expected, pairing.apply(p1, p2).pow(x).op(pairing.apply(r1, r2).inv()).op(pairing.apply(p1, r2)));
+        assertEquals(expected, pairing.apply(p1, p2, x).op(pairing.apply(r1, r2).op(pairing.apply(p1, r2).inv()).inv()));
+        assertTrue(pairing.apply(p1, p2).op(pairing.apply(p1.inv(), p2)).isNeutralElement());
+    }
+
+    @Test
+    public void testSharedPairingResult() {
+        GroupElement p1 = pairing.getG1().getUniformlyRandomElement(), r1 = pairing.getG1().getUniformlyRandomElement();
+        GroupElement p2 = pairing.getG2().getUniformlyRandomElement(), r2 = pairing.getG2().getUniformlyRandomElement();
+        Zn.ZnElement x = pairing.getG1().getUniformlyRandomNonzeroExponent();
+        Zn.ZnElement y = pairing.getG1().getUniformlyRandomNonzeroExponent();
+
+        GroupElement expected = pairing.apply(p1, p2).computeSync();
+        GroupElement other = pairing.apply(r1, r2).computeSync();
+
+        GroupElement t = pairing.apply(p1, p2);
+        GroupElement a = t.pow(x), b = t.pow(y), c = t.op(pairing.apply(r1, r2));
+        assertEquals(expected.pow(x), a);
+        assertEquals(expected.pow(y), b);
+        assertEquals(expected.op(other), c);
+        t = pairing.apply(p1, p2);
+        assertEquals(expected.pow(x).op(expected), t.pow(x).op(t));
+
+        if (pairing instanceof CountingBilinearMap) {
+            // e(p1, p2) is part of both products, so it should only be computed once
+            CountingBilinearMap countingPairing = (CountingBilinearMap) pairing;
+            t = pairing.apply(p1, p2);
+            a = t.op(pairing.apply(r1, r2));
+            b = t.op(pairing.apply(r1, p2));
+            countingPairing.resetNumPairings();
+            a.computeSync();
+            b.computeSync();
+            assertEquals(3, countingPairing.getNumPairings());
+
+            // uses by elements that are not pairing results count as well
+            GroupElement u = pairing.getGT().getUniformlyRandomElement();
+            t = pairing.apply(p1, p2);
+            a = u.op(t);
+            b = t.op(pairing.apply(r1, r2));
+            countingPairing.resetNumPairings();
+            b.computeSync();
+            a.computeSync();
+            assertEquals(2, countingPairing.getNumPairings());
+        }
+    }
+
+    @Test
+    public void testPrecomputePairing() {
+        GroupElement p1 = pairing.getG1().getUniformlyRandomElement(), r1 = pairing.getG1().getUniformlyRandomElement();
+        GroupElement p2 = pairing.getG2().getUniformlyRandomElement(), r2 = pairing.getG2().getUniformlyRandomElement();
+
+        GroupElement expected1 = pairing.apply(p1, p2).computeSync();
+        GroupElement expected2 = pairing.apply(r1, p2).computeSync();
+        GroupElement expected3 = pairing.apply(p1, r2).computeSync();
+
+        pairing.precomputePairing(p1);
+        pairing.precomputePairing(p2);
+
+        assertEquals(expected1, pairing.apply(p1, p2));
+        assertEquals(expected2, pairing.apply(r1, p2));
+        assertEquals(expected3, pairing.apply(p1, r2));
+        assertEquals(expected1.op(expected2).op(expected3),
+                pairing.innerProduct(new GroupElementVector(p1, r1, p1), new GroupElementVector(p2, p2, r2)));
+    }
+
+    @Test
+    public void testProjectiveMillerLoop() {
+        if (!(pairing instanceof BasicBilinearMap))
+            return;
+        BilinearMapImpl impl = ((BasicBilinearMap) pairing).getImpl();
+
+        BilinearGroupImpl group;
+        AbstractPairing affine;
+        if (impl instanceof SupersingularTatePairing) {
+            group = new SupersingularTateGroupImpl(80);
+            affine = new SupersingularTatePairing((SupersingularSourceGroupImpl) group.getG1(),
+                    (SupersingularTargetGroupImpl) group.getGT(), false);
+        } else if (impl instanceof AbstractBarretoNaehrigPairing) {
+            boolean optimalAte = impl instanceof BarretoNaehrigOptimalAtePairing;
+            group = new BarretoNaehrigBilinearGroupImpl(optimalAte ? "SFC-256-OptimalAte" : "SFC-256");
+            BarretoNaehrigGroup1Impl g1 = (BarretoNaehrigGroup1Impl) group.getG1();
+            BarretoNaehrigGroup2Impl g2 = (BarretoNaehrigGroup2Impl) group.getG2();
+            BarretoNaehrigTargetGroupImpl gT = (BarretoNaehrigTargetGroupImpl) group.getGT();
+            BigInteger u = ((AbstractBarretoNaehrigPairing) group.getBilinearMap()).getU();
+            affine = optimalAte ? new BarretoNaehrigOptimalAtePairing(g1, g2, gT, u, false)
+                    : new BarretoNaehrigTatePairing(g1, g2, gT, u, false);
+        } else {
+            return;
+        }
+        AbstractPairing projective = (AbstractPairing) group.getBilinearMap();
+
+        GroupElementImpl p1 = group.getG1().getUniformlyRandomElement(), r1 = group.getG1().getUniformlyRandomElement();
+        GroupElementImpl p2 = group.getG2().getUniformlyRandomElement(), r2 = group.getG2().getUniformlyRandomElement();
+
+        assertTrue(projective.isProjectiveMillerLoop());
+        assertFalse(affine.isProjectiveMillerLoop());
+        GroupElementImpl expected = projective.apply(p1, p2);
+        assertEquals(expected, affine.apply(p1, p2));
+        assertEquals(projective.applyProduct(Arrays.asList(p1, r1), Arrays.asList(p2, r2)),
+                affine.applyProduct(Arrays.asList(p1, r1), Arrays.asList(p2, r2)));
+
+        // lines precomputed with projective coordinates must not be used by the affine pairing and vice versa
+        projective.precomputePairing(p1);
+        projective.precomputePairing(p2);
+        assertEquals(expected, affine.apply(p1, p2));
+        assertEquals(expected, projective.apply(p1, p2));
+    }
+
+    @Test
+    public void testFinalExponentiation() {
+        if (!(pairing instanceof BasicBilinearMap)
+                || !(((BasicBilinearMap) pairing).getImpl() instanceof AbstractBarretoNaehrigPairing))
+            return;
+        AbstractBarretoNaehrigPairing impl = (AbstractBarretoNaehrigPairing) ((BasicBilinearMap) pairing).getImpl();
+        PairingTargetGroupImpl gT = ((PairingTargetGroupElementImpl) ((BasicGroupElement) pairing.getGT().getGenerator())
+                .getConcreteGroupElement()).getStructure();
+
+        // the addition chain for the hard part must agree with the generic exponentiation by (p^12-1)/r
+        for (int i = 0; i < 3; i++) {
+            FieldElement f = gT.getFieldOfDefinition().getUniformlyRandomUnit();
+            assertEquals(gT.getElement((ExtensionFieldElement) f.pow(gT.getCofactor())), impl.exponentiate(f));
+        }
+    }
+
     @Parameters(name = "Test: {0}") // add (name="Test: {0}") for jUnit 4.12+ to print Pairing's name to test
     public static Collection<BilinearMap[]> data() {
         // Counting curves
@@ -104,13 +279,17 @@ public class PairingTests {
         // BN curves
         BilinearGroup bnGroup = new BasicBilinearGroup(new BarretoNaehrigBilinearGroupImpl(80));
         BilinearGroup sfcBn = new BasicBilinearGroup(new BarretoNaehrigBilinearGroupImpl("SFC-256"));
+        BilinearGroup sfcBnOptimalAte = new BasicBilinearGroup(new BarretoNaehrigBilinearGroupImpl("SFC-256-OptimalAte"));
+        BilinearGroup lazySfcBnOptimalAte = new BarretoNaehrigBilinearGroup("SFC-256-OptimalAte");
 
         // Collect parameters
         BilinearMap[][] params = new BilinearMap[][] {
                 {countingGroup1.getBilinearMap()}, {countingGroup2.getBilinearMap()}, {countingGroup3.getBilinearMap()},
                 {supsingGroup.getBilinearMap()},
                 {bnGroup.getBilinearMap()},
-                { sfcBn.getBilinearMap()}
+                { sfcBn.getBilinearMap()},
+                {sfcBnOptimalAte.getBilinearMap()},
+                {lazySfcBnOptimalAte.getBilinearMap()}
         };
         return Arrays.asList(params);
     }
@@ -1,5 +1,6 @@
 package org.cryptimeleon.math.serialization.standalone.params;
 
+import org.cryptimeleon.math.hash.impl.ExpandMessageXmd;
 import org.cryptimeleon.math.hash.impl.VariableOutputLengthHashFunction;
 import org.cryptimeleon.math.serialization.standalone.StandaloneReprSubTest;
 
@@ -7,4 +8,8 @@ public class HashStandaloneReprTest extends StandaloneReprSubTest {
     public void testVariableLengthHash() {
         test(new VariableOutputLengthHashFunction(10));
     }
+
+    public void testExpandMessageXmd() {
+        test(new ExpandMessageXmd("test", 48));
+    }
 }
@@ -9,14 +9,20 @@ import org.cryptimeleon.math.structures.groups.counting.CountingBilinearGroup;
 import org.cryptimeleon.math.structures.groups.counting.CountingBilinearGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularBilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.type1.supersingular.SupersingularTateGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigGroup2Impl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigPsiPointEncoding;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigSourceGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigSvdwEncoding;
 import org.cryptimeleon.math.structures.groups.lazy.LazyBilinearGroup;
 import org.cryptimeleon.math.structures.groups.sn.Sn;
 import org.cryptimeleon.math.structures.rings.cartesian.ProductRing;
 import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.Fp12Field;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
 import org.cryptimeleon.math.structures.rings.zn.*;
 
@@ -67,6 +73,12 @@ public class StructureStandaloneReprTest extends StandaloneReprSubTest {
     public void testBarretoNaehrig() {
         testBilinearGroup(new BarretoNaehrigBilinearGroup(80));
         testBilinearGroupImpl(new BarretoNaehrigBilinearGroupImpl(80));
+        testBilinearGroupImpl(new BarretoNaehrigBilinearGroupImpl("SFC-256-OptimalAte"));
+
+        BarretoNaehrigBilinearGroupImpl bn = new BarretoNaehrigBilinearGroupImpl(80);
+        test(new BarretoNaehrigPsiPointEncoding((BarretoNaehrigGroup2Impl) bn.getG2()));
+        test(new BarretoNaehrigSvdwEncoding((BarretoNaehrigSourceGroupImpl) bn.getG1()));
+        test(new BarretoNaehrigSvdwEncoding((BarretoNaehrigSourceGroupImpl) bn.getG2(), "test"));
     }
 
     public void testSupersingular() {
@@ -88,6 +100,12 @@ public class StructureStandaloneReprTest extends StandaloneReprSubTest {
 
     public void testExtensionField() {
         test(new ExtensionField(BigInteger.valueOf(17)));
+
+        Fp12Field fp12 = (Fp12Field) ((PairingTargetGroupImpl) new BarretoNaehrigBilinearGroupImpl("SFC-256").getGT())
+                .getFieldOfDefinition();
+        test(fp12);
+        test(fp12.getFp6Field());
+        test(fp12.getBaseField());
     }
 
     public void testProductStructures() {
@@ -113,6 +131,7 @@ public class StructureStandaloneReprTest extends StandaloneReprSubTest {
     public void testRings() {
         test(zp);
         test(zn);
+        test(new MontgomeryZp(BigInteger.valueOf(100003)));
 
         test(new HashIntoZn(zp));
         test(new HashIntoZp(zp));
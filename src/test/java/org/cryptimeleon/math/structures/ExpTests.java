@@ -1,20 +1,30 @@
 package org.cryptimeleon.math.structures;
 
 import org.cryptimeleon.math.random.RandomGenerator;
+import org.cryptimeleon.math.structures.groups.GroupElement;
 import org.cryptimeleon.math.structures.groups.GroupElementImpl;
 import org.cryptimeleon.math.structures.groups.GroupImpl;
 import org.cryptimeleon.math.structures.groups.counting.CountingBilinearGroupImpl;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroup;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1;
 import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpAlgorithm;
 import org.cryptimeleon.math.structures.groups.exp.MultiExpTerm;
 import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.PowerProductPrecomputation;
 import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.groups.lazy.LazyGroup;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ExpTests {
     public static final BilinearGroupImpl bilGroup = new CountingBilinearGroupImpl(60, BilinearGroup.Type.TYPE_3);
@@ -34,6 +44,111 @@ public class ExpTests {
         }
     }
 
+    @Test
+    public void testPerTermWindowSizes() {
+        for (MultiExpAlgorithm algorithm : new MultiExpAlgorithm[] {MultiExpAlgorithm.SLIDING, MultiExpAlgorithm.WNAF}) {
+            Multiexponentiation multiexponentiation = genMultiExp(bilGroup.getG1(), 4);
+            // first term has a large precomputation, the others have none
+            multiexponentiation.getTerms().get(0).getPrecomputation().compute(8, false);
+            int[] windowSizes = multiexponentiation.computeWindowSizes(2, algorithm);
+            assertEquals(8, windowSizes[0]);
+            for (int i = 1; i < windowSizes.length; ++i)
+                assertTrue(windowSizes[i] >= 2 && windowSizes[i] < 8);
+
+            GroupElementImpl naiveResult = naiveEval(multiexponentiation);
+            GroupElementImpl result = algorithm == MultiExpAlgorithm.SLIDING
+                    ? ExponentiationAlgorithms.interleavingSlidingWindowMultiExp(multiexponentiation, windowSizes)
+                    : ExponentiationAlgorithms.interleavingWnafMultiExp(multiexponentiation, windowSizes);
+            assertEquals(naiveResult, result);
+        }
+
+        // window sizes for decomposed (shorter) exponents are no larger than for the full exponents
+        Multiexponentiation multiexponentiation = genMultiExp(bilGroup.getG1(), 2);
+        int[] fullWindowSizes = multiexponentiation.computeWindowSizes(1, MultiExpAlgorithm.WNAF);
+        int[] halfWindowSizes = multiexponentiation.computeWindowSizes(1, MultiExpAlgorithm.WNAF, new int[] {
+                multiexponentiation.getTerms().get(0).getExponent().bitLength() / 2,
+                multiexponentiation.getTerms().get(1).getExponent().bitLength() / 2
+        });
+        for (int i = 0; i < fullWindowSizes.length; ++i)
+            assertTrue(halfWindowSizes[i] <= fullWindowSizes[i]);
+
+        // extending a table pays off for long exponents only
+        for (MultiExpAlgorithm algorithm : new MultiExpAlgorithm[] {MultiExpAlgorithm.SLIDING, MultiExpAlgorithm.WNAF}) {
+            assertEquals(4, ExponentiationAlgorithms.computeInterleavingWindowSize(20, 0, 4, algorithm));
+            assertEquals(8, ExponentiationAlgorithms.computeInterleavingWindowSize(256, 8, 4, algorithm));
+            assertTrue(ExponentiationAlgorithms.computeInterleavingWindowSize(256, 1, 1, algorithm) > 3);
+        }
+        // wNAF digits are sparser than sliding windows of the same size, so extending the table saves less
+        assertEquals(5, ExponentiationAlgorithms.computeInterleavingWindowSize(256, 0, 4, MultiExpAlgorithm.SLIDING));
+        assertEquals(4, ExponentiationAlgorithms.computeInterleavingWindowSize(256, 0, 4, MultiExpAlgorithm.WNAF));
+    }
+
+    @Test
+    public void testParallelMultiExp() {
+        // parallel evaluation requires a thread-safe group, which the counting groups are not
+        GroupImpl[] groups = {new Secp256k1(), new BarretoNaehrigBilinearGroupImpl(128).getG2()};
+        for (GroupImpl groupImpl : groups) {
+            LazyGroup group = new LazyGroup(groupImpl);
+            int n = 20;
+            GroupElement expected = group.getNeutralElement();
+            GroupElement result = group.getNeutralElement();
+            for (int i = 0; i < n; ++i) {
+                GroupElement base = group.getUniformlyRandomNonNeutral().compute();
+                BigInteger exponent = group.getUniformlyRandomExponent().asInteger();
+                expected = expected.op(base.pow(exponent)).computeSync();
+                result = result.op(base.pow(exponent));
+            }
+
+            group.setParallelMultiExpThreshold(2);
+            assertEquals(expected, result.computeSync());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelMultiExpThreshold() {
+        new LazyGroup(new Secp256k1()).setParallelMultiExpThreshold(0);
+    }
+
+    @Test
+    public void testSimultaneousMultiExp() {
+        for (int numTerms = 1; numTerms <= 4; ++numTerms) {
+            Multiexponentiation multiexponentiation = genMultiExp(bilGroup.getG1(), numTerms);
+            GroupElementImpl constant = bilGroup.getG1().getUniformlyRandomNonNeutral();
+            multiexponentiation.put(constant);
+            List<GroupElementImpl> bases = new ArrayList<>();
+            for (MultiExpTerm term : multiexponentiation.getTerms())
+                bases.add(term.getBase());
+            GroupElementImpl naiveResult = naiveEval(multiexponentiation).op(constant);
+            for (int windowSize = 1; windowSize * numTerms <= 9; ++windowSize) {
+                assertEquals(naiveResult, ExponentiationAlgorithms.simultaneousSlidingWindowMultiExp(
+                        multiexponentiation, new PowerProductPrecomputation(bases, windowSize)
+                ));
+            }
+        }
+
+        // negative exponents use inverted power products
+        GroupElementImpl g = bilGroup.getG1().getUniformlyRandomNonNeutral();
+        GroupElementImpl h = bilGroup.getG1().getUniformlyRandomNonNeutral();
+        Multiexponentiation multiexponentiation = new Multiexponentiation();
+        multiexponentiation.put(new MultiExpTerm(g, BigInteger.valueOf(-5)));
+        multiexponentiation.put(new MultiExpTerm(h, BigInteger.valueOf(3)));
+        assertEquals(g.pow(BigInteger.valueOf(-5)).op(h.pow(BigInteger.valueOf(3))),
+                ExponentiationAlgorithms.simultaneousSlidingWindowMultiExp(
+                        multiexponentiation, new PowerProductPrecomputation(Arrays.asList(g, h))
+                ));
+
+        BigInteger x = RandomGenerator.getRandomNumber(bilGroup.getG1().size()).negate();
+        BigInteger y = RandomGenerator.getRandomNumber(bilGroup.getG1().size());
+        multiexponentiation = new Multiexponentiation();
+        multiexponentiation.put(new MultiExpTerm(g, x));
+        multiexponentiation.put(new MultiExpTerm(h, y));
+        for (int windowSize = 1; windowSize <= 4; ++windowSize) {
+            assertEquals(g.pow(x).op(h.pow(y)), ExponentiationAlgorithms.simultaneousSlidingWindowMultiExp(
+                    multiexponentiation, new PowerProductPrecomputation(Arrays.asList(g, h), windowSize)
+            ));
+        }
+    }
+
     private static Multiexponentiation genMultiExp(GroupImpl group, int numTerms) {
         Multiexponentiation multiexponentiation = new Multiexponentiation();
         for (int i = 0; i < numTerms; ++i) {
@@ -8,10 +8,24 @@ import org.cryptimeleon.math.structures.groups.GroupImpl;
 import org.cryptimeleon.math.structures.groups.RingAdditiveGroupImpl;
 import org.cryptimeleon.math.structures.groups.RingUnitGroupImpl;
 import org.cryptimeleon.math.structures.groups.counting.CountingGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.AbstractEllipticCurvePoint;
 import org.cryptimeleon.math.structures.groups.elliptic.BilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.EllipticCurvePoint;
+import org.cryptimeleon.math.structures.groups.elliptic.ProjectiveEllipticCurvePoint;
+import org.cryptimeleon.math.structures.groups.elliptic.WeierstrassCurve;
 import org.cryptimeleon.math.structures.groups.elliptic.nopairing.Secp256k1;
 import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigGroup2Impl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigPsiPointEncoding;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigSourceGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigSvdwEncoding;
+import org.cryptimeleon.math.structures.groups.exp.ExponentiationAlgorithms;
+import org.cryptimeleon.math.structures.groups.exp.Multiexponentiation;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
+import org.cryptimeleon.math.structures.groups.mappings.impl.HashIntoGroupImpl;
 import org.cryptimeleon.math.structures.groups.sn.Sn;
+import org.cryptimeleon.math.structures.rings.FieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
 import org.cryptimeleon.math.structures.rings.integers.IntegerElement;
 import org.cryptimeleon.math.structures.rings.integers.IntegerRing;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
@@ -22,8 +36,10 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -81,6 +97,9 @@ public class GroupImplTests {
         if (groupImpl.isCommutative())
             assertEquals("Exponentiation+Commutativity", a.op(b).pow(exponent), a.pow(exponent).op(b.pow(exponent)));
 
+        // Squaring
+        assertEquals("Squaring", a.op(a), a.square());
+
         // Neutral element
         assertTrue(a.op(groupImpl.getNeutralElement()).equals(a));
         assertTrue(groupImpl.getNeutralElement().op(a).equals(a));
@@ -115,6 +134,147 @@ public class GroupImplTests {
         }
     }
 
+    @Test
+    public void testOwnExpAndMultiExp() {
+        if (!groupImpl.implementsOwnExp() && !groupImpl.implementsOwnMultiExp())
+            return;
+
+        BigInteger size = groupImpl.size();
+        GroupElementImpl a = elementSupplier.get(), b = elementSupplier.get();
+        BigInteger x = RandomGenerator.getRandomNumber(size), y = RandomGenerator.getRandomNumber(size);
+        GroupElementImpl aToX = ExponentiationAlgorithms.binSquareMultiplyExp(a, x);
+        GroupElementImpl bToY = ExponentiationAlgorithms.binSquareMultiplyExp(b, y);
+
+        if (groupImpl.implementsOwnExp()) {
+            for (BigInteger exponent : Arrays.asList(BigInteger.ZERO, BigInteger.ONE, size.subtract(BigInteger.ONE)))
+                assertEquals(ExponentiationAlgorithms.binSquareMultiplyExp(a, exponent),
+                        groupImpl.exp(a, exponent, null));
+            assertEquals(aToX, groupImpl.exp(a, x, null));
+            assertEquals(aToX.inv(), groupImpl.exp(a, x.negate(), null));
+            assertEquals(aToX, groupImpl.exp(a, x.add(size), new SmallExponentPrecomputation(a)));
+            SmallExponentPrecomputation precomputation = new SmallExponentPrecomputation(a);
+            precomputation.compute(6, false);
+            precomputation.computeNegativePowers(6, false);
+            assertEquals(aToX, groupImpl.exp(a, x, precomputation));
+            assertEquals(aToX.inv(), groupImpl.exp(a, x.negate(), precomputation));
+            assertEquals(groupImpl.getNeutralElement(), groupImpl.exp(groupImpl.getNeutralElement(), x, null));
+        }
+
+        if (groupImpl.implementsOwnMultiExp()) {
+            Multiexponentiation multiexp = new Multiexponentiation();
+            multiexp.put(a, x, null);
+            multiexp.put(b, y.negate(), null);
+            multiexp.put(b, BigInteger.ZERO, null);
+            multiexp.put(a);
+            assertEquals(aToX.op(bToY.inv()).op(a), groupImpl.multiexp(multiexp));
+        }
+
+        if (groupImpl instanceof BarretoNaehrigGroup2Impl) {
+            BigInteger p = ((BarretoNaehrigGroup2Impl) groupImpl).getFieldOfDefinition().getCharacteristic();
+            assertEquals("psi", ExponentiationAlgorithms.binSquareMultiplyExp(a, p),
+                    ((BarretoNaehrigGroup2Impl) groupImpl).psi(a));
+
+            GroupElementImpl hash = new BarretoNaehrigPsiPointEncoding((BarretoNaehrigGroup2Impl) groupImpl)
+                    .hashIntoGroupImpl(x.toByteArray());
+            assertTrue("Cofactor clearing", ExponentiationAlgorithms.binSquareMultiplyExp(hash, size).isNeutralElement()
+                    && !hash.isNeutralElement());
+        }
+    }
+
+    @Test
+    public void testBarretoNaehrigPointEncodingKnownAnswer() {
+        if (!(groupImpl instanceof BarretoNaehrigGroup2Impl))
+            return;
+
+        // the default hashes into G1 and G2 must not change, otherwise existing hash values become invalid
+        BarretoNaehrigBilinearGroupImpl bn = new BarretoNaehrigBilinearGroupImpl("SFC-256");
+        byte[] message = "cryptimeleon".getBytes();
+        ExtensionField f1 = (ExtensionField) ((BarretoNaehrigSourceGroupImpl) bn.getG1()).getFieldOfDefinition();
+        ExtensionField f2 = (ExtensionField) ((BarretoNaehrigSourceGroupImpl) bn.getG2()).getFieldOfDefinition();
+        assertEquals(((BarretoNaehrigSourceGroupImpl) bn.getG1()).getElement(
+                f1.createElement(Arrays.asList(
+                        new BigInteger("18069089446739513795690615525955009001808994775782007966098495375947536084033154"))),
+                f1.createElement(Arrays.asList(
+                        new BigInteger("17145772006125019584178832500025409754896598398770102757281060245636029579200")))
+        ), bn.getHashIntoG1().hashIntoGroupImpl(message));
+        assertEquals(((BarretoNaehrigSourceGroupImpl) bn.getG2()).getElement(
+                f2.createElement(Arrays.asList(
+                        new BigInteger("21487516035110823773585703753132079322853313884576408607328084440491589656950753"),
+                        new BigInteger("1402983279803152303919377996915392473426137211876409342880482322312847755581499"))),
+                f2.createElement(Arrays.asList(
+                        new BigInteger("11685833478850848844475706758671589878969976324788698074833891956999181297110890"),
+                        new BigInteger("29168501369896905610060401280120055715857183602129281353198008514478940502700240")))
+        ), bn.getHashIntoG2().hashIntoGroupImpl(message));
+    }
+
+    @Test
+    public void testPippengerMultiExp() {
+        if (!groupImpl.isCommutative())
+            return;
+
+        Multiexponentiation multiexp = new Multiexponentiation();
+        GroupElementImpl expected = groupImpl.getNeutralElement();
+        for (int i = 0; i < 6; i++) {
+            GroupElementImpl base = elementSupplier.get();
+            BigInteger exponent = RandomGenerator.getRandomNumber(BigInteger.ONE.shiftLeft(40));
+            if (i % 2 == 1)
+                exponent = exponent.negate();
+            multiexp.put(base, exponent, null);
+            expected = expected.op(ExponentiationAlgorithms.binSquareMultiplyExp(base, exponent));
+        }
+        GroupElementImpl constant = elementSupplier.get();
+        multiexp.put(constant);
+        expected = expected.op(constant);
+
+        for (int windowSize = 1; windowSize <= 5; windowSize++)
+            assertEquals(expected, ExponentiationAlgorithms.pippengerMultiExp(multiexp, windowSize));
+        assertEquals(expected, ExponentiationAlgorithms.pippengerMultiExp(multiexp));
+
+        if (groupImpl.implementsOwnMultiExp()) {
+            // large enough to switch to Pippenger after the endomorphism decomposition
+            Multiexponentiation large = new Multiexponentiation();
+            expected = groupImpl.getNeutralElement();
+            GroupElementImpl base = elementSupplier.get();
+            for (int i = 0; i < ExponentiationAlgorithms.PIPPENGER_TERM_THRESHOLD; i++) {
+                BigInteger exponent = RandomGenerator.getRandomNumber(groupImpl.size());
+                large.put(base, exponent, null);
+                expected = expected.op(ExponentiationAlgorithms.binSquareMultiplyExp(base, exponent));
+                base = base.op(base);
+            }
+            assertEquals(expected, groupImpl.multiexp(large));
+        }
+    }
+
+    @Test
+    public void testDeterministicHash() {
+        HashIntoGroupImpl hash;
+        if (groupImpl instanceof BarretoNaehrigSourceGroupImpl)
+            hash = new BarretoNaehrigSvdwEncoding((BarretoNaehrigSourceGroupImpl) groupImpl);
+        else if (groupImpl instanceof Secp256k1)
+            hash = new Secp256k1.SswuHashIntoSecp256k1();
+        else
+            return;
+
+        for (int i = 0; i < 10; i++) {
+            byte[] message = new byte[] {(byte) i};
+            GroupElementImpl h = hash.hashIntoGroupImpl(message);
+            assertTrue("Hash into subgroup", !h.isNeutralElement()
+                    && ExponentiationAlgorithms.binSquareMultiplyExp(h, groupImpl.size()).isNeutralElement());
+            assertEquals(h, hash.hashIntoGroupImpl(message));
+        }
+
+        if (groupImpl instanceof Secp256k1) {
+            // test vector from RFC 9380, Appendix J.8.1
+            AbstractEllipticCurvePoint h = (AbstractEllipticCurvePoint) ((AbstractEllipticCurvePoint)
+                    new Secp256k1.SswuHashIntoSecp256k1("QUUX-V01-CS02-with-secp256k1_XMD:SHA-256_SSWU_RO_")
+                            .hashIntoGroupImpl(new byte[0])).normalize();
+            assertEquals(new BigInteger("c1cae290e291aee617ebaef1be6d73861479c48b841eaba9b7b5852ddfeb1346", 16),
+                    h.getX().asInteger());
+            assertEquals(new BigInteger("64fa678e07ae116126f08b022a94af6de15985c996c3a91b64c406a960e51067", 16),
+                    h.getY().asInteger());
+        }
+    }
+
     /*@Test
     public void testBatchOp() {
         ArrayList<GroupElement> elems = new ArrayList<>();
@@ -176,6 +336,64 @@ public class GroupImplTests {
 
     }
 
+    @Test
+    public void testJacobianCoordinates() {
+        if (!(groupImpl.getNeutralElement() instanceof ProjectiveEllipticCurvePoint))
+            return;
+        WeierstrassCurve curve = (WeierstrassCurve) groupImpl;
+        AbstractEllipticCurvePoint p = (AbstractEllipticCurvePoint) ((EllipticCurvePoint) elementSupplier.get()).normalize();
+        AbstractEllipticCurvePoint q = (AbstractEllipticCurvePoint) ((EllipticCurvePoint) elementSupplier.get()).normalize();
+
+        // the same point with a nontrivial Z coordinate
+        FieldElement lambda = curve.getFieldOfDefinition().getUniformlyRandomUnit();
+        EllipticCurvePoint pScaled = curve.getElement(
+                p.getX().mul(lambda.square()), p.getY().mul(lambda.square()).mul(lambda), lambda
+        );
+        assertEquals(p, pScaled);
+        assertEquals(p.hashCode(), pScaled.hashCode());
+        assertEquals(p.getRepresentation(), pScaled.getRepresentation());
+
+        // Jacobian addition and doubling agree with the affine formulas
+        assertEquals(affineAdd(curve, p, q), pScaled.op(q));
+        assertEquals(affineAdd(curve, p, q), q.op(pScaled));
+        assertEquals(affineAdd(curve, p, p), pScaled.op(pScaled));
+        assertEquals(affineAdd(curve, p, p), pScaled.square());
+        assertTrue(pScaled.op(p.inv()).isNeutralElement());
+        assertEquals(p, pScaled.op(curve.getNeutralElement()));
+    }
+
+    @Test
+    public void testBatchNormalize() {
+        GroupElementImpl a = elementSupplier.get();
+        GroupElementImpl b = elementSupplier.get();
+        List<GroupElementImpl> elements = new ArrayList<>(Arrays.asList(
+                a.op(b), a, groupImpl.getNeutralElement(), a.op(a), b.op(a).op(a)
+        ));
+        List<GroupElementImpl> normalized = new ArrayList<>(elements);
+        groupImpl.batchNormalize(normalized);
+
+        assertEquals(elements, normalized);
+        for (int i = 0; i < elements.size(); i++) {
+            if (normalized.get(i) instanceof EllipticCurvePoint)
+                assertTrue(((EllipticCurvePoint) normalized.get(i)).isNormalized());
+            // mixed addition with the normalized element gives the same result
+            assertEquals(elements.get(i).op(b), normalized.get(i).op(b));
+            assertEquals(b.op(elements.get(i)), b.op(normalized.get(i)));
+        }
+    }
+
+    /**
+     * Adds the normalized points p and q (with p != -q) on a curve in short Weierstrass form using affine formulas.
+     */
+    private static EllipticCurvePoint affineAdd(WeierstrassCurve curve, AbstractEllipticCurvePoint p,
+                                                AbstractEllipticCurvePoint q) {
+        FieldElement lambda = p.getX().equals(q.getX())
+                ? p.getX().square().mul(3).add(curve.getA4()).div(p.getY().add(p.getY()))
+                : q.getY().sub(p.getY()).div(q.getX().sub(p.getX()));
+        FieldElement x = lambda.square().sub(p.getX()).sub(q.getX());
+        return curve.getElement(x, p.getX().sub(x).mul(lambda).sub(p.getY()));
+    }
+
     @Parameters(name = "Test: {0}") // add (name="Test: {0}") for jUnit 4.12+ to print group's name to test
     public static Collection<TestParams[]> data() {
         // Some setup
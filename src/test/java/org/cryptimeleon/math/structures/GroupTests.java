@@ -2,11 +2,17 @@ package org.cryptimeleon.math.structures;
 
 import org.cryptimeleon.math.structures.groups.Group;
 import org.cryptimeleon.math.structures.groups.GroupElement;
+import org.cryptimeleon.math.structures.groups.basic.BasicGroupElement;
 import org.cryptimeleon.math.structures.groups.counting.CountingGroupImpl;
+import org.cryptimeleon.math.structures.groups.exp.MultiExpAlgorithm;
+import org.cryptimeleon.math.structures.groups.exp.PowerProductCache;
+import org.cryptimeleon.math.structures.groups.exp.PrecomputationCache;
+import org.cryptimeleon.math.structures.groups.exp.SmallExponentPrecomputation;
 import org.cryptimeleon.math.serialization.RepresentableRepresentation;
 import org.cryptimeleon.math.serialization.Representation;
 import org.cryptimeleon.math.structures.groups.basic.BasicGroup;
 import org.cryptimeleon.math.structures.groups.lazy.LazyGroup;
+import org.cryptimeleon.math.structures.groups.lazy.LazyGroupElement;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -76,6 +82,76 @@ public class GroupTests {
         assertEquals(g.pow(exponents.get(0)).pow(exponents.get(1)), g.pow(exponents.get(1)).pow(exponents.get(0)));
     }
 
+    @Test
+    public void testPrecomputationCache() {
+        GroupElement g = elementSupplier.get().computeSync();
+        Zn.ZnElement x = group.getUniformlyRandomExponent();
+        GroupElement expected = g.pow(x).computeSync();
+
+        g.precomputePow(2);
+        PrecomputationCache cache = group instanceof LazyGroup ? ((LazyGroup) group).getPrecomputationCache()
+                : ((BasicGroup) group).getPrecomputationCache();
+        int cachedElements = cache.getNumberOfCachedElements();
+        assertTrue(cachedElements > 0);
+
+        // extending the precomputation is accounted for
+        getPrecomputation(g).compute(getPrecomputation(g).getCurrentlySupportedPositiveWindowSize() + 1, false);
+        assertTrue(cache.getNumberOfCachedElements() > cachedElements);
+
+        // restored elements reuse the precomputation
+        GroupElement restored = group.restoreElement(g.getRepresentation());
+        assertEquals(g, restored);
+        assertTrue(getPrecomputation(g) == getPrecomputation(restored));
+        assertEquals(expected, restored.pow(x));
+
+        // evicted precomputations are not reused
+        cache.setMaxCachedElements(0);
+        try {
+            assertEquals(0, cache.getNumberOfCachedElements());
+            restored = group.restoreElement(g.getRepresentation());
+            assertTrue(getPrecomputation(g) != getPrecomputation(restored));
+            assertEquals(expected, restored.pow(x));
+        } finally {
+            cache.setMaxCachedElements(PrecomputationCache.DEFAULT_MAX_CACHED_ELEMENTS);
+        }
+    }
+
+    private static SmallExponentPrecomputation getPrecomputation(GroupElement element) {
+        if (element instanceof BasicGroupElement)
+            return ((BasicGroupElement) element).getPrecomputedSmallExponents();
+        return ((LazyGroupElement) element).getPrecomputedSmallExponents();
+    }
+
+    @Test
+    public void testPowerProducts() {
+        if (!(group instanceof LazyGroup))
+            return;
+        LazyGroup lazyGroup = (LazyGroup) group;
+
+        GroupElement g = elementSupplier.get().compute(), h = elementSupplier.get().compute();
+        Zn.ZnElement x = group.getUniformlyRandomExponent(), y = group.getUniformlyRandomExponent();
+        GroupElement expected = g.pow(x).computeSync().op(h.pow(y.neg()).computeSync()).computeSync();
+
+        lazyGroup.precomputePowerProducts(g, h);
+        assertEquals(expected, g.pow(x).op(h.pow(y.neg())));
+        assertEquals(expected, g.pow(x.asInteger()).op(h.pow(y.asInteger().negate())));
+        // different order of bases does not match the cached table
+        assertEquals(expected, h.pow(y.neg()).op(g.pow(x)));
+
+        lazyGroup.setMaxCachedPowerProducts(0);
+        assertEquals(expected, g.pow(x).op(h.pow(y.neg())));
+        lazyGroup.setMaxCachedPowerProducts(PowerProductCache.DEFAULT_MAX_CACHED_ELEMENTS);
+
+        // without a registered table, SIMULTANEOUS falls back to interleaving
+        MultiExpAlgorithm selectedMultiExpAlgorithm = lazyGroup.getSelectedMultiExpAlgorithm();
+        lazyGroup.setSelectedMultiExpAlgorithm(MultiExpAlgorithm.SIMULTANEOUS);
+        try {
+            assertEquals(expected, g.pow(x).op(h.pow(y.neg())));
+        } finally {
+            lazyGroup.setSelectedMultiExpAlgorithm(selectedMultiExpAlgorithm);
+        }
+    }
+
     @Test
     public void testBasicProperties() {
         GroupElement a = null, b = null, c;
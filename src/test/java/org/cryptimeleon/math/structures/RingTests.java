@@ -1,11 +1,19 @@
 package org.cryptimeleon.math.structures;
 
+import org.cryptimeleon.math.structures.groups.elliptic.PairingTargetGroupImpl;
+import org.cryptimeleon.math.structures.groups.elliptic.type3.bn.BarretoNaehrigBilinearGroupImpl;
 import org.cryptimeleon.math.structures.rings.Field;
+import org.cryptimeleon.math.structures.rings.FieldElement;
 import org.cryptimeleon.math.structures.rings.Ring;
 import org.cryptimeleon.math.structures.rings.RingElement;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionField;
+import org.cryptimeleon.math.structures.rings.extfield.ExtensionFieldElement;
+import org.cryptimeleon.math.structures.rings.extfield.Fp12Field;
+import org.cryptimeleon.math.structures.rings.extfield.Fp12FieldElement;
 import org.cryptimeleon.math.structures.rings.integers.IntegerElement;
 import org.cryptimeleon.math.structures.rings.integers.IntegerRing;
 import org.cryptimeleon.math.structures.rings.polynomial.PolynomialRing;
+import org.cryptimeleon.math.structures.rings.zn.MontgomeryZp;
 import org.cryptimeleon.math.structures.rings.zn.Zn;
 import org.cryptimeleon.math.structures.rings.zn.Zp;
 import org.junit.Test;
@@ -47,6 +55,42 @@ public class RingTests extends StructureTests {
         // Commutativity of *
         assertEquals(a.mul(b), b.mul(a));
 
+        // square and applyFrobenius agree with their definitions
+        assertEquals(a.mul(a), a.square());
+        assertEquals(a.pow(field.getCharacteristic()), ((FieldElement) a).applyFrobenius());
+        FieldElement frobenius = (FieldElement) a;
+        for (int i = 0; i < 7; i++)
+            frobenius = frobenius.applyFrobenius();
+        assertEquals(frobenius, ((FieldElement) a).applyFrobenius(7));
+
+        // cyclotomic squaring agrees with squaring in the cyclotomic subgroup
+        if (a instanceof Fp12FieldElement) {
+            Fp12FieldElement cyclotomic = (Fp12FieldElement) ((FieldElement) a).applyFrobenius(6).div(a);
+            cyclotomic = (Fp12FieldElement) cyclotomic.applyFrobenius(2).mul(cyclotomic);
+            assertEquals(cyclotomic.square(), cyclotomic.cyclotomicSquare());
+        }
+
+        // mulSparse agrees with mul (for the sparsity pattern of line functions and for a single non-zero coefficient)
+        if (a instanceof ExtensionFieldElement) {
+            ExtensionField extField = (ExtensionField) field;
+            for (List<Integer> nonZeroIndices : Arrays.asList(Arrays.asList(0, 2, 3), Collections.singletonList(1))) {
+                FieldElement[] coefficients = ((ExtensionFieldElement) b).getCoefficients().clone();
+                for (int i = 0; i < coefficients.length; i++)
+                    if (!nonZeroIndices.contains(i))
+                        coefficients[i] = extField.getBaseField().getZeroElement();
+                ExtensionFieldElement sparse = extField.createElement(coefficients);
+                assertEquals(a.mul(sparse), ((ExtensionFieldElement) a).mulSparse(sparse));
+            }
+        }
+
+        // batchInvert agrees with inv
+        List<FieldElement> elements = Arrays.asList((FieldElement) a, (FieldElement) b, (FieldElement) a.mul(b));
+        List<FieldElement> inverses = field.batchInvert(elements);
+        assertEquals(elements.size(), inverses.size());
+        for (int i = 0; i < elements.size(); i++)
+            assertEquals(elements.get(i).inv(), inverses.get(i));
+        assertTrue(field.batchInvert(Collections.singletonList((FieldElement) a)).get(0).mul(a).isOne());
+
         // getPrimitiveElement
         try {
             RingElement primitive = field.getPrimitiveElement();
@@ -84,6 +128,11 @@ public class RingTests extends StructureTests {
         // 2*a = a+a
         assertEquals(a.mul(BigInteger.valueOf(2)), a.add(a));
 
+        // a^5 = a*a*a*a*a, a^-2 = (a^2)^-1, a^2 = a*a
+        assertEquals(a.pow(5), a.mul(a).mul(a).mul(a).mul(a));
+        assertEquals(a.pow(-2), a.mul(a).inv());
+        assertEquals(a.square(), a.mul(a));
+
         // a/a = 1
         assertEquals(a.inv().mul(a), ring.getOneElement());
 
@@ -172,6 +221,36 @@ public class RingTests extends StructureTests {
         }
     }
 
+    @Test
+    public void testCanonicalInstances() {
+        if (ring.getClass() != Zn.class && ring.getClass() != Zp.class)
+            return;
+        BigInteger n = ring.size();
+
+        // primality results (cached or not) agree with BigInteger
+        assertEquals(n.isProbablePrime(100), Zn.isProbablePrime(n));
+        assertEquals(n.isProbablePrime(100), Zn.isProbablePrime(new BigInteger(n.toString())));
+
+        // canonical instances are equal to the ring and handed out again for equal moduli
+        Zn zn = Zn.of(n);
+        assertEquals(Zn.class, zn.getClass());
+        assertSame(zn, Zn.of(new BigInteger(n.toString())));
+        if (Zn.isProbablePrime(n)) {
+            Zp zp = Zp.of(n);
+            assertEquals(ring, zp);
+            assertSame(zp, Zp.of(new BigInteger(n.toString())));
+            assertSame(zp, new ExtensionField(n).getBaseField());
+        } else {
+            assertEquals(ring, zn);
+            try {
+                Zp.of(n);
+                fail("Zp.of accepted a composite modulus");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
     @Test
     public void testDivideWithRemainder() {
         RingElement a = elementSupplier.get();
@@ -235,6 +314,14 @@ public class RingTests extends StructureTests {
         // Zp
         Zp z13 = new Zp(BigInteger.valueOf(13));
 
+        // Zp with Montgomery arithmetic (secp256k1 base field prime)
+        MontgomeryZp montgomeryZp = new MontgomeryZp(
+                new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16));
+
+        // F_p^2, F_p^6 and F_p^12 tower (target group field of BN curves)
+        Fp12Field fp12 = (Fp12Field) ((PairingTargetGroupImpl) new BarretoNaehrigBilinearGroupImpl("SFC-256").getGT())
+                .getFieldOfDefinition();
+
         // Zn
         Zn z4 = new Zn(BigInteger.valueOf(4));
 
@@ -245,6 +332,12 @@ public class RingTests extends StructureTests {
         TestParams[][] params = new TestParams[][]{
                 {new TestParams(integerRing, () -> new IntegerElement(5), () -> new IntegerElement(-1))},
                 {new TestParams(z13)},
+                {new TestParams(montgomeryZp)},
+                {new TestParams(fp12.getBaseField())},
+                {new TestParams(fp12.getFp6Field())},
+                {new TestParams(fp12)},
+                {new TestParams(new ExtensionField(((ExtensionField) fp12.getBaseField()).getConstant(), 2))},
+                {new TestParams(new ExtensionField(fp12.getConstant(), 6))},
                 {new TestParams(z4, () -> z4.createZnElement(BigInteger.valueOf(2)),
                         () -> z4.createZnElement(BigInteger.valueOf(3)))},
                 {new TestParams(polyRing,